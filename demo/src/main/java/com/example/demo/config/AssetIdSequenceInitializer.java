@@ -0,0 +1,82 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.BaseAsset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+
+/**
+ * Moves the 'asset_seq' id table past ids already in 'assets'.
+ *
+ * Databases created before asset ids came from a pooled sequence hold
+ * AUTO_INCREMENT ids, while the sequence table Hibernate creates on MySQL
+ * starts at 1. Without this, the first inserts would collide with existing rows.
+ * Only MySQL/MariaDB emulate the sequence with a table; others are left alone.
+ *
+ * Runs before the EntityManagerFactory is built, so no repository, listener or
+ * web request can draw ids from an unaligned table, and the pooled optimizer
+ * never holds a block read from it. The table is created here if missing, with
+ * the layout Hibernate's schema update expects.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssetIdSequenceInitializer implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Makes the EntityManagerFactory wait for the sequence to be aligned.
+     */
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependency() {
+            super(AssetIdSequenceInitializer.class);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            if (product == null || !(product.contains("MySQL") || product.contains("MariaDB"))) {
+                return;
+            }
+            alignSequence();
+        } catch (Exception e) {
+            log.warn("Could not align asset_seq with existing asset ids: {}", e.getMessage());
+        }
+    }
+
+    private void alignSequence() {
+        long maxId = tableExists("assets")
+                ? jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM assets", Long.class)
+                : 0;
+        // The pooled optimizer hands out (next_val - allocationSize, next_val]
+        long aligned = maxId + BaseAsset.ID_ALLOCATION_SIZE + 1;
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS asset_seq (next_val BIGINT) ENGINE=InnoDB");
+        Long nextVal = jdbcTemplate.query("SELECT next_val FROM asset_seq",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (nextVal == null) {
+            jdbcTemplate.update("INSERT INTO asset_seq (next_val) VALUES (?)", maxId > 0 ? aligned : 1);
+            log.info("Created asset_seq starting past asset id {}", maxId);
+        } else if (maxId > 0 && nextVal < aligned - 1) {
+            jdbcTemplate.update("UPDATE asset_seq SET next_val = ?", aligned);
+            log.info("Advanced asset_seq past existing asset ids");
+        }
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+}
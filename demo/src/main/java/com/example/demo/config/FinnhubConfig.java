@@ -0,0 +1,90 @@
+package com.example.demo.config;
+
+import com.example.demo.util.CircuitBreaker;
+import com.example.demo.util.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared infrastructure for calls to the Finnhub API.
+ */
+@Configuration
+public class FinnhubConfig {
+
+    /**
+     * Global token bucket sized to the Finnhub quota.
+     * Every outbound Finnhub call must take a token from this bucket.
+     */
+    @Bean
+    public TokenBucketRateLimiter finnhubRateLimiter(
+            @Value("${finnhub.rate-limit.calls-per-minute:60}") long callsPerMinute) {
+        return new TokenBucketRateLimiter(callsPerMinute, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Bounded executor used to fan out quote fetches for batch lookups.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor quoteFetchExecutor(
+            @Value("${finnhub.batch.max-concurrency:8}") int maxConcurrency,
+            @Value("${finnhub.batch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("quote-fetch-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded executor for the portfolio news fan-out, kept apart from quote fetches
+     * so a news page for many holdings cannot queue ahead of price lookups.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor newsFetchExecutor(
+            @Value("${finnhub.news.max-concurrency:4}") int maxConcurrency,
+            @Value("${finnhub.news.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("news-fetch-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared HTTP client for Finnhub REST calls. It keeps connections alive and
+     * reuses them across calls; per-call deadlines are set on each request.
+     */
+    @Bean
+    public HttpClient finnhubHttpClient(
+            @Value("${finnhub.http.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Opens after consecutive Finnhub failures so callers fall back to cached prices
+     * instead of waiting on a degraded upstream.
+     */
+    @Bean
+    public CircuitBreaker finnhubCircuitBreaker(
+            @Value("${finnhub.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${finnhub.circuit-breaker.open-ms:30000}") long openMs) {
+        return new CircuitBreaker(failureThreshold, openMs);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Workers for background asset import jobs.
+ */
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Runs import jobs off the request thread. Queued jobs are also persisted,
+     * so anything still queued at shutdown is picked up again on startup.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${assets.import.workers:1}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
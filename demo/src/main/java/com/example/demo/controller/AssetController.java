@@ -1,25 +1,37 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.ApiResponse;
+import com.example.demo.dto.AssetBatchRequest;
+import com.example.demo.dto.AssetBatchResult;
 import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.ExportFormat;
+import com.example.demo.dto.ImportJobDTO;
 import com.example.demo.entity.AssetType;
+import com.example.demo.service.AssetExportService;
 import com.example.demo.service.AssetService;
+import com.example.demo.service.ImportJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -33,6 +45,8 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final ImportJobService importJobService;
+    private final AssetExportService assetExportService;
 
     @GetMapping
     @Operation(summary = "Get all assets", description = "Retrieves all assets in the portfolio with current prices")
@@ -41,6 +55,44 @@ public class AssetController {
         return ResponseEntity.ok(ApiResponse.success("Retrieved " + assets.size() + " assets", assets));
     }
 
+    @GetMapping("/paged")
+    @Operation(summary = "Get assets page", description = "Retrieves one page of assets with current prices, e.g. ?page=0&size=20&sort=symbol,asc")
+    public ResponseEntity<ApiResponse<Page<AssetDTO>>> getAssetsPage(
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Page<AssetDTO> page = assetService.getAssets(pageable);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Retrieved page " + page.getNumber() + " of " + page.getTotalPages(), page));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll assets", description = "Keyset-paginated assets with current prices, filtered by type, sector, exchange "
+            + "or bond maturity range. Pass nextCursor back as cursor to get the following page.")
+    public ResponseEntity<ApiResponse<CursorPage<AssetDTO>>> scrollAssets(
+            @ParameterObject AssetFilter filter,
+            @Parameter(description = "Order: ID or SYMBOL") @RequestParam(defaultValue = "ID") AssetKeyset.Sort sort,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<AssetDTO> page = assetService.getAssets(filter, sort, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + page.getItems().size() + " assets", page));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all assets", description = "Streams every asset as CSV (re-importable) or NDJSON, "
+            + "optionally with live-price columns from the price cache")
+    public ResponseEntity<StreamingResponseBody> exportAssets(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Add currentPrice, currentValue and gainLoss from cached prices") @RequestParam(defaultValue = "false") boolean prices) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> assetExportService.export(exportFormat, prices, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("assets." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get asset by ID", description = "Retrieves a specific asset by its ID")
     @ApiResponses(value = {
@@ -69,6 +121,15 @@ public class AssetController {
         return ResponseEntity.ok(ApiResponse.success("Found " + assets.size() + " matching assets", assets));
     }
 
+    @GetMapping("/search/paged")
+    @Operation(summary = "Search assets page", description = "Ranked search by symbol or name (word prefixes and substrings), one page at a time")
+    public ResponseEntity<ApiResponse<Page<AssetDTO>>> searchAssetsPage(
+            @Parameter(description = "Search query") @RequestParam String q,
+            @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+        Page<AssetDTO> page = assetService.searchAssets(q, pageable);
+        return ResponseEntity.ok(ApiResponse.success("Found " + page.getTotalElements() + " matching assets", page));
+    }
+
     @PostMapping
     @Operation(summary = "Create asset", description = "Adds a new asset to the portfolio")
     @ApiResponses(value = {
@@ -83,6 +144,23 @@ public class AssetController {
                 .body(ApiResponse.success("Asset created successfully", created));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Batch create, update and delete", description = "Applies up to 1000 creates, updates and deletes "
+            + "in one transaction and returns a result per item. If any item is invalid nothing is applied.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch applied"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Batch rejected; data lists the invalid items")
+    })
+    public ResponseEntity<ApiResponse<AssetBatchResult>> applyBatch(@RequestBody AssetBatchRequest request) {
+        AssetBatchResult result = assetService.applyBatch(request);
+        if (!result.isApplied()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    "Batch rejected: " + result.getItems().size() + " invalid items, nothing was applied", result));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Batch applied: " + result.getCreated() + " created, "
+                + result.getUpdated() + " updated, " + result.getDeleted() + " deleted", result));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update asset", description = "Updates an existing asset")
     @ApiResponses(value = {
@@ -117,77 +195,10 @@ public class AssetController {
      * - purchaseDate (optional) in ISO format yyyy-MM-dd
      */
     @PostMapping("/upload")
-    @Operation(summary = "Upload CSV and import assets")
-    public ResponseEntity<ApiResponse<List<AssetDTO>>> uploadAssets(@RequestParam("file") MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("Empty file"));
-        }
-
-        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
-        List<AssetDTO> created = new ArrayList<>();
-
-        try {
-            if (filename.endsWith(".csv") || filename.endsWith(".txt")) {
-                // simple CSV parse
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-                    String header = reader.readLine();
-                    if (header == null) {
-                        return ResponseEntity.badRequest().body(ApiResponse.error("CSV has no header/rows"));
-                    }
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        String[] cols = line.split(",", -1);
-                        AssetDTO dto = csvRowToDto(cols);
-                        if (dto != null) {
-                            created.add(assetService.createAsset(dto));
-                        }
-                    }
-                }
-            } else {
-                return ResponseEntity.badRequest().body(ApiResponse.error("Unsupported file type. Use CSV (or .txt)"));
-            }
-        } catch (Exception ex) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error("Failed to parse file: " + ex.getMessage()));
-        }
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Imported " + created.size() + " assets", created));
-    }
-
-    // Minimal CSV row -> AssetDTO converter. Returns null for invalid rows.
-    private AssetDTO csvRowToDto(String[] cols) {
-        // Expected columns: symbol,name,type,quantity,buyPrice,purchaseDate
-        if (cols == null || cols.length < 5) return null;
-        try {
-            String symbol = cols[0].trim();
-            String name = cols[1].trim();
-            String typeStr = cols[2].trim().toUpperCase();
-            String qtyStr = cols[3].trim();
-            String buyStr = cols[4].trim();
-            String dateStr = cols.length > 5 ? cols[5].trim() : null;
-
-            if (symbol.isEmpty() || name.isEmpty() || typeStr.isEmpty() || qtyStr.isEmpty() || buyStr.isEmpty()) {
-                return null; // skip incomplete
-            }
-
-            AssetType type = AssetType.valueOf(typeStr);
-            BigDecimal quantity = new BigDecimal(qtyStr);
-            BigDecimal buyPrice = new BigDecimal(buyStr);
-            LocalDate purchaseDate = null;
-            if (dateStr != null && !dateStr.isEmpty()) {
-                purchaseDate = LocalDate.parse(dateStr);
-            }
-
-            return AssetDTO.builder()
-                    .symbol(symbol)
-                    .name(name)
-                    .type(type)
-                    .quantity(quantity)
-                    .buyPrice(buyPrice)
-                    .purchaseDate(purchaseDate)
-                    .build();
-        } catch (Exception ex) {
-            // invalid row, skip
-            return null;
-        }
+    @Operation(summary = "Upload CSV and import assets", description = "Queues a background import job and returns it; poll GET /api/imports/{id} for progress")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> uploadAssets(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportJobDTO job = importJobService.submit(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import job " + job.getId() + " queued", job));
     }
 }
@@ -0,0 +1,52 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ApiResponse;
+import com.example.demo.dto.ImportJobDTO;
+import com.example.demo.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for background asset import jobs.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@Tag(name = "Imports", description = "Background CSV import jobs")
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping
+    @Operation(summary = "Start import", description = "Queues a CSV import (symbol,name,type,quantity,buyPrice[,purchaseDate]) and returns the job right away")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> startImport(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportJobDTO job = importJobService.submit(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import job " + job.getId() + " queued", job));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job", description = "Progress, throughput and the first rejected rows with reasons")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> getImport(
+            @Parameter(description = "Import job ID") @PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(importJobService.getJob(id)));
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Resume import", description = "Re-queues a failed job; it continues after its last committed chunk")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> resumeImport(
+            @Parameter(description = "Import job ID") @PathVariable Long id) {
+        ImportJobDTO job = importJobService.resume(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import job " + id + " resumed", job));
+    }
+}
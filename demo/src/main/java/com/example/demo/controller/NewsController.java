@@ -1,7 +1,9 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.ApiResponse;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.StockNews;
+import com.example.demo.service.PortfolioNewsService;
 import com.example.demo.service.StockPriceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,7 @@ import java.util.List;
 public class NewsController {
 
     private final StockPriceService stockPriceService;
+    private final PortfolioNewsService portfolioNewsService;
 
     /**
      * Get general market news.
@@ -38,6 +41,7 @@ public class NewsController {
     /**
      * Get company-specific news.
      * Endpoint: GET /api/news/company/AAPL?from=2023-01-01&to=2023-01-31
+     * Windows longer than a year are clamped to the last year, ending no later than today.
      * * @param symbol The stock symbol (e.g., AAPL, TSLA)
      * @param from   Optional start date (YYYY-MM-DD). Defaults to 30 days ago in service.
      * @param to     Optional end date (YYYY-MM-DD). Defaults to today in service.
@@ -58,4 +62,25 @@ public class NewsController {
         List<StockNews> news = stockPriceService.getCompanyNews(symbol, from, to);
         return ResponseEntity.ok(ApiResponse.success(news));
     }
-}
\ No newline at end of file
+
+    /**
+     * Get one page of news for every held symbol, newest first.
+     * Endpoint: GET /api/news/portfolio?limit=20&cursor=...
+     * A partial page (some holdings still loading) has no nextCursor; request it again.
+     * * @param cursor Optional nextCursor from the previous page
+     * @param limit  Page size (max 100)
+     * @param from   Optional start date (YYYY-MM-DD). Defaults to 30 days ago in service.
+     * @param to     Optional end date (YYYY-MM-DD). Defaults to today in service.
+     */
+    @GetMapping("/portfolio")
+    public ResponseEntity<ApiResponse<CursorPage<StockNews>>> getPortfolioNews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        log.info("Request received for portfolio news. Cursor: {}, Limit: {}", cursor, limit);
+        CursorPage<StockNews> page = portfolioNewsService.getPortfolioNews(cursor, limit, from, to);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+}
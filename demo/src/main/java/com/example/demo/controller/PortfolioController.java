@@ -4,6 +4,7 @@ import com.example.demo.dto.ApiResponse;
 import com.example.demo.dto.PortfolioSummaryDTO;
 import com.example.demo.service.PortfolioService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,9 +26,13 @@ public class PortfolioController {
     private final PortfolioService portfolioService;
 
     @GetMapping("/summary")
-    @Operation(summary = "Get portfolio summary", description = "Retrieves comprehensive portfolio summary with totals, allocation, and top performers")
-    public ResponseEntity<ApiResponse<PortfolioSummaryDTO>> getPortfolioSummary() {
-        PortfolioSummaryDTO summary = portfolioService.getPortfolioSummary();
+    @Operation(summary = "Get portfolio summary", description = "Retrieves portfolio totals, allocation and top performers from the in-memory aggregate; "
+            + "includeAssets=true computes it from every priced asset and includes them")
+    public ResponseEntity<ApiResponse<PortfolioSummaryDTO>> getPortfolioSummary(
+            @Parameter(description = "Include every asset with current prices") @RequestParam(defaultValue = "false") boolean includeAssets) {
+        PortfolioSummaryDTO summary = includeAssets
+                ? portfolioService.getPortfolioSummaryWithAssets()
+                : portfolioService.getPortfolioSummary();
         return ResponseEntity.ok(ApiResponse.success("Portfolio summary retrieved", summary));
     }
 
@@ -0,0 +1,30 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ApiResponse;
+import com.example.demo.dto.PriceServiceMetrics;
+import com.example.demo.service.StockPriceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for live price service diagnostics.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@RequiredArgsConstructor
+@Tag(name = "Prices", description = "Live price service endpoints")
+@CrossOrigin(origins = "*")
+public class PriceController {
+
+    private final StockPriceService stockPriceService;
+
+    @GetMapping("/metrics")
+    @Operation(summary = "Get price service metrics", description = "Retrieves cache hit/miss, coalescing and upstream call counters")
+    public ResponseEntity<ApiResponse<PriceServiceMetrics>> getMetrics() {
+        PriceServiceMetrics metrics = stockPriceService.getMetrics();
+        return ResponseEntity.ok(ApiResponse.success("Price service metrics retrieved", metrics));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ApiResponse;
+import com.example.demo.dto.SymbolSuggestion;
+import com.example.demo.service.SymbolUniverse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for symbol lookup against the local symbol universe.
+ */
+@RestController
+@RequestMapping("/api/symbols")
+@RequiredArgsConstructor
+@Tag(name = "Symbols", description = "Symbol lookup and autocomplete endpoints")
+@CrossOrigin(origins = "*")
+public class SymbolController {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final SymbolUniverse symbolUniverse;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest symbols", description = "Autocompletes ticker symbols starting with the given prefix")
+    public ResponseEntity<ApiResponse<List<SymbolSuggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SymbolSuggestion> suggestions = symbolUniverse.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Create, update and delete operations applied together in one transaction.
+ * Any of the lists may be omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetBatchRequest {
+
+    // New assets
+    private List<AssetDTO> create;
+
+    // Replacement values for existing assets, identified by id; the type cannot change
+    private List<AssetDTO> update;
+
+    // Ids of assets to delete
+    private List<Long> delete;
+}
@@ -0,0 +1,44 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of an asset batch.
+ * A batch is applied only if every item is valid. When it is rejected, nothing
+ * is written and {@code items} lists just the failing items with their errors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetBatchResult {
+
+    private boolean applied;
+    private int created;
+    private int updated;
+    private int deleted;
+    private List<Item> items;
+
+    public enum Operation {
+        CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * Result of one operation, identified by its list and position in the request.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private Operation operation;
+        private int index;
+        private Long id;
+        private boolean success;
+        private String error;
+        // Created or updated asset with current prices
+        private AssetDTO asset;
+    }
+}
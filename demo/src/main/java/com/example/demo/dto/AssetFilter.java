@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.AssetType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for listing assets; null fields are ignored.
+ * Sector only matches stocks, exchange stocks and ETFs, and the maturity range bonds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetFilter {
+
+    private AssetType type;
+
+    private String sector;
+
+    private String exchange;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate maturityFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate maturityTo;
+}
@@ -0,0 +1,61 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.BaseAsset;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last asset on a keyset page: its id, plus its symbol when ordering by symbol.
+ * Encoded as an opaque base64url cursor.
+ */
+public record AssetKeyset(Sort sort, String symbol, long id) {
+
+    /**
+     * Keyset order of a listing. Ties on symbol are broken by id.
+     */
+    public enum Sort {
+        ID,
+        SYMBOL
+    }
+
+    public static AssetKeyset of(Sort sort, BaseAsset asset) {
+        return new AssetKeyset(sort, sort == Sort.SYMBOL ? asset.getSymbol() : null, asset.getId());
+    }
+
+    public String encode() {
+        String raw = sort == Sort.SYMBOL ? "S:" + id + ":" + symbol : "I:" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()} for the same sort order.
+     * Returns null for a missing cursor (first page).
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another order
+     */
+    public static AssetKeyset decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid asset cursor: " + cursor);
+        }
+        String prefix = sort == Sort.SYMBOL ? "S:" : "I:";
+        if (!raw.startsWith(prefix)) {
+            throw new IllegalArgumentException("Asset cursor does not match sort order " + sort);
+        }
+        try {
+            if (sort == Sort.ID) {
+                return new AssetKeyset(sort, null, Long.parseLong(raw.substring(2)));
+            }
+            int sep = raw.indexOf(':', 2);
+            return new AssetKeyset(sort, raw.substring(sep + 1), Long.parseLong(raw.substring(2, sep)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid asset cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated feed.
+ * Pass {@code nextCursor} back to get the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    // Some sources were still loading: the items are incomplete and no nextCursor is
+    // given, so the page is requested again with the same cursor
+    private boolean partial;
+}
@@ -0,0 +1,43 @@
+package com.example.demo.dto;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File formats of the asset export.
+ */
+public enum ExportFormat {
+
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a format name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException("Unsupported export format '" + value + "', expected csv or ndjson");
+        }
+    }
+}
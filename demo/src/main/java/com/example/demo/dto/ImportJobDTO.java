@@ -0,0 +1,43 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.ImportJobStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an asset import job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobDTO {
+
+    private Long id;
+    private String filename;
+    private ImportJobStatus status;
+
+    // Data rows read and committed so far, imported plus rejected
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsRejected;
+    private double rowsPerSecond;
+
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // First rejected rows, by line number
+    private List<Rejection> rejections;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+/**
+ * Snapshot of price cache and upstream (Finnhub) call counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceServiceMetrics {
+
+    // Current state
+    private long cachedSymbols;
+    private long inFlightFetches;
+    private long streamedSymbols;
+
+    // Cumulative counters since startup
+    // Reads answered by the streaming trade feed, each one a REST call saved
+    private long streamHits;
+    private long cacheHits;
+    private long staleHits;
+    private long cacheMisses;
+    private long backgroundRefreshes;
+    private long evictions;
+
+    // Misses that joined a fetch already in flight instead of calling upstream
+    private long coalescedCalls;
+
+    private long upstreamCalls;
+    private long upstreamFailures;
+    private long rateLimitedCalls;
+    // Fetches skipped because the upstream circuit breaker was open
+    private long shortCircuitedCalls;
+}
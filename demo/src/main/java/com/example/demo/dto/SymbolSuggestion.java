@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+/**
+ * A symbol from the local symbol universe, as returned by typeahead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SymbolSuggestion {
+
+    private String symbol;
+    private String name;
+}
@@ -1,64 +0,0 @@
-package com.example.demo.entity;
-
-import jakarta.persistence.*;
-import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-
-/**
- * Entity representing a financial asset in the portfolio.
- * Supports stocks, bonds, real estate, mutual funds, ETFs, crypto, and cash.
- */
-@Entity
-@Table(name = "assets")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class Asset {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "symbol", nullable = false, length = 20)
-    private String symbol;
-
-    @Column(name = "name", nullable = false, length = 100)
-    private String name;
-
-    @Enumerated(EnumType.STRING)
-    @Column(name = "type", nullable = false)
-    private AssetType type;
-
-    @Column(name = "quantity", nullable = false, precision = 19, scale = 4)
-    private BigDecimal quantity;
-
-    @Column(name = "buy_price", nullable = false, precision = 19, scale = 2)
-    private BigDecimal buyPrice;
-
-    @Column(name = "purchase_date")
-    private LocalDate purchaseDate;
-
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
-    private LocalDateTime createdAt;
-
-    @UpdateTimestamp
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
-
-    /**
-     * Calculates the total cost basis (quantity × buyPrice).
-     */
-    public BigDecimal getCostBasis() {
-        if (quantity != null && buyPrice != null) {
-            return quantity.multiply(buyPrice);
-        }
-        return BigDecimal.ZERO;
-    }
-}
@@ -10,5 +10,12 @@ public enum AssetType {
     REAL_ESTATE,
     CRYPTO,
     ETF,
-    MUTUAL_FUND
+    MUTUAL_FUND;
+
+    /**
+     * Whether assets of this type have a live market price (STOCK, ETF, CRYPTO, MUTUAL_FUND).
+     */
+    public boolean isTradeable() {
+        return this == STOCK || this == ETF || this == CRYPTO || this == MUTUAL_FUND;
+    }
 }
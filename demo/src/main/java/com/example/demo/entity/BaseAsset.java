@@ -19,9 +19,13 @@ import java.time.LocalDateTime;
  * - Eliminates field duplication across tables
  * - Enables polymorphic queries (SELECT * FROM assets)
  * - Maintains proper FK relationships
+ *
+ * Ids come from the pooled 'asset_seq' sequence (a one-row table on MySQL),
+ * reserving {@value #ID_ALLOCATION_SIZE} ids per round trip so that inserts
+ * can be JDBC-batched; IDENTITY ids would force one INSERT per row.
  */
 @Entity
-@Table(name = "assets")
+@Table(name = "assets", indexes = @Index(name = "idx_assets_symbol_id", columnList = "symbol, id"))
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "asset_type", discriminatorType = DiscriminatorType.STRING)
 @Data
@@ -30,8 +34,11 @@ import java.time.LocalDateTime;
 @SuperBuilder
 public abstract class BaseAsset {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_seq")
+    @SequenceGenerator(name = "asset_seq", sequenceName = "asset_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "symbol", nullable = false, length = 20)
@@ -12,7 +12,7 @@ import java.time.LocalDate;
  * Joined to 'assets' table via FK on id.
  */
 @Entity
-@Table(name = "bonds")
+@Table(name = "bonds", indexes = @Index(name = "idx_bonds_maturity_date", columnList = "maturity_date"))
 @DiscriminatorValue("BOND")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
  * Joined to 'assets' table via FK on id.
  */
 @Entity
-@Table(name = "etfs")
+@Table(name = "etfs", indexes = @Index(name = "idx_etfs_exchange", columnList = "exchange"))
 @DiscriminatorValue("ETF")
 @Data
 @EqualsAndHashCode(callSuper = true)
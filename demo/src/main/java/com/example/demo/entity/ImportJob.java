@@ -0,0 +1,69 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A CSV asset import running in the background.
+ *
+ * Progress counters and {@code committedRows} are updated in the same
+ * transaction as each chunk of inserted assets, so after a crash the job
+ * resumes right after the last committed chunk without duplicating rows.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "filename", length = 255)
+    private String filename;
+
+    // Uploaded file kept on disk until the job completes
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    // Data rows (after the header) already committed; the resume point
+    @Column(name = "committed_rows", nullable = false)
+    private long committedRows;
+
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private long rowsRejected;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Start of the current (or last) run and the rows already committed then; a resumed
+    // job's throughput is measured over this run only
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "run_start_rows", nullable = false)
+    private long runStartRows;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,11 @@
+package com.example.demo.entity;
+
+/**
+ * Lifecycle of an asset import job.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A CSV row an import job could not turn into an asset, and why.
+ */
+@Entity
+@Table(name = "import_rejections", indexes = @Index(name = "idx_import_rejections_job_line", columnList = "job_id, line_number"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRejection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    // 1-based record in the uploaded file, header included (the line number unless quoted fields span lines)
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "reason", nullable = false, length = 255)
+    private String reason;
+}
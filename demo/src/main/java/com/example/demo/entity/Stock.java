@@ -9,7 +9,10 @@ import lombok.experimental.SuperBuilder;
  * Joined to 'assets' table via FK on id.
  */
 @Entity
-@Table(name = "stocks")
+@Table(name = "stocks", indexes = {
+        @Index(name = "idx_stocks_sector", columnList = "sector"),
+        @Index(name = "idx_stocks_exchange", columnList = "exchange")
+})
 @DiscriminatorValue("STOCK")
 @Data
 @EqualsAndHashCode(callSuper = true)
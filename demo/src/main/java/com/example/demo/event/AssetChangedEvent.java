@@ -0,0 +1,24 @@
+package com.example.demo.event;
+
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.BaseAsset;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by AssetService after an asset is created, updated or deleted.
+ * Listeners that maintain in-memory read models should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ * The event carries the asset's values after the change (before it, for a
+ * deletion), so a read model can apply it without querying the database.
+ */
+public record AssetChangedEvent(Change change, Long assetId, AssetType type, String symbol, String name,
+                                BigDecimal quantity, BigDecimal buyPrice) {
+
+    public enum Change { CREATED, UPDATED, DELETED }
+
+    public static AssetChangedEvent of(Change change, BaseAsset asset) {
+        return new AssetChangedEvent(change, asset.getId(), asset.getType(), asset.getSymbol(), asset.getName(),
+                asset.getQuantity(), asset.getBuyPrice());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when the last known price of a symbol changes, from a streamed
+ * trade or a fetched quote. Listeners run on the publishing thread (the
+ * trade feed's drain thread or a quote fetch), so they must be quick.
+ *
+ * @param symbol normalized (upper-case) symbol
+ */
+public record PriceUpdatedEvent(String symbol, BigDecimal price) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo.exception;
+
+/**
+ * Thrown when an upstream market data call is refused or fails fast:
+ * the circuit breaker is open, the bulkhead is full, or the call timed out.
+ * Callers fall back to cached prices.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.demo.provider;
+
+import com.example.demo.dto.StockNews;
+import com.example.demo.exception.UpstreamUnavailableException;
+import com.example.demo.util.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Price and news provider backed by the Finnhub REST API.
+ *
+ * Calls go through the shared keep-alive HttpClient with a hard per-call deadline.
+ * A bulkhead caps how many threads may wait on Finnhub at once, and a circuit
+ * breaker fails calls fast while Finnhub is timing out or erroring, so callers
+ * fall back to cached prices instead of tying up request threads.
+ *
+ * API Docs: https://finnhub.io/docs/api
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "market-data.provider", havingValue = "finnhub", matchIfMissing = true)
+public class FinnhubClient implements PriceProvider, NewsProvider {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final ObjectMapper objectMapper;
+
+    @Value("${finnhub.api.key}")
+    private String apiKey;
+
+    @Value("${finnhub.api.base-url}")
+    private String baseUrl;
+
+    // Deadline for a whole call, from send to fully read body
+    @Value("${finnhub.http.request-timeout-ms:3000}")
+    private long requestTimeoutMs;
+
+    // How long a caller may wait for a bulkhead permit before failing fast
+    @Value("${finnhub.http.bulkhead-wait-ms:100}")
+    private long bulkheadWaitMs;
+
+    public FinnhubClient(HttpClient finnhubHttpClient,
+                         CircuitBreaker finnhubCircuitBreaker,
+                         @Value("${finnhub.http.max-concurrent-calls:8}") int maxConcurrentCalls) {
+        this.httpClient = finnhubHttpClient;
+        this.circuitBreaker = finnhubCircuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public BigDecimal fetchPrice(String symbol) {
+        // Build URL: /quote?symbol={symbol}&token={apiKey}
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/quote")
+                .queryParam("symbol", symbol)
+                .queryParam("token", apiKey)
+                .build()
+                .toUri();
+
+        log.debug("Fetching price from Finnhub for symbol: {}", symbol);
+        String response = get(uri);
+        if (response == null) {
+            return null;
+        }
+
+        // "c" is the current price in Finnhub's response
+        JsonNode currentPriceNode = readTree(response).get("c");
+        if (currentPriceNode == null || currentPriceNode.isNull()) {
+            return null;
+        }
+
+        // Finnhub returns 0 for invalid symbols
+        double priceValue = currentPriceNode.asDouble();
+        if (priceValue <= 0) {
+            log.warn("Finnhub returned 0 for symbol {} - symbol may be invalid", symbol);
+            return null;
+        }
+        return BigDecimal.valueOf(priceValue);
+    }
+
+    @Override
+    public List<StockNews> fetchMarketNews(String category) {
+        // Build URL: /news?category={category}&token={apiKey}
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/news")
+                .queryParam("category", category)
+                .queryParam("token", apiKey)
+                .build()
+                .toUri();
+
+        log.debug("Fetching market news for category: {}", category);
+        return readNews(get(uri));
+    }
+
+    @Override
+    public List<StockNews> fetchCompanyNews(String symbol, LocalDate from, LocalDate to) {
+        // Build URL: /company-news?symbol={symbol}&from={from}&to={to}&token={apiKey}
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/company-news")
+                .queryParam("symbol", symbol)
+                .queryParam("from", from.format(DATE_FORMAT))
+                .queryParam("to", to.format(DATE_FORMAT))
+                .queryParam("token", apiKey)
+                .build()
+                .toUri();
+
+        log.debug("Fetching company news for {} from {} to {}", symbol, from, to);
+        return readNews(get(uri));
+    }
+
+    @Override
+    public boolean isRateLimited() {
+        return true;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    /**
+     * GET the URI within the call deadline, holding a bulkhead permit and
+     * reporting the outcome to the circuit breaker.
+     *
+     * @return the response body, or null for a 4xx response (e.g. unknown symbol)
+     * @throws UpstreamUnavailableException if the call was refused, timed out or failed
+     */
+    private String get(URI uri) {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new UpstreamUnavailableException("Too many concurrent Finnhub calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for a Finnhub call slot", e);
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new UpstreamUnavailableException("Finnhub circuit is open");
+            }
+            HttpResponse<String> response;
+            try {
+                response = send(uri);
+            } catch (UpstreamUnavailableException e) {
+                // send() has already reported it
+                throw e;
+            } catch (RuntimeException e) {
+                // Anything unexpected (e.g. a rejected request) must still release a half-open probe
+                circuitBreaker.recordFailure();
+                throw e;
+            }
+            int status = response.statusCode();
+            // Rate limiting and server errors mean Finnhub is degraded; other 4xx are our problem
+            if (status == 429 || status >= 500) {
+                circuitBreaker.recordFailure();
+                throw new UpstreamUnavailableException("Finnhub returned HTTP " + status);
+            }
+            circuitBreaker.recordSuccess();
+            if (status >= 400) {
+                log.warn("Finnhub returned HTTP {} for {}", status, uri.getPath());
+                return null;
+            }
+            return response.body();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private HttpResponse<String> send(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        CompletableFuture<HttpResponse<String>> future =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        try {
+            return future.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.recordFailure();
+            throw new UpstreamUnavailableException("Finnhub call timed out after " + requestTimeoutMs + " ms", e);
+        } catch (ExecutionException e) {
+            circuitBreaker.recordFailure();
+            throw new UpstreamUnavailableException("Finnhub call failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            // Counted as a failure so a half-open probe is never left claimed
+            circuitBreaker.recordFailure();
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for Finnhub", e);
+        }
+    }
+
+    // Finnhub returns a JSON array of news objects
+    private List<StockNews> readNews(String response) {
+        if (response == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(response, new TypeReference<List<StockNews>>() {});
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readTree(String response) {
+        try {
+            return objectMapper.readTree(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.demo.provider;
+
+import com.example.demo.service.TickStore;
+import com.example.demo.service.TradeableHoldings;
+import com.example.demo.util.TickRingBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Streams trades for held symbols from the Finnhub WebSocket feed into the TickStore.
+ *
+ * The socket listener only parses each message and offers the trades to a
+ * lock-free ring buffer; a single drain thread moves them into the TickStore,
+ * so a burst of trades never blocks the socket. Subscriptions follow the
+ * tradeable holdings and are re-synced on a schedule. A dropped connection is
+ * reopened with exponential backoff and every held symbol is subscribed again.
+ *
+ * Message format: {@code {"type":"trade","data":[{"s":"AAPL","p":187.3,"t":1700000000000,"v":10}]}}
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "finnhub.stream.enabled", havingValue = "true")
+public class FinnhubTradeStream implements WebSocket.Listener {
+
+    private static final int DRAIN_BATCH = 1024;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final TickStore tickStore;
+    private final Supplier<Collection<String>> symbolSource;
+    private final URI uri;
+    private final TickRingBuffer buffer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "trade-stream-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Symbols subscribed on the current connection
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+    // Partial text frames of the message being received
+    private final StringBuilder pending = new StringBuilder();
+
+    private volatile WebSocket webSocket;
+    private volatile boolean running;
+    private volatile Thread drainThread;
+    private long backoffMs;
+
+    @Value("${finnhub.stream.initial-backoff-ms:1000}")
+    private long initialBackoffMs = 1000;
+
+    @Autowired
+    public FinnhubTradeStream(TickStore tickStore,
+                              TradeableHoldings tradeableHoldings,
+                              @Value("${finnhub.stream.url:wss://ws.finnhub.io}") String url,
+                              @Value("${finnhub.api.key}") String apiKey,
+                              @Value("${finnhub.stream.buffer-size:8192}") int bufferSize) {
+        this(tickStore, tradeableHoldings::symbols, URI.create(url + "?token=" + apiKey), bufferSize);
+    }
+
+    FinnhubTradeStream(TickStore tickStore, Supplier<Collection<String>> symbolSource, URI uri, int bufferSize) {
+        this.tickStore = tickStore;
+        this.symbolSource = symbolSource;
+        this.uri = uri;
+        this.buffer = new TickRingBuffer(bufferSize);
+    }
+
+    /**
+     * Open the connection and start draining ticks once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        backoffMs = initialBackoffMs;
+        Thread thread = new Thread(this::drainLoop, "trade-stream-drain");
+        thread.setDaemon(true);
+        thread.start();
+        drainThread = thread;
+        connect();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        reconnectExecutor.shutdownNow();
+        WebSocket ws = webSocket;
+        if (ws != null) {
+            ws.abort();
+        }
+        Thread thread = drainThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Subscribe to newly held symbols and unsubscribe from ones no longer held.
+     * Synchronized so a scheduled run never interleaves with the resubscribe on connect.
+     */
+    @Scheduled(initialDelayString = "${finnhub.stream.resubscribe-interval-ms:60000}",
+            fixedDelayString = "${finnhub.stream.resubscribe-interval-ms:60000}")
+    public synchronized void syncSubscriptions() {
+        WebSocket ws = webSocket;
+        if (ws == null || ws.isOutputClosed()) {
+            return;
+        }
+
+        Set<String> wanted = new HashSet<>(symbolSource.get());
+        for (String symbol : wanted) {
+            if (subscribed.add(symbol)) {
+                send(ws, "subscribe", symbol);
+            }
+        }
+        for (String symbol : new ArrayList<>(subscribed)) {
+            if (!wanted.contains(symbol)) {
+                subscribed.remove(symbol);
+                send(ws, "unsubscribe", symbol);
+            }
+        }
+    }
+
+    public boolean isConnected() {
+        WebSocket ws = webSocket;
+        return ws != null && !ws.isInputClosed();
+    }
+
+    public long droppedTicks() {
+        return buffer.droppedCount();
+    }
+
+    // ------------------------------------------------------------------------
+    // WebSocket.Listener
+    // ------------------------------------------------------------------------
+
+    @Override
+    public void onOpen(WebSocket ws) {
+        log.info("Trade stream connected to {}", uri.getHost());
+        synchronized (this) {
+            backoffMs = initialBackoffMs;
+            webSocket = ws;
+            subscribed.clear();
+            syncSubscriptions();
+        }
+        ws.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+        pending.append(data);
+        if (last) {
+            String message = pending.toString();
+            pending.setLength(0);
+            handleMessage(message);
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+        log.warn("Trade stream closed ({}): {}", statusCode, reason);
+        scheduleReconnect();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket ws, Throwable error) {
+        log.warn("Trade stream error: {}", error.getMessage());
+        scheduleReconnect();
+    }
+
+    // ------------------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------------------
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(uri, this)
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        log.warn("Trade stream connect failed: {}", error.getMessage());
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    private synchronized void scheduleReconnect() {
+        webSocket = null;
+        pending.setLength(0);
+        if (!running) {
+            return;
+        }
+        long delay = backoffMs;
+        backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        log.info("Reconnecting trade stream in {} ms", delay);
+        try {
+            reconnectExecutor.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Parse a feed message and publish its trades. Pings and unknown types are ignored.
+     */
+    void handleMessage(String message) {
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            if (!"trade".equals(root.path("type").asText())) {
+                return;
+            }
+            for (JsonNode trade : root.path("data")) {
+                String symbol = trade.path("s").asText(null);
+                double price = trade.path("p").asDouble();
+                if (symbol == null || price <= 0) {
+                    continue;
+                }
+                buffer.offer(symbol, price, trade.path("t").asLong(System.currentTimeMillis()));
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring malformed trade message: {}", e.getMessage());
+        }
+    }
+
+    private void drainLoop() {
+        TickRingBuffer.TickHandler handler =
+                (symbol, price, timestamp) -> tickStore.update(symbol, BigDecimal.valueOf(price), timestamp);
+        while (running) {
+            if (buffer.drain(handler, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    // Sends must not overlap on a java.net.http WebSocket
+    private synchronized void send(WebSocket ws, String type, String symbol) {
+        try {
+            ws.sendText("{\"type\":\"" + type + "\",\"symbol\":\"" + symbol + "\"}", true).join();
+        } catch (CompletionException e) {
+            log.warn("Failed to {} {}: {}", type, symbol, e.getMessage());
+        }
+    }
+}
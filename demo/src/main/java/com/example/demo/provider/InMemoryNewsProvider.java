@@ -0,0 +1,80 @@
+package com.example.demo.provider;
+
+import com.example.demo.dto.StockNews;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline stand-in news provider, active whenever prices do not come from Finnhub.
+ * Generates a fixed number of synthetic articles per symbol and day with stable ids,
+ * so repeated and overlapping requests return identical articles.
+ */
+@Component
+@ConditionalOnExpression("'${market-data.provider:finnhub}' != 'finnhub'")
+public class InMemoryNewsProvider implements NewsProvider {
+
+    private static final int MARKET_ARTICLES = 10;
+
+    private final int articlesPerDay;
+    private final long latencyMs;
+
+    public InMemoryNewsProvider(@Value("${market-data.in-memory.articles-per-day:3}") int articlesPerDay,
+                                @Value("${market-data.in-memory.latency-ms:0}") long latencyMs) {
+        this.articlesPerDay = articlesPerDay;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public List<StockNews> fetchMarketNews(String category) {
+        InMemoryPriceProvider.simulateLatency(latencyMs);
+        long today = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+
+        List<StockNews> news = new ArrayList<>(MARKET_ARTICLES);
+        for (int i = 0; i < MARKET_ARTICLES; i++) {
+            news.add(article(category, "", today, i, Math.floorMod(category.hashCode(), 1 << 20)));
+        }
+        return news;
+    }
+
+    @Override
+    public List<StockNews> fetchCompanyNews(String symbol, LocalDate from, LocalDate to) {
+        InMemoryPriceProvider.simulateLatency(latencyMs);
+        int symbolKey = Math.floorMod(symbol.hashCode(), 1 << 20);
+
+        // Newest first, like Finnhub
+        List<StockNews> news = new ArrayList<>();
+        for (LocalDate day = to; !day.isBefore(from); day = day.minusDays(1)) {
+            long dayStart = day.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            for (int i = articlesPerDay - 1; i >= 0; i--) {
+                news.add(article("company", symbol, dayStart, i, symbolKey));
+            }
+        }
+        return news;
+    }
+
+    @Override
+    public boolean isRateLimited() {
+        return false;
+    }
+
+    private StockNews article(String category, String symbol, long dayStart, int index, int key) {
+        long epochDay = dayStart / 86_400;
+        String subject = symbol.isEmpty() ? category : symbol;
+        return StockNews.builder()
+                .id(((long) key << 40) | (epochDay << 8) | index)
+                .category(category)
+                .datetime(dayStart + (index + 1) * 3_600L)
+                .headline(subject + " update #" + (index + 1))
+                .related(symbol)
+                .source("in-memory")
+                .summary("Synthetic article generated for offline runs.")
+                .url("https://example.com/news/" + subject.toLowerCase() + "/" + epochDay + "/" + index)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.provider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline stand-in price provider.
+ * Every symbol gets a stable price between 10.00 and 999.99 derived from its name,
+ * so results are deterministic across runs and no network or API key is needed.
+ * An optional artificial latency makes load tests closer to a real upstream.
+ */
+@Component
+@ConditionalOnProperty(name = "market-data.provider", havingValue = "in-memory")
+public class InMemoryPriceProvider implements PriceProvider {
+
+    private final long latencyMs;
+
+    public InMemoryPriceProvider(@Value("${market-data.in-memory.latency-ms:0}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public BigDecimal fetchPrice(String symbol) {
+        simulateLatency(latencyMs);
+        return priceFor(symbol);
+    }
+
+    @Override
+    public boolean isRateLimited() {
+        return false;
+    }
+
+    /**
+     * Deterministic price for a symbol.
+     */
+    public static BigDecimal priceFor(String symbol) {
+        int cents = 1_000 + Math.floorMod(symbol.hashCode(), 99_000);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    static void simulateLatency(long latencyMs) {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
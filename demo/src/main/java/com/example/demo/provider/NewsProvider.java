@@ -0,0 +1,42 @@
+package com.example.demo.provider;
+
+import com.example.demo.dto.StockNews;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Source of market and company news used by StockPriceService.
+ * The active implementation is selected with {@code market-data.provider}.
+ */
+public interface NewsProvider {
+
+    /**
+     * Fetch general market news.
+     *
+     * @param category general, forex, crypto, or merger
+     * @throws RuntimeException if the source could not be reached
+     */
+    List<StockNews> fetchMarketNews(String category);
+
+    /**
+     * Fetch news for a normalized symbol published between two dates (inclusive).
+     *
+     * @throws RuntimeException if the source could not be reached
+     */
+    List<StockNews> fetchCompanyNews(String symbol, LocalDate from, LocalDate to);
+
+    /**
+     * Whether calls count against the shared upstream quota.
+     */
+    default boolean isRateLimited() {
+        return true;
+    }
+
+    /**
+     * Whether a call may be made right now.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.provider;
+
+import java.math.BigDecimal;
+
+/**
+ * Source of live quotes used by StockPriceService.
+ * The active implementation is selected with {@code market-data.provider}.
+ */
+public interface PriceProvider {
+
+    /**
+     * Fetch the latest price for a normalized (upper-case) symbol.
+     *
+     * @param symbol Stock ticker symbol (e.g., "AAPL")
+     * @return Latest price, or null if the symbol is unknown
+     * @throws RuntimeException if the source could not be reached
+     */
+    BigDecimal fetchPrice(String symbol);
+
+    /**
+     * Whether calls count against the shared upstream quota.
+     * Local providers return false so load tests are not throttled.
+     */
+    default boolean isRateLimited() {
+        return true;
+    }
+
+    /**
+     * Whether a call may be made right now. False while the source is known to be
+     * degraded (e.g. an open circuit breaker), so callers can serve cached prices
+     * without spending a rate-limit token.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+}
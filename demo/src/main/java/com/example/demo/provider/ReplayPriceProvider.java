@@ -0,0 +1,128 @@
+package com.example.demo.provider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Price provider that plays back a recorded quote stream.
+ *
+ * The file is CSV with a header and rows of {@code offsetMs,symbol,price},
+ * where offsetMs is the time since the start of the recording. Playback starts
+ * when the provider is created and runs {@code speed} times faster than the
+ * recording; with {@code loop} enabled it wraps around at the end.
+ * A symbol returns the last price recorded at or before the playback position.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "market-data.provider", havingValue = "replay")
+public class ReplayPriceProvider implements PriceProvider {
+
+    private final Map<String, Series> seriesBySymbol;
+    private final long durationMs;
+    private final double speed;
+    private final boolean loop;
+    private final Clock clock;
+    private final long startMillis;
+
+    @Autowired
+    public ReplayPriceProvider(@Value("${market-data.replay.file:classpath:replay/sample-quotes.csv}") Resource file,
+                               @Value("${market-data.replay.speed:1.0}") double speed,
+                               @Value("${market-data.replay.loop:true}") boolean loop) throws IOException {
+        this(file.getInputStream(), speed, loop, Clock.systemUTC());
+        log.info("Replaying {} symbols over {} ms of recorded quotes at {}x", seriesBySymbol.size(), durationMs, speed);
+    }
+
+    ReplayPriceProvider(InputStream in, double speed, boolean loop, Clock clock) throws IOException {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Replay speed must be greater than 0");
+        }
+        this.seriesBySymbol = load(in);
+        this.durationMs = seriesBySymbol.values().stream()
+                .mapToLong(s -> s.offsets[s.offsets.length - 1])
+                .max()
+                .orElse(0);
+        this.speed = speed;
+        this.loop = loop;
+        this.clock = clock;
+        this.startMillis = clock.millis();
+    }
+
+    @Override
+    public BigDecimal fetchPrice(String symbol) {
+        Series series = seriesBySymbol.get(symbol);
+        if (series == null) {
+            return null;
+        }
+
+        long position = (long) ((clock.millis() - startMillis) * speed);
+        if (loop && durationMs > 0) {
+            position %= durationMs + 1;
+        }
+
+        // Last tick at or before the playback position; before the first tick use the opening price
+        int idx = Arrays.binarySearch(series.offsets, position);
+        if (idx < 0) {
+            idx = Math.max(0, -idx - 2);
+        }
+        return series.prices[idx];
+    }
+
+    @Override
+    public boolean isRateLimited() {
+        return false;
+    }
+
+    private static Map<String, Series> load(InputStream in) throws IOException {
+        Map<String, TreeMap<Long, BigDecimal>> ticks = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                if (cols.length < 3) {
+                    throw new IOException("Invalid replay row at line " + lineNumber + ": " + line);
+                }
+                ticks.computeIfAbsent(cols[1].trim().toUpperCase(), k -> new TreeMap<>())
+                        .put(Long.parseLong(cols[0].trim()), new BigDecimal(cols[2].trim()));
+            }
+        }
+
+        Map<String, Series> result = new HashMap<>();
+        ticks.forEach((symbol, series) -> {
+            long[] seriesOffsets = new long[series.size()];
+            BigDecimal[] seriesPrices = new BigDecimal[series.size()];
+            int i = 0;
+            for (Map.Entry<Long, BigDecimal> tick : series.entrySet()) {
+                seriesOffsets[i] = tick.getKey();
+                seriesPrices[i] = tick.getValue();
+                i++;
+            }
+            result.put(symbol, new Series(seriesOffsets, seriesPrices));
+        });
+        return result;
+    }
+
+    /**
+     * Ticks of one symbol, sorted by offset.
+     */
+    private record Series(long[] offsets, BigDecimal[] prices) {
+    }
+}
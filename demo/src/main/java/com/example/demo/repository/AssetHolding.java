@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Valuation inputs of an asset, read from the base table only.
+ */
+public interface AssetHolding {
+
+    Long getId();
+
+    // Discriminator value, an AssetType name
+    String getType();
+
+    String getSymbol();
+
+    String getName();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getBuyPrice();
+}
@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.entity.BaseAsset;
+
+import java.util.List;
+
+/**
+ * Custom queries on BaseAsset that Spring Data cannot derive.
+ */
+public interface AssetQueryRepository {
+
+    /**
+     * Up to {@code limit} assets matching the filter, in keyset order, strictly after {@code after}.
+     * Filtering, ordering and the keyset bound all run in SQL.
+     *
+     * @param after last asset of the previous page, or null for the first page
+     */
+    List<BaseAsset> findPage(AssetFilter filter, AssetKeyset.Sort sort, AssetKeyset after, int limit);
+}
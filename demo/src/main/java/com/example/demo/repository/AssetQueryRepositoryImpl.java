@@ -0,0 +1,105 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link AssetQueryRepository}.
+ *
+ * Subtype columns are reached with {@code treat}, each paired with a type
+ * restriction on the discriminator so a disjunction (e.g. exchange on stocks
+ * or ETFs) only matches rows of the right type.
+ */
+public class AssetQueryRepositoryImpl implements AssetQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BaseAsset> findPage(AssetFilter filter, AssetKeyset.Sort sort, AssetKeyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BaseAsset> query = cb.createQuery(BaseAsset.class);
+        Root<BaseAsset> asset = query.from(BaseAsset.class);
+
+        List<Predicate> predicates = filter != null ? filterPredicates(cb, asset, filter) : new ArrayList<>();
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, asset, sort, after));
+        }
+
+        query.select(asset).where(predicates.toArray(new Predicate[0]));
+        if (sort == AssetKeyset.Sort.SYMBOL) {
+            query.orderBy(cb.asc(asset.get("symbol")), cb.asc(asset.get("id")));
+        } else {
+            query.orderBy(cb.asc(asset.get("id")));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<BaseAsset> asset, AssetFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(asset.type(), entityClass(filter.getType())));
+        }
+        if (filter.getSector() != null) {
+            Root<Stock> stock = cb.treat(asset, Stock.class);
+            predicates.add(cb.and(
+                    cb.equal(asset.type(), Stock.class),
+                    cb.equal(stock.get("sector"), filter.getSector())));
+        }
+        if (filter.getExchange() != null) {
+            Root<Stock> stock = cb.treat(asset, Stock.class);
+            Root<Etf> etf = cb.treat(asset, Etf.class);
+            predicates.add(cb.or(
+                    cb.and(cb.equal(asset.type(), Stock.class),
+                            cb.equal(stock.get("exchange"), filter.getExchange())),
+                    cb.and(cb.equal(asset.type(), Etf.class),
+                            cb.equal(etf.get("exchange"), filter.getExchange()))));
+        }
+        if (filter.getMaturityFrom() != null || filter.getMaturityTo() != null) {
+            Root<Bond> bond = cb.treat(asset, Bond.class);
+            predicates.add(cb.equal(asset.type(), Bond.class));
+            if (filter.getMaturityFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(bond.get("maturityDate"), filter.getMaturityFrom()));
+            }
+            if (filter.getMaturityTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(bond.get("maturityDate"), filter.getMaturityTo()));
+            }
+        }
+        return predicates;
+    }
+
+    /**
+     * Rows strictly after the keyset: {@code id > :id}, or
+     * {@code symbol > :symbol OR (symbol = :symbol AND id > :id)} when ordering by symbol.
+     */
+    private Predicate keysetPredicate(CriteriaBuilder cb, Root<BaseAsset> asset, AssetKeyset.Sort sort,
+                                      AssetKeyset after) {
+        Path<Long> id = asset.get("id");
+        if (sort != AssetKeyset.Sort.SYMBOL) {
+            return cb.greaterThan(id, after.id());
+        }
+        Path<String> symbol = asset.get("symbol");
+        return cb.or(
+                cb.greaterThan(symbol, after.symbol()),
+                cb.and(cb.equal(symbol, after.symbol()), cb.greaterThan(id, after.id())));
+    }
+
+    private static Class<? extends BaseAsset> entityClass(AssetType type) {
+        return switch (type) {
+            case STOCK -> Stock.class;
+            case BOND -> Bond.class;
+            case ETF -> Etf.class;
+            case MUTUAL_FUND -> MutualFund.class;
+            case CRYPTO -> Crypto.class;
+            case REAL_ESTATE -> RealEstate.class;
+            case CASH -> Cash.class;
+        };
+    }
+}
@@ -1,53 +1,54 @@
 package com.example.demo.repository;
 
-import com.example.demo.entity.Asset;
-import com.example.demo.entity.AssetType;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.example.demo.entity.BaseAsset;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
- * Repository interface for Asset entity CRUD operations.
+ * Polymorphic repository over every asset type.
+ * A query on BaseAsset loads all subtypes in a single statement (the 'assets'
+ * table left-joined to each subtype table), so listing the whole portfolio or a
+ * page of it is one round trip instead of one query per asset type.
+ * Filtered keyset pages come from the {@link AssetQueryRepository} fragment.
  */
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends BaseAssetRepository<BaseAsset>, AssetQueryRepository {
 
     /**
-     * Find all assets of a specific type.
+     * Asset type discriminator of an asset, read from the base table only
+     * (primary key lookup, no subtype joins).
      */
-    List<Asset> findByType(AssetType type);
+    @Query(value = "SELECT asset_type FROM assets WHERE id = :id", nativeQuery = true)
+    Optional<String> findAssetTypeById(@Param("id") Long id);
 
     /**
-     * Find assets where symbol contains the search term (case insensitive).
+     * Id, symbol and name of every asset, for building the search index.
      */
-    List<Asset> findBySymbolContainingIgnoreCase(String symbol);
+    @Query("SELECT a.id AS id, a.symbol AS symbol, a.name AS name FROM BaseAsset a")
+    List<AssetText> findAllText();
 
     /**
-     * Find assets where name contains the search term (case insensitive).
+     * Type, symbol, name, quantity and buy price of every asset, for the portfolio aggregate
+     * (base table only, no subtype joins).
      */
-    List<Asset> findByNameContainingIgnoreCase(String name);
+    @Query(value = "SELECT id AS id, asset_type AS type, symbol AS symbol, name AS name, "
+            + "quantity AS quantity, buy_price AS buyPrice FROM assets", nativeQuery = true)
+    List<AssetHolding> findAllHoldings();
 
     /**
-     * Find assets created within a date range.
+     * Count, quantity and cost basis per asset type and symbol, in one grouped scan of the base table.
      */
-    List<Asset> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    @Query(value = "SELECT asset_type AS type, symbol AS symbol, COUNT(*) AS count, "
+            + "SUM(quantity) AS quantity, SUM(quantity * buy_price) AS costBasis "
+            + "FROM assets GROUP BY asset_type, symbol", nativeQuery = true)
+    List<TypeSymbolSummary> summarizeByTypeAndSymbol();
 
     /**
-     * Find assets by symbol (exact match, case insensitive).
+     * Case-insensitive substring match on symbol or name across all asset types, in one query.
      */
-    List<Asset> findBySymbolIgnoreCase(String symbol);
-
-    /**
-     * Get total portfolio value (sum of quantity * buy_price for all assets).
-     */
-    @Query("SELECT COALESCE(SUM(a.quantity * a.buyPrice), 0) FROM Asset a")
-    java.math.BigDecimal getTotalCostBasis();
-
-    /**
-     * Count assets by type.
-     */
-    long countByType(AssetType type);
+    List<BaseAsset> findBySymbolContainingIgnoreCaseOrNameContainingIgnoreCase(String symbol, String name);
 }
@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+/**
+ * Searchable text of an asset, loaded without the subtype columns.
+ */
+public interface AssetText {
+
+    Long getId();
+
+    String getSymbol();
+
+    String getName();
+}
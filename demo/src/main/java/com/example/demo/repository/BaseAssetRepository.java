@@ -21,4 +21,11 @@ public interface BaseAssetRepository<T extends BaseAsset> extends JpaRepository<
 
     @Query("SELECT COALESCE(SUM(a.quantity * a.buyPrice), 0) FROM #{#entityName} a")
     BigDecimal calculateTotalCostBasis();
+
+    /**
+     * Total quantity and cost basis held per distinct symbol.
+     */
+    @Query("SELECT a.symbol AS symbol, SUM(a.quantity) AS quantity, SUM(a.quantity * a.buyPrice) AS costBasis " +
+            "FROM #{#entityName} a GROUP BY a.symbol")
+    List<HoldingSummary> summarizeHoldingsBySymbol();
 }
\ No newline at end of file
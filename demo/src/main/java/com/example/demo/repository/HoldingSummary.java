@@ -0,0 +1,15 @@
+package com.example.demo.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of all positions in one symbol, aggregated by the database.
+ */
+public interface HoldingSummary {
+
+    String getSymbol();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getCostBasis();
+}
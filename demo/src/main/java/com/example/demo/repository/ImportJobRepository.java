@@ -0,0 +1,28 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.ImportJob;
+import com.example.demo.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findByStatusInOrderById(Collection<ImportJobStatus> statuses);
+
+    /**
+     * Record a committed chunk. Runs in the chunk's transaction.
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.committedRows = :committedRows, " +
+            "j.rowsImported = j.rowsImported + :imported, j.rowsRejected = j.rowsRejected + :rejected " +
+            "WHERE j.id = :id")
+    int recordChunk(@Param("id") Long id, @Param("committedRows") long committedRows,
+                    @Param("imported") long imported, @Param("rejected") long rejected);
+}
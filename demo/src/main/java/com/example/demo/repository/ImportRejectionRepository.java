@@ -0,0 +1,14 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.ImportRejection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportRejectionRepository extends JpaRepository<ImportRejection, Long> {
+
+    List<ImportRejection> findByJobIdOrderByLineNumber(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.example.demo.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of all positions of one asset type in one symbol, aggregated by the database.
+ */
+public interface TypeSymbolSummary {
+
+    // Discriminator value, an AssetType name
+    String getType();
+
+    String getSymbol();
+
+    Long getCount();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getCostBasis();
+}
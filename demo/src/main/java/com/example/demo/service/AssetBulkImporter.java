@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.BaseAsset;
+import com.example.demo.event.AssetChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Bulk insert path for large imports.
+ *
+ * A chunk of rows is flushed as JDBC batches (hibernate.jdbc.batch_size,
+ * ordered inserts so the 'assets' rows and each subtype table batch
+ * separately) and then cleared from the persistence context, so memory stays
+ * flat however many chunks a caller feeds through. The caller owns the
+ * transaction, so it can commit its own bookkeeping atomically with the chunk.
+ */
+@Service
+@RequiredArgsConstructor
+public class AssetBulkImporter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Insert the chunk in the caller's transaction.
+     * Entities already in the persistence context are detached afterwards.
+     *
+     * @return number of assets inserted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int persist(List<AssetDTO> chunk) {
+        for (AssetDTO dto : chunk) {
+            BaseAsset asset = AssetMapper.toEntity(dto);
+            entityManager.persist(asset);
+            eventPublisher.publishEvent(AssetChangedEvent.of(AssetChangedEvent.Change.CREATED, asset));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return chunk.size();
+    }
+}
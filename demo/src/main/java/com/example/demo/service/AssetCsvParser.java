@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.util.CsvTokenizer;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Turns one asset CSV record into an AssetDTO:
+ * {@code symbol,name,type,quantity,buyPrice[,purchaseDate]}.
+ *
+ * Reads the fields straight from the tokenizer's bytes; only symbol and name become Strings.
+ */
+final class AssetCsvParser {
+
+    private static final int SYMBOL = 0;
+    private static final int NAME = 1;
+    private static final int TYPE = 2;
+    private static final int QUANTITY = 3;
+    private static final int BUY_PRICE = 4;
+    private static final int PURCHASE_DATE = 5;
+
+    private static final AssetType[] TYPES = AssetType.values();
+
+    private AssetCsvParser() {
+    }
+
+    /**
+     * @throws IllegalArgumentException with a reason suitable for reporting back to the user
+     */
+    static AssetDTO parse(CsvTokenizer record) {
+        if (record.isOversized()) {
+            throw new IllegalArgumentException("Record longer than " + record.maxRecordBytes() + " bytes");
+        }
+        int columns = record.fieldCount();
+        if (columns < 5) {
+            throw new IllegalArgumentException("Expected at least 5 columns, found " + columns);
+        }
+        if (record.isBlank(SYMBOL)) {
+            throw new IllegalArgumentException("Missing symbol");
+        }
+        if (record.isBlank(NAME)) {
+            throw new IllegalArgumentException("Missing name");
+        }
+
+        String symbol = record.text(SYMBOL);
+        String name = record.text(NAME);
+        if (symbol.length() > 20) {
+            throw new IllegalArgumentException("Symbol longer than 20 characters");
+        }
+        if (name.length() > 100) {
+            throw new IllegalArgumentException("Name longer than 100 characters");
+        }
+
+        AssetDTO dto = AssetDTO.builder()
+                .symbol(symbol)
+                .name(name)
+                .type(parseType(record))
+                .quantity(parsePositive(record, QUANTITY, "quantity"))
+                .buyPrice(parsePositive(record, BUY_PRICE, "buyPrice"))
+                .purchaseDate(columns > PURCHASE_DATE && !record.isBlank(PURCHASE_DATE) ? parseDate(record) : null)
+                .build();
+        // Same bounds as the API, including what the columns can hold, so a row the
+        // database would refuse is rejected here rather than failing its chunk's flush
+        String error = AssetMapper.validate(dto);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        return dto;
+    }
+
+    private static AssetType parseType(CsvTokenizer record) {
+        for (AssetType type : TYPES) {
+            if (record.equalsIgnoreCase(TYPE, type.name())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown asset type '" + record.text(TYPE) + "'");
+    }
+
+    private static BigDecimal parsePositive(CsvTokenizer record, int field, String column) {
+        BigDecimal number;
+        try {
+            number = record.decimal(field);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + record.text(field) + "'");
+        }
+        if (number.signum() <= 0) {
+            throw new IllegalArgumentException(column + " must be positive");
+        }
+        return number;
+    }
+
+    private static LocalDate parseDate(CsvTokenizer record) {
+        try {
+            return record.date(PURCHASE_DATE);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid purchaseDate '" + record.text(PURCHASE_DATE) + "', expected yyyy-MM-dd");
+        }
+    }
+}
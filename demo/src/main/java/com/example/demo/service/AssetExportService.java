@@ -0,0 +1,303 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExportFormat;
+import com.example.demo.entity.BaseAsset;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Writes every asset to a stream as CSV or newline-delimited JSON.
+ *
+ * Rows come from a forward-only, read-only Hibernate cursor and are written
+ * {@code assets.export.fetch-size} at a time; the persistence context is
+ * cleared after each batch, so memory stays flat however large the portfolio.
+ * Live-price columns, when requested, come from the price cache only (one
+ * batch lookup per batch of rows) and are empty for uncached or non-tradeable
+ * assets.
+ *
+ * The first six CSV columns are the import format, so an export can be
+ * uploaded again as is.
+ */
+@Service
+@Slf4j
+public class AssetExportService {
+
+    private static final String[] COLUMNS = {
+            "symbol", "name", "type", "quantity", "buyPrice", "purchaseDate", "id", "costBasis"};
+    private static final String[] PRICE_COLUMNS = {"currentPrice", "currentValue", "gainLoss"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final StockPriceService stockPriceService;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AssetExportService(PlatformTransactionManager transactionManager,
+                              StockPriceService stockPriceService,
+                              ObjectMapper objectMapper,
+                              @Value("${assets.export.fetch-size:500}") int fetchSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.stockPriceService = stockPriceService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write all assets, ordered by id. The stream is flushed but not closed.
+     *
+     * @param includePrices add currentPrice, currentValue and gainLoss from the price cache
+     * @return number of assets written
+     */
+    public long export(ExportFormat format, boolean includePrices, OutputStream out) throws IOException {
+        RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(out, includePrices)
+                : new NdjsonRowWriter(objectMapper, out, includePrices);
+        long started = System.currentTimeMillis();
+        long count;
+        try {
+            count = Objects.requireNonNull(readOnlyTransaction.execute(status -> {
+                try {
+                    return writeAll(writer, includePrices);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} assets as {} in {} ms", count, format, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    private long writeAll(RowWriter writer, boolean includePrices) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        long count = 0;
+        try (ScrollableResults<BaseAsset> rows = session
+                .createQuery("FROM BaseAsset a ORDER BY a.id", BaseAsset.class)
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            List<BaseAsset> batch = new ArrayList<>(fetchSize);
+            while (rows.next()) {
+                batch.add(rows.get());
+                if (batch.size() == fetchSize) {
+                    count += writeBatch(writer, batch, includePrices);
+                    batch.clear();
+                    // Detach the written rows so the persistence context does not grow
+                    session.clear();
+                }
+            }
+            count += writeBatch(writer, batch, includePrices);
+        }
+        return count;
+    }
+
+    private int writeBatch(RowWriter writer, List<BaseAsset> batch, boolean includePrices) throws IOException {
+        Map<String, BigDecimal> prices = includePrices ? cachedPrices(batch) : Collections.emptyMap();
+        for (BaseAsset asset : batch) {
+            BigDecimal price = asset.getType().isTradeable()
+                    ? prices.get(StockPriceService.normalizeSymbol(asset.getSymbol())) : null;
+            writer.write(asset, price);
+        }
+        return batch.size();
+    }
+
+    private Map<String, BigDecimal> cachedPrices(List<BaseAsset> batch) {
+        List<String> symbols = batch.stream()
+                .filter(a -> a.getType().isTradeable())
+                .map(a -> StockPriceService.normalizeSymbol(a.getSymbol()))
+                .distinct()
+                .collect(Collectors.toList());
+        return symbols.isEmpty() ? Collections.emptyMap() : stockPriceService.getCachedPrices(symbols);
+    }
+
+    private static BigDecimal currentValue(BaseAsset asset, BigDecimal price) {
+        return price == null ? null : asset.getQuantity().multiply(price);
+    }
+
+    private static BigDecimal gainLoss(BaseAsset asset, BigDecimal price) {
+        return price == null ? null : currentValue(asset, price).subtract(asset.getCostBasis());
+    }
+
+    // ------------------------------------------------------------------------
+    // Formats
+    // ------------------------------------------------------------------------
+
+    private interface RowWriter {
+
+        void write(BaseAsset asset, BigDecimal price) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; fields are quoted only when needed.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer out;
+        private final boolean includePrices;
+        private boolean headerWritten;
+
+        CsvRowWriter(OutputStream out, boolean includePrices) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.includePrices = includePrices;
+        }
+
+        @Override
+        public void write(BaseAsset asset, BigDecimal price) throws IOException {
+            writeHeader();
+            field(asset.getSymbol());
+            out.write(',');
+            field(asset.getName());
+            out.write(',');
+            out.write(asset.getType().name());
+            out.write(',');
+            number(asset.getQuantity());
+            out.write(',');
+            number(asset.getBuyPrice());
+            out.write(',');
+            if (asset.getPurchaseDate() != null) {
+                out.write(asset.getPurchaseDate().toString());
+            }
+            out.write(',');
+            out.write(String.valueOf(asset.getId()));
+            out.write(',');
+            number(asset.getCostBasis());
+            if (includePrices) {
+                out.write(',');
+                number(price);
+                out.write(',');
+                number(currentValue(asset, price));
+                out.write(',');
+                number(gainLoss(asset, price));
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // An empty portfolio still gets its header
+            writeHeader();
+            out.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            if (headerWritten) {
+                return;
+            }
+            out.write(String.join(",", COLUMNS));
+            if (includePrices) {
+                out.write(',');
+                out.write(String.join(",", PRICE_COLUMNS));
+            }
+            out.write('\n');
+            headerWritten = true;
+        }
+
+        private void number(BigDecimal value) throws IOException {
+            if (value != null) {
+                out.write(value.toPlainString());
+            }
+        }
+
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    /**
+     * One JSON object per line, written field by field without building a tree or DTO.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator json;
+        private final boolean includePrices;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out, boolean includePrices) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    // No separator between root values: each object ends its own line
+                    .setPrettyPrinter(new MinimalPrettyPrinter(""));
+            this.includePrices = includePrices;
+        }
+
+        @Override
+        public void write(BaseAsset asset, BigDecimal price) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", asset.getId());
+            json.writeStringField("symbol", asset.getSymbol());
+            json.writeStringField("name", asset.getName());
+            json.writeStringField("type", asset.getType().name());
+            number("quantity", asset.getQuantity());
+            number("buyPrice", asset.getBuyPrice());
+            if (asset.getPurchaseDate() != null) {
+                json.writeStringField("purchaseDate", asset.getPurchaseDate().toString());
+            } else {
+                json.writeNullField("purchaseDate");
+            }
+            number("costBasis", asset.getCostBasis());
+            if (includePrices) {
+                number("currentPrice", price);
+                number("currentValue", currentValue(asset, price));
+                number("gainLoss", gainLoss(asset, price));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+
+        private void number(String name, BigDecimal value) throws IOException {
+            if (value != null) {
+                json.writeNumberField(name, value);
+            } else {
+                json.writeNullField(name);
+            }
+        }
+    }
+}
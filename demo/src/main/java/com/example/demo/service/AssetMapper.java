@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Builds new asset entities of the right subtype from DTOs, and applies DTO
+ * values to existing ones. Symbols are upper-cased and symbol and name trimmed.
+ */
+final class AssetMapper {
+
+    private static final BigDecimal MIN_QUANTITY = new BigDecimal("0.0001");
+    private static final BigDecimal MIN_BUY_PRICE = new BigDecimal("0.01");
+
+    // Column definitions of quantity DECIMAL(19,4) and buy_price DECIMAL(19,2)
+    private static final int QUANTITY_SCALE = 4;
+    private static final int QUANTITY_INTEGER_DIGITS = 19 - QUANTITY_SCALE;
+    private static final int BUY_PRICE_SCALE = 2;
+    private static final int BUY_PRICE_INTEGER_DIGITS = 19 - BUY_PRICE_SCALE;
+
+    private AssetMapper() {
+    }
+
+    static BaseAsset toEntity(AssetDTO dto) {
+        BaseAsset asset = switch (dto.getType()) {
+            case STOCK -> new Stock();
+            case BOND -> new Bond();
+            case ETF -> new Etf();
+            case MUTUAL_FUND -> new MutualFund();
+            case CRYPTO -> new Crypto();
+            case REAL_ESTATE -> new RealEstate();
+            case CASH -> new Cash();
+        };
+        apply(dto, asset);
+        return asset;
+    }
+
+    /**
+     * Copy symbol, name, quantity, buy price and purchase date onto the asset; the type is left as is.
+     */
+    static void apply(AssetDTO dto, BaseAsset asset) {
+        asset.setSymbol(dto.getSymbol().toUpperCase().trim());
+        asset.setName(dto.getName().trim());
+        asset.setQuantity(dto.getQuantity());
+        asset.setBuyPrice(dto.getBuyPrice());
+        asset.setPurchaseDate(dto.getPurchaseDate());
+    }
+
+    /**
+     * Check the values {@link #apply} needs, the same rules as the AssetDTO constraints,
+     * and that quantity and buy price fit their columns without rounding.
+     *
+     * @return why the DTO is invalid, or null if it is valid
+     */
+    static String validate(AssetDTO dto) {
+        if (dto.getSymbol() == null || dto.getSymbol().isBlank()) {
+            return "Symbol is required";
+        }
+        if (dto.getSymbol().trim().length() > 20) {
+            return "Symbol must not exceed 20 characters";
+        }
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (dto.getName().trim().length() > 100) {
+            return "Name must not exceed 100 characters";
+        }
+        if (dto.getQuantity() == null || dto.getQuantity().compareTo(MIN_QUANTITY) < 0) {
+            return "Quantity must be greater than 0";
+        }
+        String quantityError = checkColumn(dto.getQuantity(), QUANTITY_INTEGER_DIGITS, QUANTITY_SCALE, "Quantity");
+        if (quantityError != null) {
+            return quantityError;
+        }
+        if (dto.getBuyPrice() == null || dto.getBuyPrice().compareTo(MIN_BUY_PRICE) < 0) {
+            return "Buy price must be greater than 0";
+        }
+        return checkColumn(dto.getBuyPrice(), BUY_PRICE_INTEGER_DIGITS, BUY_PRICE_SCALE, "Buy price");
+    }
+
+    private static String checkColumn(BigDecimal value, int integerDigits, int scale, String label) {
+        // Trailing zeros (1.500000) fit the column; significant digits past its scale do not
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() > scale) {
+            return label + " must have at most " + scale + " decimal places";
+        }
+        if (stripped.precision() - stripped.scale() > integerDigits) {
+            return label + " must have at most " + integerDigits + " integer digits";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssetText;
+import com.example.demo.util.NgramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory search index over asset symbols and names.
+ *
+ * Built from the database once the application is ready, then kept current
+ * from committed AssetChangedEvents. A periodic rebuild picks up rows changed
+ * outside this service. The rebuild reads and indexes without the lock;
+ * changes committed meanwhile are applied to the live index and replayed onto
+ * the new one before it replaces it. Until the first build completes,
+ * {@link #isReady()} is false and callers fall back to a database query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssetSearchIndex {
+
+    private final AssetRepository assetRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NgramIndex index = newIndex();
+    // Changes applied while a rebuild reads the database; null otherwise
+    private List<AssetChangedEvent> pending;
+    private volatile boolean ready;
+
+    /**
+     * Ranked ids of the assets matching every word of the query, best first.
+     */
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            return index.search(query).stream()
+                    .map(NgramIndex.Hit::key)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole index from the database.
+     */
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${search.index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NgramIndex rebuilt = newIndex();
+        int rows = 0;
+        try {
+            for (AssetText row : assetRepository.findAllText()) {
+                rebuilt.put(row.getId(), row.getSymbol(), row.getName());
+                rows++;
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(rebuilt, event));
+            index = rebuilt;
+        } finally {
+            pending = null;
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Indexed {} assets for search", rows);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(index, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(NgramIndex target, AssetChangedEvent event) {
+        if (event.change() == AssetChangedEvent.Change.DELETED) {
+            target.remove(event.assetId());
+        } else {
+            target.put(event.assetId(), event.symbol(), event.name());
+        }
+    }
+
+    private static NgramIndex newIndex() {
+        // Symbol ranks above name
+        return new NgramIndex(2);
+    }
+}
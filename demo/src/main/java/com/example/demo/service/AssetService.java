@@ -1,7 +1,14 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.AssetBatchRequest;
+import com.example.demo.dto.AssetBatchResult;
 import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.entity.AssetType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -15,6 +22,19 @@ public interface AssetService {
      */
     List<AssetDTO> getAllAssets();
 
+    /**
+     * Get one page of assets of every type, sorted as requested.
+     */
+    Page<AssetDTO> getAssets(Pageable pageable);
+
+    /**
+     * Get the filtered assets after the cursor in keyset order, with current prices.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit  page size, capped at {@link AssetServiceImpl#MAX_PAGE_SIZE}
+     */
+    CursorPage<AssetDTO> getAssets(AssetFilter filter, AssetKeyset.Sort sort, String cursor, int limit);
+
     /**
      * Get an asset by its ID.
      */
@@ -30,6 +50,11 @@ public interface AssetService {
      */
     List<AssetDTO> searchAssets(String query);
 
+    /**
+     * Search assets by symbol or name, best matches first, one page at a time.
+     */
+    Page<AssetDTO> searchAssets(String query, Pageable pageable);
+
     /**
      * Create a new asset.
      */
@@ -44,4 +69,12 @@ public interface AssetService {
      * Delete an asset by ID.
      */
     void deleteAsset(Long id);
+
+    /**
+     * Apply creates, updates and deletes in one transaction.
+     * If any item is invalid nothing is written and the failing items are returned.
+     *
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link AssetServiceImpl#MAX_BATCH_SIZE}
+     */
+    AssetBatchResult applyBatch(AssetBatchRequest request);
 }
\ No newline at end of file
@@ -1,30 +1,51 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.AssetBatchRequest;
+import com.example.demo.dto.AssetBatchResult;
 import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.entity.*;
+import com.example.demo.event.AssetChangedEvent;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.*;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Implementation of AssetService with support for multiple asset types.
  * Uses polymorphic queries across all asset repositories.
+ *
+ * Every method works in two phases: database work runs in a short transaction
+ * that returns entities, and price enrichment runs after it has committed.
+ * Price lookups can go to Finnhub over HTTP, so no connection is held while
+ * they run (with spring.jpa.open-in-view off, the connection goes back to the
+ * pool at commit). Entities have no lazy associations, so they are safe to
+ * read once detached.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class AssetServiceImpl implements AssetService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final AssetRepository assetRepository;
     private final StockRepository stockRepository;
     private final BondRepository bondRepository;
     private final EtfRepository etfRepository;
@@ -33,176 +54,332 @@ public class AssetServiceImpl implements AssetService {
     private final RealEstateRepository realEstateRepository;
     private final CashRepository cashRepository;
     private final StockPriceService stockPriceService;
+    private final AssetSearchIndex assetSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    // With the background refresher keeping held symbols warm, enrichment only reads the price cache
+    private final boolean cachedPricesOnly;
+
+    public AssetServiceImpl(AssetRepository assetRepository,
+                            StockRepository stockRepository,
+                            BondRepository bondRepository,
+                            EtfRepository etfRepository,
+                            MutualFundRepository mutualFundRepository,
+                            CryptoRepository cryptoRepository,
+                            RealEstateRepository realEstateRepository,
+                            CashRepository cashRepository,
+                            StockPriceService stockPriceService,
+                            AssetSearchIndex assetSearchIndex,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${finnhub.refresh.enabled:true}") boolean cachedPricesOnly) {
+        this.assetRepository = assetRepository;
+        this.stockRepository = stockRepository;
+        this.bondRepository = bondRepository;
+        this.etfRepository = etfRepository;
+        this.mutualFundRepository = mutualFundRepository;
+        this.cryptoRepository = cryptoRepository;
+        this.realEstateRepository = realEstateRepository;
+        this.cashRepository = cashRepository;
+        this.stockPriceService = stockPriceService;
+        this.assetSearchIndex = assetSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.cachedPricesOnly = cachedPricesOnly;
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public List<AssetDTO> getAllAssets() {
-        List<BaseAsset> allAssets = new ArrayList<>();
-
-        allAssets.addAll(stockRepository.findAll());
-        allAssets.addAll(bondRepository.findAll());
-        allAssets.addAll(etfRepository.findAll());
-        allAssets.addAll(mutualFundRepository.findAll());
-        allAssets.addAll(cryptoRepository.findAll());
-        allAssets.addAll(realEstateRepository.findAll());
-        allAssets.addAll(cashRepository.findAll());
-
-        return allAssets.stream()
-                .map(this::enrichAssetDTO)
-                .collect(Collectors.toList());
+        // One polymorphic query across every asset type
+        return enrichAssetDTOs(readTransaction.execute(status -> assetRepository.findAll(Sort.by("id"))));
+    }
+
+    @Override
+    public Page<AssetDTO> getAssets(Pageable pageable) {
+        Page<BaseAsset> page = readTransaction.execute(status -> assetRepository.findAll(pageable));
+        // Only the rows on this page are priced
+        List<AssetDTO> dtos = enrichAssetDTOs(page.getContent());
+        return new PageImpl<>(dtos, pageable, page.getTotalElements());
+    }
+
+    @Override
+    public CursorPage<AssetDTO> getAssets(AssetFilter filter, AssetKeyset.Sort sort, String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        AssetKeyset after = AssetKeyset.decode(cursor, sort);
+
+        // One extra row tells whether another page follows
+        List<BaseAsset> rows = readTransaction.execute(status -> assetRepository.findPage(filter, sort, after, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<BaseAsset> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPage.<AssetDTO>builder()
+                .items(enrichAssetDTOs(page))
+                .nextCursor(hasMore ? AssetKeyset.of(sort, page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AssetDTO getAssetById(Long id) {
-        BaseAsset asset = findAssetById(id);
+        BaseAsset asset = readTransaction.execute(status -> findAssetById(id));
         return enrichAssetDTO(asset);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<AssetDTO> getAssetsByType(AssetType type) {
-        List<? extends BaseAsset> assets = switch (type) {
-            case STOCK -> stockRepository.findAll();
-            case BOND -> bondRepository.findAll();
-            case ETF -> etfRepository.findAll();
-            case MUTUAL_FUND -> mutualFundRepository.findAll();
-            case CRYPTO -> cryptoRepository.findAll();
-            case REAL_ESTATE -> realEstateRepository.findAll();
-            case CASH -> cashRepository.findAll();
-        };
-
-        return assets.stream()
-                .map(this::enrichAssetDTO)
-                .collect(Collectors.toList());
+        List<? extends BaseAsset> assets = readTransaction.execute(status -> repositoryFor(type).findAll());
+        return enrichAssetDTOs(assets);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<AssetDTO> searchAssets(String query) {
         if (query == null || query.isBlank()) {
             return getAllAssets();
         }
 
-        Set<BaseAsset> combined = new LinkedHashSet<>();
-
-        // Search across all repositories
-        combined.addAll(stockRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(stockRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(bondRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(bondRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(etfRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(etfRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(mutualFundRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(mutualFundRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(cryptoRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(cryptoRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(realEstateRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(realEstateRepository.findByNameContainingIgnoreCase(query));
-        combined.addAll(cashRepository.findBySymbolContainingIgnoreCase(query));
-        combined.addAll(cashRepository.findByNameContainingIgnoreCase(query));
-
-        return combined.stream()
-                .map(this::enrichAssetDTO)
-                .collect(Collectors.toList());
+        if (!assetSearchIndex.isReady()) {
+            // Index still building: one LIKE query across all asset types
+            return enrichAssetDTOs(readTransaction.execute(status -> assetRepository
+                    .findBySymbolContainingIgnoreCaseOrNameContainingIgnoreCase(query.trim(), query.trim())));
+        }
+        List<Long> ids = assetSearchIndex.search(query);
+        return enrichAssetDTOs(readTransaction.execute(status -> loadInOrder(ids)));
     }
 
     @Override
-    public AssetDTO createAsset(AssetDTO assetDTO) {
-        BaseAsset saved = switch (assetDTO.getType()) {
-            case STOCK -> stockRepository.save(Stock.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case BOND -> bondRepository.save(Bond.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case ETF -> etfRepository.save(Etf.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case MUTUAL_FUND -> mutualFundRepository.save(MutualFund.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case CRYPTO -> cryptoRepository.save(Crypto.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case REAL_ESTATE -> realEstateRepository.save(RealEstate.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-            case CASH -> cashRepository.save(Cash.builder()
-                    .symbol(assetDTO.getSymbol().toUpperCase().trim())
-                    .name(assetDTO.getName().trim())
-                    .quantity(assetDTO.getQuantity())
-                    .buyPrice(assetDTO.getBuyPrice())
-                    .purchaseDate(assetDTO.getPurchaseDate())
-                    .build());
-        };
+    public Page<AssetDTO> searchAssets(String query, Pageable pageable) {
+        if (query == null || query.isBlank() || !assetSearchIndex.isReady()) {
+            List<AssetDTO> all = searchAssets(query);
+            int from = (int) Math.min(pageable.getOffset(), all.size());
+            int to = Math.min(from + pageable.getPageSize(), all.size());
+            return new PageImpl<>(all.subList(from, to), pageable, all.size());
+        }
 
+        // Rank in memory, then load and price only the requested page
+        List<Long> ids = assetSearchIndex.search(query);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<BaseAsset> page = readTransaction.execute(status -> loadInOrder(ids.subList(from, to)));
+        return new PageImpl<>(enrichAssetDTOs(page), pageable, ids.size());
+    }
+
+    @Override
+    public AssetDTO createAsset(AssetDTO assetDTO) {
+        BaseAsset saved = writeTransaction.execute(status -> {
+            BaseAsset asset = saveAsset(AssetMapper.toEntity(assetDTO));
+            publishChange(AssetChangedEvent.Change.CREATED, asset);
+            return asset;
+        });
         log.info("Created new {} asset: {} ({})", saved.getType(), saved.getName(), saved.getSymbol());
         return enrichAssetDTO(saved);
     }
 
     @Override
     public AssetDTO updateAsset(Long id, AssetDTO assetDTO) {
-        BaseAsset existing = findAssetById(id);
-
-        existing.setSymbol(assetDTO.getSymbol().toUpperCase().trim());
-        existing.setName(assetDTO.getName().trim());
-        existing.setQuantity(assetDTO.getQuantity());
-        existing.setBuyPrice(assetDTO.getBuyPrice());
-        existing.setPurchaseDate(assetDTO.getPurchaseDate());
-
-        BaseAsset updated = saveAsset(existing);
+        BaseAsset updated = writeTransaction.execute(status -> {
+            BaseAsset existing = findAssetById(id);
+            AssetMapper.apply(assetDTO, existing);
+            BaseAsset asset = saveAsset(existing);
+            publishChange(AssetChangedEvent.Change.UPDATED, asset);
+            return asset;
+        });
         log.info("Updated {} asset: {} (ID: {})", updated.getType(), updated.getName(), updated.getId());
         return enrichAssetDTO(updated);
     }
 
     @Override
     public void deleteAsset(Long id) {
-        BaseAsset asset = findAssetById(id);
-        deleteAssetEntity(asset);
+        BaseAsset asset = writeTransaction.execute(status -> {
+            BaseAsset existing = findAssetById(id);
+            deleteAssetEntity(existing);
+            publishChange(AssetChangedEvent.Change.DELETED, existing);
+            return existing;
+        });
         log.info("Deleted {} asset: {} (ID: {})", asset.getType(), asset.getName(), id);
     }
 
+    @Override
+    public AssetBatchResult applyBatch(AssetBatchRequest request) {
+        List<AssetDTO> creates = request.getCreate() != null ? request.getCreate() : List.of();
+        List<AssetDTO> updates = request.getUpdate() != null ? request.getUpdate() : List.of();
+        List<Long> deletes = request.getDelete() != null ? request.getDelete() : List.of();
+        int size = creates.size() + updates.size() + deletes.size();
+        if (size == 0 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must have between 1 and " + MAX_BATCH_SIZE + " operations, got " + size);
+        }
+
+        BatchWrite batch = writeTransaction.execute(status -> writeBatch(creates, updates, deletes));
+        if (!batch.failures().isEmpty()) {
+            return AssetBatchResult.builder().applied(false).items(batch.failures()).build();
+        }
+        log.info("Applied asset batch: {} created, {} updated, {} deleted",
+                batch.created().size(), batch.updated().size(), deletes.size());
+
+        // One price lookup for everything returned
+        List<BaseAsset> priced = new ArrayList<>(batch.created());
+        priced.addAll(batch.updated());
+        List<AssetDTO> dtos = enrichAssetDTOs(priced);
+
+        List<AssetBatchResult.Item> items = new ArrayList<>(size);
+        for (int i = 0; i < dtos.size(); i++) {
+            boolean isCreate = i < batch.created().size();
+            items.add(AssetBatchResult.Item.builder()
+                    .operation(isCreate ? AssetBatchResult.Operation.CREATE : AssetBatchResult.Operation.UPDATE)
+                    .index(isCreate ? i : i - batch.created().size())
+                    .id(dtos.get(i).getId())
+                    .success(true)
+                    .asset(dtos.get(i))
+                    .build());
+        }
+        for (int i = 0; i < deletes.size(); i++) {
+            items.add(AssetBatchResult.Item.builder()
+                    .operation(AssetBatchResult.Operation.DELETE).index(i).id(deletes.get(i)).success(true).build());
+        }
+        return AssetBatchResult.builder()
+                .applied(true)
+                .created(batch.created().size())
+                .updated(batch.updated().size())
+                .deleted(deletes.size())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Entities written by a batch, or the invalid items if nothing was written.
+     */
+    private record BatchWrite(List<AssetBatchResult.Item> failures, List<BaseAsset> created, List<BaseAsset> updated) {
+    }
+
     /**
-     * Find asset by ID across all repositories.
+     * Database phase of a batch: validate every item, then write them all, or none.
+     */
+    private BatchWrite writeBatch(List<AssetDTO> creates, List<AssetDTO> updates, List<Long> deletes) {
+        // Every asset updated or deleted, loaded in one polymorphic query
+        Set<Long> ids = new HashSet<>(deletes);
+        updates.forEach(dto -> ids.add(dto.getId()));
+        ids.remove(null);
+        Map<Long, BaseAsset> existing = assetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BaseAsset::getId, a -> a));
+
+        // Validate everything before writing anything
+        List<AssetBatchResult.Item> failures = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < creates.size(); i++) {
+            AssetDTO dto = creates.get(i);
+            String error = dto.getType() == null ? "Asset type is required" : AssetMapper.validate(dto);
+            addFailure(failures, AssetBatchResult.Operation.CREATE, i, null, error);
+        }
+        for (int i = 0; i < updates.size(); i++) {
+            AssetDTO dto = updates.get(i);
+            String error = checkTarget(dto.getId(), existing, seen);
+            if (error == null && dto.getType() != null && dto.getType() != existing.get(dto.getId()).getType()) {
+                error = "Asset type cannot change from " + existing.get(dto.getId()).getType() + " to " + dto.getType();
+            }
+            addFailure(failures, AssetBatchResult.Operation.UPDATE, i, dto.getId(),
+                    error != null ? error : AssetMapper.validate(dto));
+        }
+        for (int i = 0; i < deletes.size(); i++) {
+            addFailure(failures, AssetBatchResult.Operation.DELETE, i, deletes.get(i),
+                    checkTarget(deletes.get(i), existing, seen));
+        }
+        if (!failures.isEmpty()) {
+            return new BatchWrite(failures, List.of(), List.of());
+        }
+
+        List<BaseAsset> created = creates.stream().map(AssetMapper::toEntity).collect(Collectors.toList());
+        List<BaseAsset> updated = new ArrayList<>(updates.size());
+        for (AssetDTO dto : updates) {
+            BaseAsset asset = existing.get(dto.getId());
+            AssetMapper.apply(dto, asset);
+            updated.add(asset);
+        }
+        List<BaseAsset> deleted = deletes.stream().map(existing::get).collect(Collectors.toList());
+
+        // Statements are queued and sent as JDBC batches on flush
+        assetRepository.saveAll(created);
+        assetRepository.deleteAll(deleted);
+        assetRepository.flush();
+
+        created.forEach(a -> publishChange(AssetChangedEvent.Change.CREATED, a));
+        updated.forEach(a -> publishChange(AssetChangedEvent.Change.UPDATED, a));
+        deleted.forEach(a -> publishChange(AssetChangedEvent.Change.DELETED, a));
+        return new BatchWrite(List.of(), created, updated);
+    }
+
+    /**
+     * Why an update or delete cannot target the id, or null if it can.
+     * An asset may be the target of only one operation per batch.
+     */
+    private String checkTarget(Long id, Map<Long, BaseAsset> existing, Set<Long> seen) {
+        if (id == null) {
+            return "Id is required";
+        }
+        if (!seen.add(id)) {
+            return "Asset " + id + " appears in more than one operation";
+        }
+        if (!existing.containsKey(id)) {
+            return "Asset not found with id: '" + id + "'";
+        }
+        return null;
+    }
+
+    private void addFailure(List<AssetBatchResult.Item> failures, AssetBatchResult.Operation operation,
+                            int index, Long id, String error) {
+        if (error != null) {
+            failures.add(AssetBatchResult.Item.builder()
+                    .operation(operation).index(index).id(id).success(false).error(error).build());
+        }
+    }
+
+    /**
+     * Find asset by ID: read its type from the base table, then load it from that
+     * subtype's repository. Two primary-key queries whatever the number of asset types.
      */
     private BaseAsset findAssetById(Long id) {
-        return Stream.<Optional<? extends BaseAsset>>of(
-                        stockRepository.findById(id),
-                        bondRepository.findById(id),
-                        etfRepository.findById(id),
-                        mutualFundRepository.findById(id),
-                        cryptoRepository.findById(id),
-                        realEstateRepository.findById(id),
-                        cashRepository.findById(id))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .findFirst()
+        AssetType type = assetRepository.findAssetTypeById(id)
+                .map(AssetType::valueOf)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset", "id", id));
+        return repositoryFor(type).findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset", "id", id));
+    }
+
+    /**
+     * Load assets by id in one query, keeping the order of the ids.
+     * Ids whose rows no longer exist are skipped.
+     */
+    private List<BaseAsset> loadInOrder(List<Long> ids) {
+        Map<Long, BaseAsset> byId = assetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BaseAsset::getId, a -> a));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tell read models (search index, portfolio aggregate) about a change; they apply it after commit.
+     */
+    private void publishChange(AssetChangedEvent.Change change, BaseAsset asset) {
+        eventPublisher.publishEvent(AssetChangedEvent.of(change, asset));
+    }
+
+    /**
+     * Repository holding assets of the given type.
+     */
+    private BaseAssetRepository<? extends BaseAsset> repositoryFor(AssetType type) {
+        return switch (type) {
+            case STOCK -> stockRepository;
+            case BOND -> bondRepository;
+            case ETF -> etfRepository;
+            case MUTUAL_FUND -> mutualFundRepository;
+            case CRYPTO -> cryptoRepository;
+            case REAL_ESTATE -> realEstateRepository;
+            case CASH -> cashRepository;
+        };
     }
 
     /**
@@ -254,6 +431,40 @@ public class AssetServiceImpl implements AssetService {
      * Convert BaseAsset entity to DTO and enrich with current price data.
      */
     private AssetDTO enrichAssetDTO(BaseAsset asset) {
+        BigDecimal currentPrice = null;
+        if (isTradeableAsset(asset.getType())) {
+            currentPrice = cachedPricesOnly
+                    ? stockPriceService.getCachedPrice(asset.getSymbol())
+                    : stockPriceService.getCurrentPrice(asset.getSymbol());
+        }
+        return toAssetDTO(asset, currentPrice);
+    }
+
+    /**
+     * Convert a list of entities to enriched DTOs with a single batch price lookup.
+     */
+    private List<AssetDTO> enrichAssetDTOs(Collection<? extends BaseAsset> assets) {
+        List<String> symbols = assets.stream()
+                .filter(a -> isTradeableAsset(a.getType()))
+                .map(a -> StockPriceService.normalizeSymbol(a.getSymbol()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, BigDecimal> prices = symbols.isEmpty() ? Map.of()
+                : cachedPricesOnly
+                ? stockPriceService.getCachedPrices(symbols)
+                : stockPriceService.getCurrentPrices(symbols.toArray(String[]::new));
+
+        return assets.stream()
+                .map(a -> toAssetDTO(a, isTradeableAsset(a.getType())
+                        ? prices.get(StockPriceService.normalizeSymbol(a.getSymbol())) : null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convert BaseAsset entity to DTO using an already resolved current price.
+     * A null price falls back to default (cost) pricing.
+     */
+    private AssetDTO toAssetDTO(BaseAsset asset, BigDecimal currentPrice) {
         AssetDTO dto = AssetDTO.builder()
                 .id(asset.getId())
                 .symbol(asset.getSymbol())
@@ -267,9 +478,8 @@ public class AssetServiceImpl implements AssetService {
                 .costBasis(asset.getCostBasis())
                 .build();
 
-        // For STOCK, ETF, CRYPTO, and MUTUAL_FUND, try to get current price
+        // For STOCK, ETF, CRYPTO, and MUTUAL_FUND, use the current price when we have one
         if (isTradeableAsset(asset.getType())) {
-            BigDecimal currentPrice = stockPriceService.getCurrentPrice(asset.getSymbol());
             if (currentPrice != null) {
                 dto.setCurrentPrice(currentPrice);
                 dto.setCurrentValue(asset.getQuantity().multiply(currentPrice));
@@ -308,9 +518,6 @@ public class AssetServiceImpl implements AssetService {
      * Check if asset type supports live price fetching.
      */
     private boolean isTradeableAsset(AssetType type) {
-        return type == AssetType.STOCK ||
-                type == AssetType.ETF ||
-                type == AssetType.CRYPTO ||
-                type == AssetType.MUTUAL_FUND;
+        return type.isTradeable();
     }
 }
\ No newline at end of file
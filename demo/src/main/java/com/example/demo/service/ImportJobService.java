@@ -0,0 +1,303 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.ImportJobDTO;
+import com.example.demo.entity.ImportJob;
+import com.example.demo.entity.ImportJobStatus;
+import com.example.demo.entity.ImportRejection;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.ImportJobRepository;
+import com.example.demo.repository.ImportRejectionRepository;
+import com.example.demo.util.CsvTokenizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background CSV asset imports.
+ *
+ * An upload is saved to disk and recorded as a QUEUED job; a worker then reads
+ * it in chunks of {@code assets.import.chunk-size} rows. Each chunk's assets,
+ * rejected rows and the job's progress commit in one transaction, so a job
+ * interrupted by a crash or restart resumes after its last committed chunk.
+ * Unfinished jobs are resumed on startup; failed ones can be resumed on request.
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+
+    private static final int REPORTED_REJECTIONS = 100;
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportRejectionRepository importRejectionRepository;
+    private final AssetBulkImporter assetBulkImporter;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor importJobExecutor;
+    private final Path importDir;
+    private final int chunkSize;
+    private final int maxStoredRejections;
+
+    // Jobs a worker in this process is running, so one job never runs twice at once
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ImportRejectionRepository importRejectionRepository,
+                            AssetBulkImporter assetBulkImporter,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("importJobExecutor") TaskExecutor importJobExecutor,
+                            @Value("${assets.import.dir:${java.io.tmpdir}/portfolio-imports}") String importDir,
+                            @Value("${assets.import.chunk-size:1000}") int chunkSize,
+                            @Value("${assets.import.max-stored-rejections:1000}") int maxStoredRejections) {
+        this.importJobRepository = importJobRepository;
+        this.importRejectionRepository = importRejectionRepository;
+        this.assetBulkImporter = assetBulkImporter;
+        this.transactionTemplate = transactionTemplate;
+        this.importJobExecutor = importJobExecutor;
+        this.importDir = Path.of(importDir);
+        this.chunkSize = chunkSize;
+        this.maxStoredRejections = maxStoredRejections;
+    }
+
+    /**
+     * Store the upload and queue an import job for it.
+     *
+     * @throws IllegalArgumentException if the file is empty or not a CSV
+     */
+    public ImportJobDTO submit(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Empty file");
+        }
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "";
+        String lower = filename.toLowerCase();
+        if (!lower.endsWith(".csv") && !lower.endsWith(".txt")) {
+            throw new IllegalArgumentException("Unsupported file type. Use CSV (or .txt)");
+        }
+
+        Files.createDirectories(importDir);
+        Path path = importDir.resolve(UUID.randomUUID() + ".csv");
+        file.transferTo(path);
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .filename(filename)
+                .filePath(path.toAbsolutePath().toString())
+                .status(ImportJobStatus.QUEUED)
+                .build());
+        log.info("Queued import job {} for {}", job.getId(), filename);
+        dispatch(job.getId());
+        return toDTO(job, Collections.emptyList());
+    }
+
+    public ImportJobDTO getJob(Long id) {
+        ImportJob job = findJob(id);
+        List<ImportRejection> rejections = importRejectionRepository
+                .findByJobIdOrderByLineNumber(id, PageRequest.of(0, REPORTED_REJECTIONS));
+        return toDTO(job, rejections);
+    }
+
+    /**
+     * Re-queue a failed job; it continues after its last committed chunk.
+     *
+     * @throws IllegalArgumentException if the job has not failed
+     */
+    public ImportJobDTO resume(Long id) {
+        ImportJob job = findJob(id);
+        if (job.getStatus() != ImportJobStatus.FAILED) {
+            throw new IllegalArgumentException("Only failed import jobs can be resumed; job " + id + " is " + job.getStatus());
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        job = importJobRepository.save(job);
+        dispatch(id);
+        return toDTO(job, Collections.emptyList());
+    }
+
+    /**
+     * Pick up jobs left queued or running by a previous run of the application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : importJobRepository.findByStatusInOrderById(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            log.info("Resuming import job {} after row {}", job.getId(), job.getCommittedRows());
+            dispatch(job.getId());
+        }
+    }
+
+    private void dispatch(Long jobId) {
+        importJobExecutor.execute(() -> run(jobId));
+    }
+
+    /**
+     * Run (or continue) a job to completion on the calling thread.
+     */
+    void run(Long jobId) {
+        if (!running.add(jobId)) {
+            return;
+        }
+        try {
+            ImportJob job = importJobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() == ImportJobStatus.COMPLETED) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+            }
+            job.setRunStartedAt(now);
+            job.setRunStartRows(job.getCommittedRows());
+            job.setStatus(ImportJobStatus.RUNNING);
+            job = importJobRepository.save(job);
+
+            try {
+                process(job);
+            } catch (Exception e) {
+                log.warn("Import job {} failed: {}", jobId, e.getMessage());
+                finish(jobId, ImportJobStatus.FAILED, truncate(String.valueOf(e.getMessage()), 1000));
+                return;
+            }
+            ImportJob finished = finish(jobId, ImportJobStatus.COMPLETED, null);
+            log.info("Import job {} completed: {} imported, {} rejected",
+                    jobId, finished.getRowsImported(), finished.getRowsRejected());
+            deleteQuietly(Path.of(job.getFilePath()));
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    /**
+     * Read the file after the committed rows and commit it chunk by chunk.
+     */
+    private void process(ImportJob job) throws IOException {
+        Long jobId = job.getId();
+        long storedRejections = Math.min(job.getRowsRejected(), maxStoredRejections);
+
+        try (CsvTokenizer csv = new CsvTokenizer(Files.newInputStream(Path.of(job.getFilePath())))) {
+            if (!csv.next()) {
+                throw new IllegalArgumentException("CSV has no header");
+            }
+            long row = 0;
+            while (row < job.getCommittedRows() && csv.next()) {
+                row++;
+            }
+
+            List<AssetDTO> valid = new ArrayList<>(chunkSize);
+            List<ImportRejection> rejected = new ArrayList<>();
+            int rowsInChunk = 0;
+            while (csv.next()) {
+                row++;
+                rowsInChunk++;
+                if (!csv.isBlankRecord()) {
+                    try {
+                        valid.add(AssetCsvParser.parse(csv));
+                    } catch (IllegalArgumentException e) {
+                        rejected.add(ImportRejection.builder()
+                                .jobId(jobId)
+                                .lineNumber(csv.recordNumber())
+                                .reason(truncate(e.getMessage(), MAX_REASON_LENGTH))
+                                .build());
+                    }
+                }
+                if (rowsInChunk == chunkSize) {
+                    storedRejections += commitChunk(jobId, row, valid, rejected, storedRejections);
+                    valid.clear();
+                    rejected.clear();
+                    rowsInChunk = 0;
+                }
+            }
+            if (rowsInChunk > 0) {
+                commitChunk(jobId, row, valid, rejected, storedRejections);
+            }
+        }
+    }
+
+    /**
+     * Insert the chunk's assets, store its rejections (up to the cap) and advance the job, atomically.
+     *
+     * @return number of rejections stored
+     */
+    private int commitChunk(Long jobId, long committedRows, List<AssetDTO> valid,
+                            List<ImportRejection> rejected, long storedRejections) {
+        int toStore = (int) Math.max(0, Math.min(rejected.size(), maxStoredRejections - storedRejections));
+        transactionTemplate.executeWithoutResult(status -> {
+            int imported = valid.isEmpty() ? 0 : assetBulkImporter.persist(valid);
+            if (toStore > 0) {
+                importRejectionRepository.saveAll(rejected.subList(0, toStore));
+            }
+            importJobRepository.recordChunk(jobId, committedRows, imported, rejected.size());
+        });
+        return toStore;
+    }
+
+    private ImportJob finish(Long jobId, ImportJobStatus status, String errorMessage) {
+        ImportJob job = findJob(jobId);
+        job.setStatus(status);
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(LocalDateTime.now());
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob findJob(Long id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ImportJob", "id", id));
+    }
+
+    private ImportJobDTO toDTO(ImportJob job, List<ImportRejection> rejections) {
+        return ImportJobDTO.builder()
+                .id(job.getId())
+                .filename(job.getFilename())
+                .status(job.getStatus())
+                .rowsProcessed(job.getCommittedRows())
+                .rowsImported(job.getRowsImported())
+                .rowsRejected(job.getRowsRejected())
+                .rowsPerSecond(rowsPerSecond(job))
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .rejections(rejections.stream()
+                        .map(r -> new ImportJobDTO.Rejection(r.getLineNumber(), r.getReason()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Throughput of the current (or last) run, so time a job spent failed or waiting to resume doesn't count.
+     */
+    private static double rowsPerSecond(ImportJob job) {
+        if (job.getRunStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long millis = Duration.between(job.getRunStartedAt(), end).toMillis();
+        return millis > 0 ? (job.getCommittedRows() - job.getRunStartRows()) * 1000.0 / millis : 0;
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete import file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.StockNews;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Cache for market news (per category) and company news (per symbol and day).
+ *
+ * Company news is stored one UTC day per entry, so a request for a date window
+ * only fetches the runs of days that are not cached yet and merges them with the
+ * cached days. Days with no articles are cached too. Today's entry expires
+ * quickly because new articles keep arriving; past days are kept much longer.
+ * Articles are deduplicated by id. Both caches are bounded by article count.
+ * Company news requests are clamped to the last year up to today, the history
+ * the provider serves, which also bounds the per-day lookups.
+ */
+@Component
+@Slf4j
+public class NewsCache {
+
+    /**
+     * Fetches company news for a date range (inclusive).
+     * Returns null when the fetch was skipped or failed, so nothing is cached.
+     */
+    @FunctionalInterface
+    public interface RangeFetcher {
+        List<StockNews> fetch(String symbol, LocalDate from, LocalDate to);
+    }
+
+    // Longest window of company news looked up; older days are dropped from a request
+    private static final Period MAX_RANGE = Period.ofYears(1);
+
+    private final Cache<String, List<StockNews>> marketNews;
+    private final Cache<DayKey, List<StockNews>> companyNews;
+    private final Clock clock;
+
+    @Autowired
+    public NewsCache(@Value("${finnhub.news.max-articles:50000}") long maxArticles,
+                     @Value("${finnhub.news.market-ttl-ms:300000}") long marketTtlMs,
+                     @Value("${finnhub.news.today-ttl-ms:600000}") long todayTtlMs,
+                     @Value("${finnhub.news.past-ttl-ms:86400000}") long pastTtlMs) {
+        this(maxArticles, marketTtlMs, todayTtlMs, pastTtlMs, Clock.systemUTC());
+    }
+
+    NewsCache(long maxArticles, long marketTtlMs, long todayTtlMs, long pastTtlMs, Clock clock) {
+        this.clock = clock;
+        this.marketNews = Caffeine.newBuilder()
+                .maximumWeight(maxArticles)
+                .weigher((String category, List<StockNews> articles) -> articles.size() + 1)
+                .expireAfterWrite(Duration.ofMillis(marketTtlMs))
+                .build();
+        this.companyNews = Caffeine.newBuilder()
+                .maximumWeight(maxArticles)
+                .weigher((DayKey key, List<StockNews> articles) -> articles.size() + 1)
+                .expireAfter(new DayExpiry(todayTtlMs, pastTtlMs))
+                .build();
+    }
+
+    /**
+     * Cached market news for the category, loading it on a miss.
+     */
+    public List<StockNews> getMarketNews(String category, Supplier<List<StockNews>> loader) {
+        List<StockNews> cached = marketNews.getIfPresent(category);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<StockNews> fetched = loader.get();
+        if (fetched == null) {
+            return Collections.emptyList();
+        }
+        List<StockNews> articles = List.copyOf(dedupe(fetched));
+        marketNews.put(category, articles);
+        return articles;
+    }
+
+    /**
+     * Company news between two dates (inclusive), newest first.
+     * Only the uncached days are fetched, one call per contiguous run of missing days.
+     * If a fetch is skipped the cached days are still returned.
+     * The window is clamped to at most one year, ending no later than today.
+     */
+    public List<StockNews> getCompanyNews(String symbol, LocalDate from, LocalDate to, RangeFetcher fetcher) {
+        LocalDate today = LocalDate.now(clock);
+        if (to.isAfter(today)) {
+            to = today;
+        }
+        LocalDate earliest = to.minus(MAX_RANGE).plusDays(1);
+        if (from.isBefore(earliest)) {
+            log.debug("Company news window for {} clamped from {} to {}", symbol, from, earliest);
+            from = earliest;
+        }
+        if (from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+
+        Map<LocalDate, List<StockNews>> days = new TreeMap<>();
+        LocalDate missingFrom = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            List<StockNews> cached = companyNews.getIfPresent(new DayKey(symbol, day));
+            if (cached != null) {
+                days.put(day, cached);
+                if (missingFrom != null) {
+                    fetchRange(symbol, missingFrom, day.minusDays(1), fetcher, days);
+                    missingFrom = null;
+                }
+            } else if (missingFrom == null) {
+                missingFrom = day;
+            }
+        }
+        if (missingFrom != null) {
+            fetchRange(symbol, missingFrom, to, fetcher, days);
+        }
+
+        List<StockNews> merged = dedupe(days.values().stream().flatMap(List::stream).toList());
+        merged.sort(Comparator.comparing(StockNews::getDatetime, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(StockNews::getId, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+
+    public long size() {
+        return marketNews.estimatedSize() + companyNews.estimatedSize();
+    }
+
+    /**
+     * Fetch one run of missing days and cache every day of it, including empty ones.
+     */
+    private void fetchRange(String symbol, LocalDate from, LocalDate to, RangeFetcher fetcher,
+                            Map<LocalDate, List<StockNews>> days) {
+        List<StockNews> fetched = fetcher.fetch(symbol, from, to);
+        if (fetched == null) {
+            return;
+        }
+        log.debug("Fetched {} articles for {} from {} to {}", fetched.size(), symbol, from, to);
+
+        Map<LocalDate, List<StockNews>> byDay = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            byDay.put(day, new ArrayList<>());
+        }
+        for (StockNews article : dedupe(fetched)) {
+            byDay.get(dayOf(article, from, to)).add(article);
+        }
+        byDay.forEach((day, articles) -> {
+            List<StockNews> immutable = List.copyOf(articles);
+            companyNews.put(new DayKey(symbol, day), immutable);
+            days.put(day, immutable);
+        });
+    }
+
+    /**
+     * UTC day of the article, clamped to the fetched range so timezone
+     * edge cases still land in a day that was requested.
+     */
+    private LocalDate dayOf(StockNews article, LocalDate from, LocalDate to) {
+        if (article.getDatetime() == null) {
+            return to;
+        }
+        LocalDate day = LocalDate.ofInstant(Instant.ofEpochSecond(article.getDatetime()), ZoneOffset.UTC);
+        if (day.isBefore(from)) {
+            return from;
+        }
+        return day.isAfter(to) ? to : day;
+    }
+
+    /**
+     * Drop repeated articles, keeping the first occurrence. Articles without an id are keyed by URL.
+     */
+    private List<StockNews> dedupe(List<StockNews> articles) {
+        Map<Object, StockNews> unique = new LinkedHashMap<>();
+        for (StockNews article : articles) {
+            Object key = article.getId() != null ? article.getId() : article.getUrl();
+            if (key == null) {
+                key = article;
+            }
+            unique.putIfAbsent(key, article);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private record DayKey(String symbol, LocalDate day) {
+    }
+
+    /**
+     * Today (and later) expires after the short TTL, earlier days after the long one.
+     */
+    private class DayExpiry implements Expiry<DayKey, List<StockNews>> {
+
+        private final long todayTtlNanos;
+        private final long pastTtlNanos;
+
+        DayExpiry(long todayTtlMs, long pastTtlMs) {
+            this.todayTtlNanos = Duration.ofMillis(todayTtlMs).toNanos();
+            this.pastTtlNanos = Duration.ofMillis(pastTtlMs).toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(DayKey key, List<StockNews> value, long currentTime) {
+            return key.day().isBefore(LocalDate.now(clock)) ? pastTtlNanos : todayTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(DayKey key, List<StockNews> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(DayKey key, List<StockNews> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.event.PriceUpdatedEvent;
+import com.example.demo.repository.AssetHolding;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.util.FixedPoint;
+import com.example.demo.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized portfolio totals, kept current from committed AssetChangedEvents.
+ *
+ * Holds one valued entry per asset plus a running count, cost basis and value
+ * per asset type, so a create, update or delete adjusts the totals in O(1) and
+ * the summary is served without touching the database. Tradeable assets are
+ * valued at the cached price when their change is applied, falling back to
+ * cost like AssetService does.
+ *
+ * Price moves are applied the same way: a reverse index from symbol to the
+ * tradeable assets holding it lets each PriceUpdatedEvent revalue just those
+ * assets and shift their type's value by the difference, so the cost of
+ * keeping valuations live grows with the number of price changes rather than
+ * with the size of the portfolio.
+ *
+ * Loaded once the application is ready. A periodic reconciliation reloads all
+ * assets from the database, logs any drift from the in-memory state (a missed
+ * event, a row changed outside the service) and swaps in the reloaded state,
+ * which also revalues every asset at current cached prices. Changes committed
+ * while the reload reads the database are replayed onto it. Until the first
+ * load completes, {@link #isReady()} is false.
+ *
+ * Quantities, prices and every derived amount are held as FixedPoint longs
+ * (converted from and to BigDecimal only on the way in and out), so a price
+ * tick revalues assets and adjusts totals without BigDecimal arithmetic, with
+ * the same results. If a number does not fit in a long, the aggregate stops
+ * being ready until a reconciliation loads without overflow, and the summary
+ * is computed with BigDecimal from every asset in the meantime.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioAggregate {
+
+    private static final FixedPoint ZERO = new FixedPoint(0, 0);
+
+    private final AssetRepository assetRepository;
+    private final StockPriceService stockPriceService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Asset and price changes applied while a reconciliation reads the database; null otherwise
+    private List<Consumer<State>> pending;
+    private volatile boolean ready;
+
+    /**
+     * Count, cost basis and value of the assets of one type.
+     */
+    public record TypeTotals(long count, BigDecimal costBasis, BigDecimal value) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Totals of each asset type held; types without assets are absent.
+     */
+    public Map<AssetType, TypeTotals> totalsByType() {
+        lock.readLock().lock();
+        try {
+            Map<AssetType, TypeTotals> totals = new EnumMap<>(AssetType.class);
+            state.byType.forEach((type, t) ->
+                    totals.put(type, new TypeTotals(t.count, t.costBasis.toBigDecimal(), t.value.toBigDecimal())));
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Assets with the largest gain (or loss) percentage, best (or worst) first.
+     * Assets without a gain (or loss) are left out.
+     */
+    public List<AssetDTO> topPerformers(int limit, boolean gainers) {
+        Comparator<Holding> byPercentage = Comparator.comparing(Holding::gainLossPercentage);
+        TopK<Holding> top = new TopK<>(limit, gainers ? byPercentage.reversed() : byPercentage);
+        int sign = gainers ? 1 : -1;
+        lock.readLock().lock();
+        try {
+            for (Holding holding : state.holdings.values()) {
+                if (holding.gainLossPercentage().signum() == sign) {
+                    top.offer(holding);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top.toList().stream().map(Holding::toDTO).collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        boolean deleted = event.change() == AssetChangedEvent.Change.DELETED;
+        BigDecimal price = !deleted && event.type().isTradeable() ? stockPriceService.getCachedPrice(event.symbol()) : null;
+        // Converted inside the update, so an out-of-range amount also fails a reconciliation replaying it
+        update(s -> s.apply(new Change(event.assetId(), deleted ? null : Holding.of(event.assetId(), event.type(),
+                event.symbol(), event.name(), FixedPoint.of(event.quantity()), FixedPoint.of(event.buyPrice()),
+                price != null ? FixedPoint.of(price) : null))));
+    }
+
+    /**
+     * Revalue the assets of the updated symbol; other assets are not touched.
+     */
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        String symbol = StockPriceService.normalizeSymbol(event.symbol());
+        update(s -> s.revalue(symbol, FixedPoint.of(event.price())));
+    }
+
+    private void update(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            }
+            change.accept(state);
+        } catch (ArithmeticException ex) {
+            outOfRange(ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A number no longer fits in a FixedPoint: serve summaries without the aggregate
+     * until a reconciliation loads every asset within range.
+     */
+    private void outOfRange(ArithmeticException ex) {
+        if (ready) {
+            log.warn("Portfolio aggregate disabled until the next reconciliation: {}", ex.getMessage());
+        }
+        ready = false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    /**
+     * Reload every asset from the database and replace the in-memory state with it.
+     *
+     * @return number of assets whose in-memory entry was missing, unexpected or different
+     * (0 on the first load)
+     */
+    @Scheduled(initialDelayString = "${portfolio.aggregate.reconcile-interval-ms:300000}",
+            fixedDelayString = "${portfolio.aggregate.reconcile-interval-ms:300000}")
+    public synchronized int reconcile() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean first = !ready;
+        State reloaded;
+        try {
+            // Read without the lock so committed changes keep applying meanwhile
+            reloaded = loadState();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (ex instanceof ArithmeticException outOfRange) {
+                return notLoaded(outOfRange);
+            }
+            throw ex;
+        }
+
+        int drifted;
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(reloaded));
+            drifted = first ? 0 : drift(state, reloaded);
+            state = reloaded;
+            ready = true;
+        } catch (ArithmeticException ex) {
+            return notLoaded(ex);
+        } finally {
+            pending = null;
+            lock.writeLock().unlock();
+        }
+
+        if (drifted > 0) {
+            log.warn("Portfolio aggregate drifted from the database on {} assets; reloaded {} assets",
+                    drifted, reloaded.holdings.size());
+        } else {
+            log.info("Portfolio aggregate {} {} assets", first ? "loaded" : "reconciled", reloaded.holdings.size());
+        }
+        return drifted;
+    }
+
+    private int notLoaded(ArithmeticException ex) {
+        log.warn("Portfolio aggregate not loaded, an amount is out of fixed-point range: {}", ex.getMessage());
+        ready = false;
+        return 0;
+    }
+
+    private State loadState() {
+        List<AssetHolding> rows = assetRepository.findAllHoldings();
+        List<String> symbols = rows.stream()
+                .filter(r -> AssetType.valueOf(r.getType()).isTradeable())
+                .map(r -> StockPriceService.normalizeSymbol(r.getSymbol()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, FixedPoint> prices = new HashMap<>();
+        if (!symbols.isEmpty()) {
+            stockPriceService.getCachedPrices(symbols).forEach((symbol, price) -> prices.put(symbol, FixedPoint.of(price)));
+        }
+
+        State loaded = new State();
+        for (AssetHolding row : rows) {
+            AssetType type = AssetType.valueOf(row.getType());
+            FixedPoint price = type.isTradeable()
+                    ? prices.get(StockPriceService.normalizeSymbol(row.getSymbol())) : null;
+            loaded.apply(new Change(row.getId(), Holding.of(row.getId(), type, row.getSymbol(), row.getName(),
+                    FixedPoint.of(row.getQuantity()), FixedPoint.of(row.getBuyPrice()), price)));
+        }
+        return loaded;
+    }
+
+    /**
+     * Assets whose entries differ between the two states, ignoring valuation.
+     */
+    private static int drift(State current, State reloaded) {
+        int drifted = 0;
+        for (Holding expected : reloaded.holdings.values()) {
+            Holding actual = current.holdings.get(expected.id());
+            if (actual == null || !actual.sameAsset(expected)) {
+                drifted++;
+            }
+        }
+        for (Long id : current.holdings.keySet()) {
+            if (!reloaded.holdings.containsKey(id)) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    // ------------------------------------------------------------------------
+    // State
+    // ------------------------------------------------------------------------
+
+    /**
+     * New entry of an asset, or null if it was deleted.
+     */
+    private record Change(long assetId, Holding holding) {
+    }
+
+    /**
+     * One asset, valued.
+     */
+    private record Holding(long id, AssetType type, String symbol, String name,
+                           FixedPoint quantity, FixedPoint buyPrice, FixedPoint costBasis,
+                           FixedPoint currentPrice, FixedPoint value, FixedPoint gainLossPercentage) {
+
+        /**
+         * Value at the given price, or at cost if there is none (or the type has no market price).
+         * Same arithmetic as AssetService, on FixedPoint.
+         */
+        static Holding of(long id, AssetType type, String symbol, String name,
+                          FixedPoint quantity, FixedPoint buyPrice, FixedPoint price) {
+            FixedPoint costBasis = quantity.multiply(buyPrice);
+            if (!type.isTradeable() || price == null) {
+                return new Holding(id, type, symbol, name, quantity, buyPrice, costBasis, buyPrice, costBasis, ZERO);
+            }
+            FixedPoint value = quantity.multiply(price);
+            FixedPoint percentage = costBasis.signum() > 0
+                    ? value.subtract(costBasis).divide(costBasis, 4).multiply(100)
+                    : ZERO;
+            return new Holding(id, type, symbol, name, quantity, buyPrice, costBasis, price, value, percentage);
+        }
+
+        Holding at(FixedPoint price) {
+            return of(id, type, symbol, name, quantity, buyPrice, price);
+        }
+
+        boolean sameAsset(Holding other) {
+            return type == other.type
+                    && symbol.equals(other.symbol)
+                    && quantity.compareTo(other.quantity) == 0
+                    && buyPrice.compareTo(other.buyPrice) == 0;
+        }
+
+        AssetDTO toDTO() {
+            return AssetDTO.builder()
+                    .id(id)
+                    .symbol(symbol)
+                    .name(name)
+                    .type(type)
+                    .quantity(quantity.toBigDecimal())
+                    .buyPrice(buyPrice.toBigDecimal())
+                    .costBasis(costBasis.toBigDecimal())
+                    .currentPrice(currentPrice.toBigDecimal())
+                    .currentValue(value.toBigDecimal())
+                    .gainLoss(value.subtract(costBasis).toBigDecimal())
+                    .gainLossPercentage(gainLossPercentage.toBigDecimal())
+                    .build();
+        }
+    }
+
+    /**
+     * Running totals of one asset type.
+     */
+    private static final class Totals {
+        long count;
+        FixedPoint costBasis = ZERO;
+        FixedPoint value = ZERO;
+    }
+
+    private static final class State {
+        final Map<Long, Holding> holdings = new HashMap<>();
+        final Map<AssetType, Totals> byType = new EnumMap<>(AssetType.class);
+        // Price key -> ids of the tradeable assets in that symbol
+        final Map<String, Set<Long>> bySymbol = new HashMap<>();
+
+        void apply(Change change) {
+            Holding old = change.holding() != null
+                    ? holdings.put(change.assetId(), change.holding())
+                    : holdings.remove(change.assetId());
+            if (old != null) {
+                unindex(old);
+                Totals totals = byType.get(old.type());
+                totals.count--;
+                totals.costBasis = totals.costBasis.subtract(old.costBasis());
+                totals.value = totals.value.subtract(old.value());
+                if (totals.count == 0) {
+                    byType.remove(old.type());
+                }
+            }
+            if (change.holding() != null) {
+                Totals totals = byType.computeIfAbsent(change.holding().type(), t -> new Totals());
+                totals.count++;
+                totals.costBasis = totals.costBasis.add(change.holding().costBasis());
+                totals.value = totals.value.add(change.holding().value());
+                index(change.holding());
+            }
+        }
+
+        void revalue(String symbol, FixedPoint price) {
+            Set<Long> ids = bySymbol.get(symbol);
+            if (ids == null) {
+                return;
+            }
+            for (Long id : ids) {
+                Holding old = holdings.get(id);
+                Holding revalued = old.at(price);
+                holdings.put(id, revalued);
+                Totals totals = byType.get(old.type());
+                totals.value = totals.value.add(revalued.value().subtract(old.value()));
+            }
+        }
+
+        private void index(Holding holding) {
+            if (holding.type().isTradeable()) {
+                bySymbol.computeIfAbsent(StockPriceService.normalizeSymbol(holding.symbol()), k -> new HashSet<>())
+                        .add(holding.id());
+            }
+        }
+
+        private void unindex(Holding holding) {
+            String key = StockPriceService.normalizeSymbol(holding.symbol());
+            Set<Long> ids = bySymbol.get(key);
+            if (ids != null && ids.remove(holding.id()) && ids.isEmpty()) {
+                bySymbol.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.StockNews;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * News feed across every tradeable holding.
+ *
+ * Company news for the held symbols is requested in parallel on the news fetch
+ * executor, so the fan-out never occupies quote fetch threads. Each request
+ * goes through the news cache and the shared rate limiter, so cached days cost
+ * nothing and uncached ones wait for a token. The per-symbol lists (newest
+ * first) are k-way merged and paged with a keyset cursor on (datetime, id).
+ *
+ * Symbols still loading at the deadline keep filling the cache in the
+ * background. The page is then marked partial and carries no cursor: a cursor
+ * taken from the feeds that did load would skip the late symbol's newer
+ * articles, so the client asks for the same page again instead.
+ */
+@Service
+@Slf4j
+public class PortfolioNewsService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<StockNews> NEWEST_FIRST = Comparator
+            .comparingLong((StockNews n) -> datetimeOf(n))
+            .thenComparingLong(n -> idOf(n))
+            .reversed();
+
+    private final TradeableHoldings tradeableHoldings;
+    private final StockPriceService stockPriceService;
+    private final TaskExecutor newsFetchExecutor;
+
+    // Deadline for collecting every holding's news
+    @Value("${finnhub.news.portfolio-timeout-ms:5000}")
+    private long timeoutMs;
+
+    public PortfolioNewsService(TradeableHoldings tradeableHoldings,
+                                StockPriceService stockPriceService,
+                                @Qualifier("newsFetchExecutor") TaskExecutor newsFetchExecutor) {
+        this.tradeableHoldings = tradeableHoldings;
+        this.stockPriceService = stockPriceService;
+        this.newsFetchExecutor = newsFetchExecutor;
+    }
+
+    /**
+     * Get one page of news for all held symbols, newest first.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit  page size, capped at {@link #MAX_PAGE_SIZE}
+     * @param from   Optional start date, defaults to 30 days ago
+     * @param to     Optional end date, defaults to today
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<StockNews> getPortfolioNews(String cursor, int limit, LocalDate from, LocalDate to) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        StockNews after = decodeCursor(cursor);
+        Feeds loaded = fetchAll(tradeableHoldings.symbols(), from, to);
+        CursorPage<StockNews> page = page(loaded.feeds(), after, pageSize);
+        if (!loaded.complete()) {
+            page.setPartial(true);
+            page.setNextCursor(null);
+            page.setHasMore(true);
+        }
+        return page;
+    }
+
+    /**
+     * Feeds that loaded by the deadline, and whether every symbol's did.
+     */
+    private record Feeds(List<List<StockNews>> feeds, boolean complete) {
+    }
+
+    /**
+     * Fan out one company-news request per symbol and collect whatever arrives by the deadline.
+     */
+    private Feeds fetchAll(Collection<String> symbols, LocalDate from, LocalDate to) {
+        List<CompletableFuture<List<StockNews>>> futures = new ArrayList<>(symbols.size());
+        boolean complete = true;
+        for (String symbol : symbols) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> stockPriceService.getCompanyNews(symbol, from, to), newsFetchExecutor));
+            } catch (RejectedExecutionException e) {
+                log.warn("News fetch queue is full, skipping {}", symbol);
+                complete = false;
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("Portfolio news deadline reached, returning the symbols loaded so far");
+        } catch (ExecutionException e) {
+            log.error("Portfolio news fetch failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<List<StockNews>> feeds = new ArrayList<>(futures.size());
+        for (CompletableFuture<List<StockNews>> future : futures) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                // Already newest first from the news cache; TimSort makes this a linear check
+                List<StockNews> feed = new ArrayList<>(future.join());
+                feed.sort(NEWEST_FIRST);
+                if (!feed.isEmpty()) {
+                    feeds.add(feed);
+                }
+            } else {
+                complete = false;
+            }
+        }
+        return new Feeds(feeds, complete);
+    }
+
+    /**
+     * K-way merge of newest-first feeds, skipping everything up to and including the cursor.
+     * An article related to several holdings appears in several feeds; it is returned once.
+     */
+    CursorPage<StockNews> page(List<List<StockNews>> feeds, StockNews after, int pageSize) {
+        PriorityQueue<FeedCursor> heap = new PriorityQueue<>(
+                Math.max(1, feeds.size()), (a, b) -> NEWEST_FIRST.compare(a.head(), b.head()));
+        for (List<StockNews> feed : feeds) {
+            FeedCursor feedCursor = new FeedCursor(feed);
+            if (feedCursor.skipTo(after)) {
+                heap.add(feedCursor);
+            }
+        }
+
+        List<StockNews> items = new ArrayList<>(pageSize);
+        StockNews last = null;
+        while (!heap.isEmpty() && items.size() < pageSize) {
+            FeedCursor top = heap.poll();
+            StockNews article = top.head();
+            if (last == null || NEWEST_FIRST.compare(last, article) != 0) {
+                items.add(article);
+                last = article;
+            }
+            if (top.advance()) {
+                heap.add(top);
+            }
+        }
+
+        // Drop duplicates of the last item so hasMore doesn't promise an empty page
+        while (!heap.isEmpty() && last != null && NEWEST_FIRST.compare(last, heap.peek().head()) == 0) {
+            FeedCursor top = heap.poll();
+            if (top.advance()) {
+                heap.add(top);
+            }
+        }
+
+        boolean hasMore = !heap.isEmpty();
+        return CursorPage.<StockNews>builder()
+                .items(items)
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    static String encodeCursor(StockNews article) {
+        String raw = datetimeOf(article) + ":" + idOf(article);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StockNews decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return StockNews.builder()
+                    .datetime(Long.parseLong(raw.substring(0, sep)))
+                    .id(Long.parseLong(raw.substring(sep + 1)))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid news cursor: " + cursor);
+        }
+    }
+
+    private static long datetimeOf(StockNews article) {
+        return article.getDatetime() != null ? article.getDatetime() : 0L;
+    }
+
+    private static long idOf(StockNews article) {
+        return article.getId() != null ? article.getId() : 0L;
+    }
+
+    /**
+     * Read position in one newest-first feed.
+     */
+    private static final class FeedCursor {
+        private final List<StockNews> feed;
+        private int index;
+
+        FeedCursor(List<StockNews> feed) {
+            this.feed = feed;
+        }
+
+        StockNews head() {
+            return feed.get(index);
+        }
+
+        boolean advance() {
+            return ++index < feed.size();
+        }
+
+        /**
+         * Move past every article at or before the cursor in feed order.
+         *
+         * @return false if the feed has nothing left
+         */
+        boolean skipTo(StockNews after) {
+            while (index < feed.size() && after != null && NEWEST_FIRST.compare(feed.get(index), after) <= 0) {
+                index++;
+            }
+            return index < feed.size();
+        }
+    }
+}
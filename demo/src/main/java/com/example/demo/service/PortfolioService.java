@@ -3,172 +3,160 @@ package com.example.demo.service;
 import com.example.demo.dto.AssetDTO;
 import com.example.demo.dto.PortfolioSummaryDTO;
 import com.example.demo.entity.AssetType;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.TypeSymbolSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Service for portfolio-level analytics and calculations.
+ * Not transactional: AssetService commits its reads before pricing them.
+ * The summary is served from the in-memory {@link PortfolioAggregate} once it
+ * has loaded, and computed from every priced asset until then.
+ * Allocation and performance only need per-type totals: they come from the
+ * aggregate, or until it has loaded from one grouped query valued at cached
+ * prices, without building any asset DTOs.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class PortfolioService {
 
+    private static final int TOP_PERFORMERS = 5;
+
     private final AssetService assetService;
+    private final PortfolioAggregate portfolioAggregate;
+    private final AssetRepository assetRepository;
+    private final StockPriceService stockPriceService;
 
     /**
-     * Get comprehensive portfolio summary with all analytics.
+     * Get portfolio totals, allocation and top performers, without the list of assets.
      */
     public PortfolioSummaryDTO getPortfolioSummary() {
-        List<AssetDTO> allAssets = assetService.getAllAssets();
-
-        if (allAssets.isEmpty()) {
-            return PortfolioSummaryDTO.builder()
-                    .totalValue(BigDecimal.ZERO)
-                    .totalCostBasis(BigDecimal.ZERO)
-                    .totalGainLoss(BigDecimal.ZERO)
-                    .totalGainLossPercentage(BigDecimal.ZERO)
-                    .totalAssets(0L)
-                    .assetCountByType(Collections.emptyMap())
-                    .allocationByType(Collections.emptyMap())
-                    .valueByType(Collections.emptyMap())
-                    .assets(allAssets)
-                    .topGainers(Collections.emptyList())
-                    .topLosers(Collections.emptyList())
-                    .build();
+        if (!portfolioAggregate.isReady()) {
+            PortfolioSummaryDTO summary = summarize(assetService.getAllAssets());
+            summary.setAssets(null);
+            return summary;
         }
 
-        // Calculate totals
-        BigDecimal totalValue = allAssets.stream()
-                .map(a -> a.getCurrentValue() != null ? a.getCurrentValue() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCostBasis = allAssets.stream()
-                .map(a -> a.getCostBasis() != null ? a.getCostBasis() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalGainLoss = totalValue.subtract(totalCostBasis);
-
-        BigDecimal totalGainLossPercentage = BigDecimal.ZERO;
-        if (totalCostBasis.compareTo(BigDecimal.ZERO) > 0) {
-            totalGainLossPercentage = totalGainLoss
-                    .divide(totalCostBasis, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        long totalAssets = 0;
+        Map<String, BigDecimal> valueByType = new HashMap<>();
+        Map<String, Long> assetCountByType = new HashMap<>();
+        for (Map.Entry<AssetType, PortfolioAggregate.TypeTotals> entry : portfolioAggregate.totalsByType().entrySet()) {
+            PortfolioAggregate.TypeTotals totals = entry.getValue();
+            totalValue = totalValue.add(totals.value());
+            totalCostBasis = totalCostBasis.add(totals.costBasis());
+            totalAssets += totals.count();
+            valueByType.put(entry.getKey().name(), totals.value());
+            assetCountByType.put(entry.getKey().name(), totals.count());
         }
 
-        // Calculate value by type
-        Map<String, BigDecimal> valueByType = allAssets.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getType().name(),
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                a -> a.getCurrentValue() != null ? a.getCurrentValue() : BigDecimal.ZERO,
-                                BigDecimal::add)));
-
-        // Calculate allocation percentages
-        Map<String, BigDecimal> allocationByType = new HashMap<>();
-        if (totalValue.compareTo(BigDecimal.ZERO) > 0) {
-            for (Map.Entry<String, BigDecimal> entry : valueByType.entrySet()) {
-                BigDecimal percentage = entry.getValue()
-                        .divide(totalValue, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-                allocationByType.put(entry.getKey(), percentage);
-            }
-        }
-
-        // Count assets by type
-        Map<String, Long> assetCountByType = allAssets.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getType().name(),
-                        Collectors.counting()));
-
-        // Find top gainers (sorted by gainLossPercentage descending)
-        List<AssetDTO> topGainers = allAssets.stream()
-                .filter(a -> a.getGainLossPercentage() != null
-                        && a.getGainLossPercentage().compareTo(BigDecimal.ZERO) > 0)
-                .sorted(Comparator.comparing(AssetDTO::getGainLossPercentage).reversed())
-                .limit(5)
-                .collect(Collectors.toList());
-
-        // Find top losers (sorted by gainLossPercentage ascending)
-        List<AssetDTO> topLosers = allAssets.stream()
-                .filter(a -> a.getGainLossPercentage() != null
-                        && a.getGainLossPercentage().compareTo(BigDecimal.ZERO) < 0)
-                .sorted(Comparator.comparing(AssetDTO::getGainLossPercentage))
-                .limit(5)
-                .collect(Collectors.toList());
-
+        BigDecimal totalGainLoss = totalValue.subtract(totalCostBasis);
         return PortfolioSummaryDTO.builder()
                 .totalValue(totalValue)
                 .totalCostBasis(totalCostBasis)
                 .totalGainLoss(totalGainLoss)
-                .totalGainLossPercentage(totalGainLossPercentage)
-                .totalAssets((long) allAssets.size())
+                .totalGainLossPercentage(PortfolioSummaryCollector.percentage(totalGainLoss, totalCostBasis))
+                .totalAssets(totalAssets)
                 .assetCountByType(assetCountByType)
-                .allocationByType(allocationByType)
+                .allocationByType(PortfolioSummaryCollector.allocation(valueByType, totalValue))
                 .valueByType(valueByType)
-                .assets(allAssets)
-                .topGainers(topGainers)
-                .topLosers(topLosers)
+                .topGainers(portfolioAggregate.topPerformers(TOP_PERFORMERS, true))
+                .topLosers(portfolioAggregate.topPerformers(TOP_PERFORMERS, false))
                 .build();
     }
 
+    /**
+     * Get the summary computed from every asset with current prices, including the assets.
+     */
+    public PortfolioSummaryDTO getPortfolioSummaryWithAssets() {
+        return summarize(assetService.getAllAssets());
+    }
+
+    /**
+     * Summary of the given assets in one pass, including them.
+     */
+    private PortfolioSummaryDTO summarize(List<AssetDTO> allAssets) {
+        PortfolioSummaryDTO summary = allAssets.stream()
+                .collect(PortfolioSummaryCollector.toSummary(TOP_PERFORMERS));
+        summary.setAssets(allAssets);
+        return summary;
+    }
+
     /**
      * Get just the allocation data for pie charts.
      */
     public Map<String, BigDecimal> getAllocation() {
-        PortfolioSummaryDTO summary = getPortfolioSummary();
-        return summary.getAllocationByType();
+        Map<String, BigDecimal> valueByType = new HashMap<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (Map.Entry<AssetType, PortfolioAggregate.TypeTotals> entry : totalsByType().entrySet()) {
+            valueByType.put(entry.getKey().name(), entry.getValue().value());
+            totalValue = totalValue.add(entry.getValue().value());
+        }
+        return PortfolioSummaryCollector.allocation(valueByType, totalValue);
     }
 
     /**
      * Get performance data for each asset type.
      */
     public Map<String, Map<String, BigDecimal>> getPerformanceByType() {
-        List<AssetDTO> allAssets = assetService.getAllAssets();
-
         Map<String, Map<String, BigDecimal>> performanceByType = new HashMap<>();
-
-        for (AssetType type : AssetType.values()) {
-            List<AssetDTO> assetsOfType = allAssets.stream()
-                    .filter(a -> a.getType() == type)
-                    .collect(Collectors.toList());
-
-            if (!assetsOfType.isEmpty()) {
-                BigDecimal totalValue = assetsOfType.stream()
-                        .map(a -> a.getCurrentValue() != null ? a.getCurrentValue() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalCost = assetsOfType.stream()
-                        .map(a -> a.getCostBasis() != null ? a.getCostBasis() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal gainLoss = totalValue.subtract(totalCost);
-
-                Map<String, BigDecimal> typePerformance = new HashMap<>();
-                typePerformance.put("value", totalValue);
-                typePerformance.put("cost", totalCost);
-                typePerformance.put("gainLoss", gainLoss);
-
-                if (totalCost.compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal percentage = gainLoss
-                            .divide(totalCost, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-                    typePerformance.put("percentage", percentage);
-                }
-
-                performanceByType.put(type.name(), typePerformance);
+        for (Map.Entry<AssetType, PortfolioAggregate.TypeTotals> entry : totalsByType().entrySet()) {
+            BigDecimal totalValue = entry.getValue().value();
+            BigDecimal totalCost = entry.getValue().costBasis();
+            BigDecimal gainLoss = totalValue.subtract(totalCost);
+
+            Map<String, BigDecimal> typePerformance = new HashMap<>();
+            typePerformance.put("value", totalValue);
+            typePerformance.put("cost", totalCost);
+            typePerformance.put("gainLoss", gainLoss);
+            if (totalCost.compareTo(BigDecimal.ZERO) > 0) {
+                typePerformance.put("percentage", PortfolioSummaryCollector.percentage(gainLoss, totalCost));
             }
+            performanceByType.put(entry.getKey().name(), typePerformance);
         }
-
         return performanceByType;
     }
+
+    /**
+     * Totals of each asset type held, from the aggregate once it has loaded.
+     */
+    private Map<AssetType, PortfolioAggregate.TypeTotals> totalsByType() {
+        return portfolioAggregate.isReady() ? portfolioAggregate.totalsByType() : groupedTotalsByType();
+    }
+
+    /**
+     * Totals of each asset type from one GROUP BY over the assets table. Tradeable
+     * positions are valued at the cached price of their symbol (quantity times price
+     * is the same per group as summed per asset), others and uncached ones at cost.
+     */
+    private Map<AssetType, PortfolioAggregate.TypeTotals> groupedTotalsByType() {
+        List<TypeSymbolSummary> groups = assetRepository.summarizeByTypeAndSymbol();
+        List<String> symbols = groups.stream()
+                .filter(g -> AssetType.valueOf(g.getType()).isTradeable())
+                .map(g -> StockPriceService.normalizeSymbol(g.getSymbol()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, BigDecimal> prices = symbols.isEmpty() ? Map.of() : stockPriceService.getCachedPrices(symbols);
+
+        Map<AssetType, PortfolioAggregate.TypeTotals> totals = new EnumMap<>(AssetType.class);
+        for (TypeSymbolSummary group : groups) {
+            AssetType type = AssetType.valueOf(group.getType());
+            BigDecimal price = type.isTradeable()
+                    ? prices.get(StockPriceService.normalizeSymbol(group.getSymbol())) : null;
+            BigDecimal value = price != null ? group.getQuantity().multiply(price) : group.getCostBasis();
+            totals.merge(type, new PortfolioAggregate.TypeTotals(group.getCount(), group.getCostBasis(), value),
+                    (a, b) -> new PortfolioAggregate.TypeTotals(a.count() + b.count(),
+                            a.costBasis().add(b.costBasis()), a.value().add(b.value())));
+        }
+        return totals;
+    }
+
 }
@@ -0,0 +1,153 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.PortfolioSummaryDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.util.TopK;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.stream.Collector;
+
+/**
+ * Builds a portfolio summary from priced assets in a single pass.
+ *
+ * Each asset is added to the totals, its type's count and value, and two
+ * bounded top-K heaps (gainers and losers), instead of one pass per total,
+ * one groupingBy per map and a full sort per top list. Accumulators merge, so
+ * the collector also works on parallel streams; the result is the same as a
+ * sequential run. The summary's asset list is left for the caller to set.
+ */
+public final class PortfolioSummaryCollector {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final Comparator<AssetDTO> BY_PERCENTAGE = Comparator.comparing(AssetDTO::getGainLossPercentage);
+
+    private PortfolioSummaryCollector() {
+    }
+
+    /**
+     * @param topPerformers number of top gainers and of top losers to keep
+     */
+    public static Collector<AssetDTO, ?, PortfolioSummaryDTO> toSummary(int topPerformers) {
+        return Collector.of(
+                () -> new Accumulator(topPerformers),
+                Accumulator::add,
+                Accumulator::merge,
+                Accumulator::finish);
+    }
+
+    /**
+     * Share of the total value held in each type, in percent.
+     */
+    static Map<String, BigDecimal> allocation(Map<String, BigDecimal> valueByType, BigDecimal totalValue) {
+        Map<String, BigDecimal> allocationByType = new HashMap<>();
+        if (totalValue.compareTo(BigDecimal.ZERO) > 0) {
+            for (Map.Entry<String, BigDecimal> entry : valueByType.entrySet()) {
+                allocationByType.put(entry.getKey(), percentage(entry.getValue(), totalValue));
+            }
+        }
+        return allocationByType;
+    }
+
+    /**
+     * part / whole in percent (scale 4 before scaling by 100), or zero if whole is not positive.
+     */
+    static BigDecimal percentage(BigDecimal part, BigDecimal whole) {
+        if (whole.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return part.divide(whole, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+    }
+
+    private static final class Accumulator {
+        long count;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        final long[] countByType = new long[AssetType.values().length];
+        final BigDecimal[] valueByType = new BigDecimal[AssetType.values().length];
+        final TopK<AssetDTO> gainers;
+        final TopK<AssetDTO> losers;
+
+        Accumulator(int topPerformers) {
+            gainers = new TopK<>(topPerformers, BY_PERCENTAGE.reversed());
+            losers = new TopK<>(topPerformers, BY_PERCENTAGE);
+        }
+
+        void add(AssetDTO asset) {
+            BigDecimal value = asset.getCurrentValue() != null ? asset.getCurrentValue() : BigDecimal.ZERO;
+            count++;
+            totalValue = totalValue.add(value);
+            if (asset.getCostBasis() != null) {
+                totalCostBasis = totalCostBasis.add(asset.getCostBasis());
+            }
+            int type = asset.getType().ordinal();
+            countByType[type]++;
+            valueByType[type] = valueByType[type] == null ? value : valueByType[type].add(value);
+
+            BigDecimal percentage = asset.getGainLossPercentage();
+            if (percentage != null && percentage.signum() > 0) {
+                gainers.offer(asset);
+            } else if (percentage != null && percentage.signum() < 0) {
+                losers.offer(asset);
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            count += other.count;
+            totalValue = totalValue.add(other.totalValue);
+            totalCostBasis = totalCostBasis.add(other.totalCostBasis);
+            for (int type = 0; type < countByType.length; type++) {
+                countByType[type] += other.countByType[type];
+                if (other.valueByType[type] != null) {
+                    valueByType[type] = valueByType[type] == null
+                            ? other.valueByType[type]
+                            : valueByType[type].add(other.valueByType[type]);
+                }
+            }
+            gainers.merge(other.gainers);
+            losers.merge(other.losers);
+            return this;
+        }
+
+        PortfolioSummaryDTO finish() {
+            if (count == 0) {
+                return PortfolioSummaryDTO.builder()
+                        .totalValue(BigDecimal.ZERO)
+                        .totalCostBasis(BigDecimal.ZERO)
+                        .totalGainLoss(BigDecimal.ZERO)
+                        .totalGainLossPercentage(BigDecimal.ZERO)
+                        .totalAssets(0L)
+                        .assetCountByType(Collections.emptyMap())
+                        .allocationByType(Collections.emptyMap())
+                        .valueByType(Collections.emptyMap())
+                        .topGainers(Collections.emptyList())
+                        .topLosers(Collections.emptyList())
+                        .build();
+            }
+
+            Map<String, BigDecimal> values = new HashMap<>();
+            Map<String, Long> counts = new HashMap<>();
+            for (AssetType type : AssetType.values()) {
+                if (countByType[type.ordinal()] > 0) {
+                    values.put(type.name(), valueByType[type.ordinal()]);
+                    counts.put(type.name(), countByType[type.ordinal()]);
+                }
+            }
+            BigDecimal totalGainLoss = totalValue.subtract(totalCostBasis);
+            return PortfolioSummaryDTO.builder()
+                    .totalValue(totalValue)
+                    .totalCostBasis(totalCostBasis)
+                    .totalGainLoss(totalGainLoss)
+                    .totalGainLossPercentage(percentage(totalGainLoss, totalCostBasis))
+                    .totalAssets(count)
+                    .assetCountByType(counts)
+                    .allocationByType(allocation(values, totalValue))
+                    .valueByType(values)
+                    .topGainers(gainers.toList())
+                    .topLosers(losers.toList())
+                    .build();
+        }
+    }
+}
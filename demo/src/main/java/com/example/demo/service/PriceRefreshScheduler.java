@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.HoldingSummary;
+import com.example.demo.service.StockPriceService.RefreshOutcome;
+import com.example.demo.util.TokenBucketRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the prices of held tradeable symbols warm in the price cache.
+ *
+ * Each run reads the distinct symbols of STOCK, ETF, CRYPTO and MUTUAL_FUND
+ * holdings and refreshes the ones that are missing or due, most valuable and
+ * most stale first. It only spends rate-limit tokens that are available right
+ * now and leaves a reserve for on-demand lookups, so user requests can be
+ * served from the cache without calling Finnhub.
+ *
+ * A symbol whose refresh fails (no quote, upstream error) does not stop the
+ * run; it is skipped for a number of runs that doubles with each consecutive
+ * failure, so a symbol the quote API cannot price does not hold the front of
+ * the queue. A refresh that could not be requested (a token lost to an
+ * on-demand lookup, upstream degraded) ends the run without backing off.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "finnhub.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceRefreshScheduler {
+
+    private final TradeableHoldings tradeableHoldings;
+    private final StockPriceService stockPriceService;
+    private final TokenBucketRateLimiter finnhubRateLimiter;
+
+    // Symbols fetched more recently than this are skipped
+    @Value("${finnhub.refresh.min-age-ms:240000}")
+    private long minAgeMs;
+
+    // Tokens left untouched for requests that still need a synchronous fetch
+    @Value("${finnhub.refresh.reserved-calls:10}")
+    private long reservedCalls;
+
+    // Longest back-off, in runs, for a symbol that keeps failing
+    @Value("${finnhub.refresh.max-backoff-runs:64}")
+    private long maxBackoffRuns;
+
+    // Only touched from the scheduler thread
+    private final Map<String, Backoff> backoffs = new HashMap<>();
+    private long run;
+
+    @Scheduled(initialDelayString = "${finnhub.refresh.initial-delay-ms:5000}",
+            fixedDelayString = "${finnhub.refresh.interval-ms:15000}")
+    public void refreshHeldSymbols() {
+        run++;
+        List<String> due = prioritize(tradeableHoldings.summarizeBySymbol());
+        long budget = finnhubRateLimiter.availableTokens() - reservedCalls;
+        if (due.isEmpty() || budget <= 0) {
+            return;
+        }
+
+        int attempted = 0;
+        int refreshed = 0;
+        for (String symbol : due) {
+            if (attempted >= budget) {
+                break;
+            }
+            RefreshOutcome outcome = stockPriceService.refreshPrice(symbol);
+            if (outcome == RefreshOutcome.RATE_LIMITED) {
+                // On-demand lookups took the tokens since the budget was taken; the rest would fare the same
+                break;
+            }
+            attempted++;
+            if (outcome == RefreshOutcome.REFRESHED) {
+                backoffs.remove(symbol);
+                refreshed++;
+            } else {
+                backOff(symbol);
+            }
+        }
+        log.debug("Refreshed {} of {} due symbols ({} attempted)", refreshed, due.size(), attempted);
+    }
+
+    private void backOff(String symbol) {
+        Backoff backoff = backoffs.computeIfAbsent(symbol, s -> new Backoff());
+        backoff.failures++;
+        long runs = Math.min(1L << Math.min(backoff.failures - 1, 30), maxBackoffRuns);
+        backoff.retryAfterRun = run + runs;
+        log.debug("Refresh of {} failed {} time(s), retrying in {} run(s)", symbol, backoff.failures, runs);
+    }
+
+    /**
+     * Order the symbols that need a refresh: never-priced symbols first, then by
+     * position value weighted by how stale the cached price is.
+     * Position value is taken at cost so that ranking never touches the price cache
+     * (a cache read would itself start a refresh outside this run's budget).
+     */
+    List<String> prioritize(List<HoldingSummary> holdings) {
+        // The same symbol can be held under several asset types
+        Map<String, BigDecimal> costBySymbol = new HashMap<>();
+        for (HoldingSummary holding : holdings) {
+            String symbol = StockPriceService.normalizeSymbol(holding.getSymbol());
+            costBySymbol.merge(symbol, nullToZero(holding.getCostBasis()), BigDecimal::add);
+        }
+        backoffs.keySet().retainAll(costBySymbol.keySet());
+
+        Map<String, Double> scores = new HashMap<>();
+        for (Map.Entry<String, BigDecimal> entry : costBySymbol.entrySet()) {
+            String symbol = entry.getKey();
+            Backoff backoff = backoffs.get(symbol);
+            if (backoff != null && run <= backoff.retryAfterRun) {
+                continue;
+            }
+            Long age = stockPriceService.getPriceAgeMillis(symbol);
+            if (age == null) {
+                scores.put(symbol, Double.POSITIVE_INFINITY);
+                continue;
+            }
+            if (age < minAgeMs) {
+                continue;
+            }
+            scores.put(symbol, entry.getValue().doubleValue() * age);
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class Backoff {
+        int failures;
+        long retryAfterRun;
+    }
+}
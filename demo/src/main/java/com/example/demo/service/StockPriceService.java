@@ -1,6 +1,8 @@
 package com.example.demo.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import com.example.demo.dto.PriceServiceMetrics;
 import com.example.demo.dto.StockNews; // Import the new DTO
 import java.util.Map;
 import java.util.List;
@@ -11,6 +13,31 @@ import java.time.LocalDate;
  */
 public interface StockPriceService {
 
+    /**
+     * What a {@link #refreshPrice} call did.
+     */
+    enum RefreshOutcome {
+        // A fresh price is cached, or another fetch for the symbol is already under way
+        REFRESHED,
+        // No call was made: no rate-limit token right now, or the upstream is known to be degraded
+        RATE_LIMITED,
+        // The call was made but brought no price (unknown symbol or upstream error)
+        FAILED
+    }
+
+    /**
+     * Normalize a symbol the way this service keys it, e.g. in batch results
+     * and {@link com.example.demo.event.PriceUpdatedEvent}s.
+     *
+     * @param symbol Stock ticker symbol as entered
+     * @return Upper-case, trimmed symbol
+     */
+    static String normalizeSymbol(String symbol) {
+        // Crypto symbols (e.g. BTC-USD) are passed through as-is; Finnhub would need an
+        // exchange prefix for them, but the plain format is tried first
+        return symbol.toUpperCase().trim();
+    }
+
     /**
      * Get the current price for a stock symbol.
      * 
@@ -27,14 +54,58 @@ public interface StockPriceService {
      */
     Map<String, BigDecimal> getCurrentPrices(String... symbols);
 
+    /**
+     * Get the cached price for a symbol without calling the upstream API.
+     * A miss schedules a background fetch so a later read can be served.
+     *
+     * @param symbol Stock ticker symbol
+     * @return Last known price (possibly stale), or null if not cached
+     */
+    BigDecimal getCachedPrice(String symbol);
+
+    /**
+     * Get cached prices for multiple symbols without calling the upstream API.
+     *
+     * @param symbols Stock ticker symbols
+     * @return Map of normalized symbol to last known price; uncached symbols are absent
+     */
+    Map<String, BigDecimal> getCachedPrices(Collection<String> symbols);
+
+    /**
+     * Get how long ago the cached price for a symbol was fetched.
+     *
+     * @param symbol Stock ticker symbol
+     * @return Age in milliseconds, or null if the symbol is not cached
+     */
+    Long getPriceAgeMillis(String symbol);
+
+    /**
+     * Fetch a fresh price for a symbol if a rate-limit token is available right now.
+     * A failed call leaves any cached price in place but is still reported as FAILED.
+     *
+     * @param symbol Stock ticker symbol
+     * @return whether the price was refreshed, could not be requested, or the request failed
+     */
+    RefreshOutcome refreshPrice(String symbol);
+
     /**
      * Check if a symbol is valid and tradeable.
+     * Answered from the local symbol universe and the price cache; other symbols are
+     * checked with a quote call (unless symbols.universe.validate-unknown-with-quote is
+     * off) and the answer, valid or not, is cached for symbols.universe.verdict-ttl-ms.
      * 
      * @param symbol Stock ticker symbol
      * @return true if the symbol is valid
      */
     boolean isValidSymbol(String symbol);
 
+    /**
+     * Get cache and upstream call counters for the price service.
+     *
+     * @return Snapshot of the current counters
+     */
+    PriceServiceMetrics getMetrics();
+
     List<StockNews> getMarketNews(String category);
     List<StockNews> getCompanyNews(String symbol, LocalDate from, LocalDate to);
 }
@@ -1,50 +1,152 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.PriceServiceMetrics;
 import com.example.demo.dto.StockNews;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.demo.event.PriceUpdatedEvent;
+import com.example.demo.exception.UpstreamUnavailableException;
+import com.example.demo.provider.NewsProvider;
+import com.example.demo.provider.PriceProvider;
+import com.example.demo.util.TokenBucketRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Implementation of StockPriceService using Finnhub API.
+ * Implementation of StockPriceService on top of a pluggable PriceProvider/NewsProvider
+ * (Finnhub by default, see {@code market-data.provider}).
  * Provides real-time stock prices with caching to reduce API calls.
  * 
- * Free tier: 60 API calls/minute
- * API Docs: https://finnhub.io/docs/api
+ * Finnhub free tier: 60 API calls/minute
+ *
+ * All rate-limited quote fetches share one token bucket sized to that quota. Batch lookups
+ * fan cache misses out over a bounded executor and return whatever has arrived
+ * by the batch deadline; late results still land in the cache.
+ *
+ * Concurrent misses for the same symbol are coalesced: the first caller
+ * fetches and every other caller waits on the same in-flight future.
+ *
+ * The price cache is bounded (W-TinyLFU eviction) and stale-while-revalidate:
+ * an entry nearing its TTL is refreshed ahead in the background, and an expired
+ * entry is still served immediately while a background fetch replaces it. A
+ * failed refresh keeps the last known price until the max-stale window passes.
+ *
+ * When the streaming trade feed is enabled, a recent enough last trade from the
+ * TickStore is served before the cache and costs no REST call at all.
  */
 @Service
 @Slf4j
 public class StockPriceServiceImpl implements StockPriceService {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    @Value("${finnhub.api.key}")
-    private String apiKey;
-
-    @Value("${finnhub.api.base-url}")
-    private String baseUrl;
-
-    // Simple cache with 5-minute expiry to reduce API calls
-    private final Map<String, CachedPrice> priceCache = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION_MS = 5 * 60 * 1000; // 5 minutes
-
-    public StockPriceServiceImpl() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    private final PriceProvider priceProvider;
+    private final NewsProvider newsProvider;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final TaskExecutor quoteFetchExecutor;
+    private final TickStore tickStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NewsCache newsCache;
+    private final SymbolUniverse symbolUniverse;
+
+    // How long a single fetch may wait for a rate-limit token
+    @Value("${finnhub.rate-limit.max-wait-ms:2000}")
+    private long maxTokenWaitMs;
+
+    // Deadline for a batch lookup; symbols still in flight are left to finish in the background
+    @Value("${finnhub.batch.timeout-ms:3000}")
+    private long batchTimeoutMs;
+
+    // How long a background batch fetch may queue for a token (one full quota window by default)
+    @Value("${finnhub.batch.token-wait-ms:60000}")
+    private long batchTokenWaitMs;
+
+    // Prices older than the TTL are stale: still served, but revalidated in the background
+    @Value("${finnhub.cache.ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    // Start the background refresh this long before an entry reaches its TTL
+    @Value("${finnhub.cache.refresh-ahead-ms:60000}")
+    private long refreshAheadMs;
+
+    // Streamed trades older than this fall back to the quote cache
+    @Value("${finnhub.stream.max-age-ms:60000}")
+    private long streamMaxAgeMs;
+
+    // Whether a symbol missing from the local universe may still be validated with a quote call
+    @Value("${symbols.universe.validate-unknown-with-quote:true}")
+    private boolean validateUnknownWithQuote;
+
+    // Bounded price cache; entries are dropped once older than max-stale or evicted by size
+    private final Cache<String, CachedPrice> priceCache;
+
+    // Quote-backed answers for symbols outside the universe, valid or not, so each costs one call per TTL
+    private final Cache<String, Boolean> symbolVerdicts;
+
+    // Symbols last priced from the trade stream; once their trade ages out the quote cache takes over,
+    // and that switch is published so listeners don't keep the old trade price
+    private final Set<String> streamSourced = ConcurrentHashMap.newKeySet();
+
+    // One in-flight fetch per symbol; concurrent misses join the existing future
+    private final Map<String, CompletableFuture<BigDecimal>> inFlight = new ConcurrentHashMap<>();
+
+    // Counters exposed through getMetrics()
+    private final LongAdder streamHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder backgroundRefreshes = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final LongAdder rateLimitedCalls = new LongAdder();
+    private final LongAdder shortCircuitedCalls = new LongAdder();
+
+    public StockPriceServiceImpl(PriceProvider priceProvider,
+                                 NewsProvider newsProvider,
+                                 TokenBucketRateLimiter finnhubRateLimiter,
+                                 @Qualifier("quoteFetchExecutor") TaskExecutor quoteFetchExecutor,
+                                 TickStore tickStore,
+                                 NewsCache newsCache,
+                                 SymbolUniverse symbolUniverse,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${finnhub.cache.max-size:10000}") long cacheMaxSize,
+                                 @Value("${finnhub.cache.max-stale-ms:86400000}") long cacheMaxStaleMs,
+                                 @Value("${symbols.universe.verdict-ttl-ms:86400000}") long symbolVerdictTtlMs) {
+        this.priceProvider = priceProvider;
+        this.newsProvider = newsProvider;
+        this.rateLimiter = finnhubRateLimiter;
+        this.quoteFetchExecutor = quoteFetchExecutor;
+        this.tickStore = tickStore;
+        this.newsCache = newsCache;
+        this.symbolUniverse = symbolUniverse;
+        this.eventPublisher = eventPublisher;
+        this.priceCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(cacheMaxStaleMs))
+                .recordStats()
+                .build();
+        this.symbolVerdicts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(symbolVerdictTtlMs))
+                .build();
     }
 
     @Override
@@ -54,87 +156,214 @@ public class StockPriceServiceImpl implements StockPriceService {
             return null;
         }
 
-        String upperSymbol = normalizeSymbol(symbol);
+        String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+
+        BigDecimal streamed = lookupStreamed(upperSymbol);
+        if (streamed != null) {
+            return streamed;
+        }
 
-        // Check cache first
-        CachedPrice cached = priceCache.get(upperSymbol);
-        if (cached != null && !cached.isExpired()) {
+        // Check cache first; stale entries are served while a background fetch revalidates them
+        CachedPrice cached = lookupCached(upperSymbol);
+        if (cached != null) {
             log.debug("Returning cached price for {}: {}", upperSymbol, cached.price);
             return cached.price;
         }
 
-        try {
-            // Build the API URL
-            String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/quote")
-                    .queryParam("symbol", upperSymbol)
-                    .queryParam("token", apiKey)
-                    .toUriString();
-
-            log.debug("Fetching price from Finnhub for symbol: {}", upperSymbol);
-
-            // Make the API call
-            String response = restTemplate.getForObject(url, String.class);
-
-            if (response != null) {
-                JsonNode jsonNode = objectMapper.readTree(response);
-
-                // "c" is the current price in Finnhub's response
-                JsonNode currentPriceNode = jsonNode.get("c");
-
-                if (currentPriceNode != null && !currentPriceNode.isNull()) {
-                    double priceValue = currentPriceNode.asDouble();
-
-                    // Finnhub returns 0 for invalid symbols
-                    if (priceValue > 0) {
-                        BigDecimal price = BigDecimal.valueOf(priceValue);
-                        priceCache.put(upperSymbol, new CachedPrice(price));
-                        log.info("Fetched price for {}: ${}", upperSymbol, price);
-                        return price;
-                    } else {
-                        log.warn("Finnhub returned 0 for symbol {} - symbol may be invalid", upperSymbol);
-                    }
-                }
+        cacheMisses.increment();
+        return await(fetchCoalesced(upperSymbol, maxTokenWaitMs, null), maxTokenWaitMs);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(String... symbols) {
+        Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+
+        if (symbols == null || symbols.length == 0) {
+            return new HashMap<>(prices);
+        }
+
+        // Serve cache hits immediately and collect the distinct misses
+        Set<String> misses = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol == null || symbol.isBlank()) {
+                continue;
+            }
+            String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+            BigDecimal streamed = lookupStreamed(upperSymbol);
+            CachedPrice cached = streamed == null ? lookupCached(upperSymbol) : null;
+            if (streamed != null) {
+                prices.put(upperSymbol, streamed);
+            } else if (cached != null) {
+                prices.put(upperSymbol, cached.price);
+            } else if (misses.add(upperSymbol)) {
+                cacheMisses.increment();
             }
-        } catch (Exception e) {
-            log.error("Failed to fetch price for {}: {}", upperSymbol, e.getMessage());
         }
 
-        return null;
+        if (misses.isEmpty()) {
+            return new HashMap<>(prices);
+        }
+
+        // Finnhub doesn't have a batch endpoint on free tier, so fan the misses out concurrently.
+        // Each fetch waits for its own rate-limit token and writes to the cache as soon as it lands.
+        long deadline = System.currentTimeMillis() + batchTimeoutMs;
+        int requested = prices.size() + misses.size();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(misses.size());
+        for (String upperSymbol : misses) {
+            futures.add(fetchCoalesced(upperSymbol, batchTokenWaitMs, quoteFetchExecutor)
+                    .thenAccept(price -> {
+                        if (price != null) {
+                            prices.put(upperSymbol, price);
+                        }
+                    }));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("Batch quote deadline reached: {} of {} symbols priced, rest will fill the cache in the background",
+                    prices.size(), requested);
+        } catch (ExecutionException e) {
+            log.error("Batch quote fetch failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Snapshot so late arrivals don't mutate the map handed to the caller
+        return new HashMap<>(prices);
     }
 
     @Override
-    public Map<String, BigDecimal> getCurrentPrices(String... symbols) {
-        Map<String, BigDecimal> prices = new HashMap<>();
+    public BigDecimal getCachedPrice(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return null;
+        }
 
-        if (symbols == null || symbols.length == 0) {
-            return prices;
+        String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+        BigDecimal streamed = lookupStreamed(upperSymbol);
+        if (streamed != null) {
+            return streamed;
+        }
+        CachedPrice cached = lookupCached(upperSymbol);
+        if (cached != null) {
+            return cached.price;
         }
 
-        // Finnhub doesn't have a batch endpoint on free tier, so we call individually
+        // Never fetch on the caller's thread; warm the cache for the next read instead
+        cacheMisses.increment();
+        refreshInBackground(upperSymbol);
+        return null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCachedPrices(Collection<String> symbols) {
+        Map<String, BigDecimal> prices = new HashMap<>();
         for (String symbol : symbols) {
-            BigDecimal price = getCurrentPrice(symbol);
+            BigDecimal price = getCachedPrice(symbol);
             if (price != null) {
-                prices.put(normalizeSymbol(symbol), price);
+                prices.put(StockPriceService.normalizeSymbol(symbol), price);
             }
         }
-
         return prices;
     }
 
+    @Override
+    public Long getPriceAgeMillis(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return null;
+        }
+        String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+        // A streamed symbol is as fresh as its last trade, so the refresher leaves it alone
+        if (streamedPrice(upperSymbol) != null) {
+            return 0L;
+        }
+        CachedPrice cached = priceCache.getIfPresent(upperSymbol);
+        return cached != null ? cached.ageMillis() : null;
+    }
+
+    @Override
+    public RefreshOutcome refreshPrice(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return RefreshOutcome.FAILED;
+        }
+        String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+        CompletableFuture<BigDecimal> promise = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(upperSymbol, promise) != null) {
+            return RefreshOutcome.REFRESHED;
+        }
+        try {
+            // Only use a token that is available right now; callers manage their own budget
+            Quote quote = quote(upperSymbol, 0);
+            CachedPrice cached = priceCache.getIfPresent(upperSymbol);
+            // Callers that joined still get the last known price on a failure
+            promise.complete(quote.price() != null ? quote.price() : cached != null ? cached.price : null);
+            return switch (quote.status()) {
+                case PRICED -> RefreshOutcome.REFRESHED;
+                case NOT_ASKED -> RefreshOutcome.RATE_LIMITED;
+                case NO_PRICE, FAILED -> RefreshOutcome.FAILED;
+            };
+        } catch (RuntimeException e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(upperSymbol, promise);
+        }
+    }
+
+    @Override
+    public PriceServiceMetrics getMetrics() {
+        return PriceServiceMetrics.builder()
+                .cachedSymbols(priceCache.estimatedSize())
+                .inFlightFetches(inFlight.size())
+                .streamedSymbols(tickStore.size())
+                .streamHits(streamHits.sum())
+                .cacheHits(cacheHits.sum())
+                .staleHits(staleHits.sum())
+                .cacheMisses(cacheMisses.sum())
+                .backgroundRefreshes(backgroundRefreshes.sum())
+                .evictions(priceCache.stats().evictionCount())
+                .coalescedCalls(coalescedCalls.sum())
+                .upstreamCalls(upstreamCalls.sum())
+                .upstreamFailures(upstreamFailures.sum())
+                .rateLimitedCalls(rateLimitedCalls.sum())
+                .shortCircuitedCalls(shortCircuitedCalls.sum())
+                .build();
+    }
+
     @Override
     public boolean isValidSymbol(String symbol) {
         if (symbol == null || symbol.isBlank()) {
             return false;
         }
 
-        // Try to get the price - if we get a valid price, the symbol is valid
-        BigDecimal price = getCurrentPrice(symbol);
-        return price != null && price.compareTo(BigDecimal.ZERO) > 0;
+        // Known symbols and symbols we already hold a price for cost no API call
+        String upperSymbol = StockPriceService.normalizeSymbol(symbol);
+        if (symbolUniverse.contains(upperSymbol) || priceCache.getIfPresent(upperSymbol) != null) {
+            return true;
+        }
+        if (!validateUnknownWithQuote) {
+            return false;
+        }
+        Boolean verdict = symbolVerdicts.getIfPresent(upperSymbol);
+        if (verdict != null) {
+            return verdict;
+        }
+
+        // A quote means the symbol exists; no quote means it does not. Without an
+        // answer (degraded, rate limited, failed) the symbol is refused but not remembered.
+        Quote quote = quote(upperSymbol, maxTokenWaitMs);
+        if (quote.status() == Quote.Status.NOT_ASKED || quote.status() == Quote.Status.FAILED) {
+            return false;
+        }
+        verdict = quote.status() == Quote.Status.PRICED;
+        symbolVerdicts.put(upperSymbol, verdict);
+        return verdict;
     }
 
 
     // ------------------------------------------------------------------------
-    // NEW NEWS IMPLEMENTATION
+    // NEWS
     // ------------------------------------------------------------------------
 
     /**
@@ -144,85 +373,280 @@ public class StockPriceServiceImpl implements StockPriceService {
     @Override
     public List<StockNews> getMarketNews(String category) {
         String safeCategory = (category == null || category.isBlank()) ? "general" : category;
+        return newsCache.getMarketNews(safeCategory, () -> fetchMarketNews(safeCategory));
+    }
 
-        try {
-            // Build URL: /news?category={category}&token={apiKey}
-            String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/news")
-                    .queryParam("category", safeCategory)
-                    .queryParam("token", apiKey)
-                    .toUriString();
+    /**
+     * Get company specific news for a date range.
+     * Days already in the news cache are not fetched again.
+     */
+    @Override
+    public List<StockNews> getCompanyNews(String symbol, LocalDate from, LocalDate to) {
+        if (symbol == null || symbol.isBlank()) return Collections.emptyList();
 
-            log.debug("Fetching market news for category: {}", safeCategory);
+        // Default to last 30 days if dates are missing
+        LocalDate toDate = (to != null) ? to : LocalDate.now();
+        LocalDate fromDate = (from != null) ? from : LocalDate.now().minusDays(30);
 
-            // Finnhub returns a JSON Array of objects
-            String response = restTemplate.getForObject(url, String.class);
+        return newsCache.getCompanyNews(StockPriceService.normalizeSymbol(symbol), fromDate, toDate,
+                this::fetchCompanyNews);
+    }
 
-            if (response != null) {
-                // Deserialize JSON Array to List<StockNews>
-                return objectMapper.readValue(response, new TypeReference<List<StockNews>>(){});
+    /**
+     * @return market news, or null if the fetch was skipped or failed
+     */
+    private List<StockNews> fetchMarketNews(String category) {
+        try {
+            if (acquireNewsToken()) {
+                return newsProvider.fetchMarketNews(category);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("Failed to fetch market news: {}", e.getMessage());
         }
+        return null;
+    }
 
-        return Collections.emptyList();
+    /**
+     * @return company news for the range, or null if the fetch was skipped or failed
+     */
+    private List<StockNews> fetchCompanyNews(String upperSymbol, LocalDate from, LocalDate to) {
+        try {
+            if (acquireNewsToken()) {
+                return newsProvider.fetchCompanyNews(upperSymbol, from, to);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to fetch news for {}: {}", upperSymbol, e.getMessage());
+        }
+        return null;
     }
 
     /**
-     * Get company specific news for a date range.
-     * Finnhub requires dates in YYYY-MM-DD format.
+     * News calls share the quote quota when the provider is rate limited.
      */
-    @Override
-    public List<StockNews> getCompanyNews(String symbol, LocalDate from, LocalDate to) {
-        if (symbol == null || symbol.isBlank()) return Collections.emptyList();
+    private boolean acquireNewsToken() throws InterruptedException {
+        if (!newsProvider.isAvailable()) {
+            shortCircuitedCalls.increment();
+            return false;
+        }
+        if (newsProvider.isRateLimited() && !rateLimiter.tryAcquire(maxTokenWaitMs, TimeUnit.MILLISECONDS)) {
+            rateLimitedCalls.increment();
+            log.warn("Finnhub rate limit reached, skipping news fetch");
+            return false;
+        }
+        return true;
+    }
 
-        // Default to last 30 days if dates are missing
-        LocalDate toDate = (to != null) ? to : LocalDate.now();
-        LocalDate fromDate = (from != null) ? from : LocalDate.now().minusDays(30);
+    /**
+     * Last streamed trade price, if the trade feed delivered one recently enough.
+     */
+    private BigDecimal lookupStreamed(String upperSymbol) {
+        BigDecimal price = streamedPrice(upperSymbol);
+        if (price != null) {
+            streamHits.increment();
+        }
+        return price;
+    }
+
+    /**
+     * Last trade price if recent enough. When a symbol's last trade has just aged out, publish
+     * the cached quote that now stands in for it, or fetch one if none is cached.
+     */
+    private BigDecimal streamedPrice(String upperSymbol) {
+        BigDecimal price = tickStore.getLastPrice(upperSymbol, streamMaxAgeMs);
+        if (price != null) {
+            // Check first so the hot read path doesn't write to the set on every hit
+            if (!streamSourced.contains(upperSymbol)) {
+                streamSourced.add(upperSymbol);
+            }
+        } else if (streamSourced.remove(upperSymbol)) {
+            CachedPrice cached = priceCache.getIfPresent(upperSymbol);
+            if (cached != null) {
+                log.debug("Trade stream for {} went quiet, falling back to the cached quote", upperSymbol);
+                eventPublisher.publishEvent(new PriceUpdatedEvent(upperSymbol, cached.price));
+            } else {
+                refreshInBackground(upperSymbol);
+            }
+        }
+        return price;
+    }
 
-        String upperSymbol = normalizeSymbol(symbol);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /**
+     * Look up a cached price, counting the hit and starting a background refresh
+     * when the entry is due (refresh-ahead) or already stale.
+     *
+     * @return the cached entry, fresh or stale, or null on a miss
+     */
+    private CachedPrice lookupCached(String upperSymbol) {
+        CachedPrice cached = priceCache.getIfPresent(upperSymbol);
+        if (cached == null) {
+            return null;
+        }
 
-        try {
-            // Build URL: /company-news?symbol={symbol}&from={from}&to={to}&token={apiKey}
-            String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/company-news")
-                    .queryParam("symbol", upperSymbol)
-                    .queryParam("from", fromDate.format(formatter))
-                    .queryParam("to", toDate.format(formatter))
-                    .queryParam("token", apiKey)
-                    .toUriString();
+        if (cached.ageMillis() > cacheTtlMs) {
+            staleHits.increment();
+        } else {
+            cacheHits.increment();
+        }
+
+        if (needsRefresh(cached)) {
+            refreshInBackground(upperSymbol);
+        }
+        return cached;
+    }
+
+    /**
+     * Revalidate a cached symbol without blocking the caller.
+     */
+    private void refreshInBackground(String upperSymbol) {
+        if (inFlight.containsKey(upperSymbol)) {
+            return;
+        }
+        backgroundRefreshes.increment();
+        fetchCoalesced(upperSymbol, batchTokenWaitMs, quoteFetchExecutor);
+    }
+
+    private boolean needsRefresh(CachedPrice cached) {
+        return cached.ageMillis() > cacheTtlMs - refreshAheadMs;
+    }
 
-            log.debug("Fetching company news for {} from {} to {}", upperSymbol, fromDate, toDate);
+    /**
+     * Wait at most {@code maxWaitMs} for a fetch, giving up with null. A joined fetch may
+     * belong to a background batch that queues for a token far longer than a synchronous
+     * caller should block. The timeout applies to a copy, so other waiters are unaffected.
+     */
+    private BigDecimal await(CompletableFuture<BigDecimal> fetch, long maxWaitMs) {
+        return fetch.copy().completeOnTimeout(null, maxWaitMs, TimeUnit.MILLISECONDS).join();
+    }
 
-            String response = restTemplate.getForObject(url, String.class);
+    /**
+     * Fetch a quote for the symbol, joining any fetch already in flight for it.
+     * The winning caller runs the fetch on {@code executor}, or inline when the executor is null.
+     */
+    private CompletableFuture<BigDecimal> fetchCoalesced(String upperSymbol, long maxWaitMs, Executor executor) {
+        CompletableFuture<BigDecimal> promise = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> existing = inFlight.putIfAbsent(upperSymbol, promise);
+        if (existing != null) {
+            coalescedCalls.increment();
+            log.debug("Joining in-flight price fetch for {}", upperSymbol);
+            return existing;
+        }
 
-            if (response != null) {
-                return objectMapper.readValue(response, new TypeReference<List<StockNews>>(){});
+        Runnable fetch = () -> {
+            try {
+                // Another fetch may have refreshed the cache between our cache check and winning the slot
+                CachedPrice cached = priceCache.getIfPresent(upperSymbol);
+                if (cached != null && !needsRefresh(cached)) {
+                    promise.complete(cached.price);
+                    return;
+                }
+                BigDecimal price = fetchPrice(upperSymbol, maxWaitMs);
+                // A failed revalidation keeps serving the last known price
+                promise.complete(price != null || cached == null ? price : cached.price);
+            } catch (RuntimeException e) {
+                promise.completeExceptionally(e);
+            } finally {
+                inFlight.remove(upperSymbol, promise);
+            }
+        };
+
+        if (executor == null) {
+            fetch.run();
+        } else {
+            try {
+                executor.execute(fetch);
+            } catch (RejectedExecutionException e) {
+                log.warn("Quote fetch queue is full, skipping {}", upperSymbol);
+                inFlight.remove(upperSymbol, promise);
+                promise.complete(null);
             }
-        } catch (Exception e) {
-            log.error("Failed to fetch news for {}: {}", upperSymbol, e.getMessage());
         }
+        return promise;
+    }
 
-        return Collections.emptyList();
+    /**
+     * Fetch a quote from the price provider and store it in the cache.
+     * Waits up to {@code maxWaitMs} for a rate-limit token before giving up.
+     */
+    private BigDecimal fetchPrice(String upperSymbol, long maxWaitMs) {
+        return quote(upperSymbol, maxWaitMs).price();
     }
 
     /**
-     * Normalize symbol for API calls.
-     * Handles crypto symbols and other special cases.
+     * Request one quote, caching the price if there is one, and record why there is none otherwise.
      */
-    private String normalizeSymbol(String symbol) {
-        String normalized = symbol.toUpperCase().trim();
+    private Quote quote(String upperSymbol, long maxWaitMs) {
+        try {
+            // Upstream is degraded: callers keep the last known price and no token is spent
+            if (!priceProvider.isAvailable()) {
+                shortCircuitedCalls.increment();
+                return Quote.NOT_ASKED;
+            }
+            if (priceProvider.isRateLimited() && !rateLimiter.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                rateLimitedCalls.increment();
+                log.warn("Finnhub rate limit reached, skipping price fetch for {}", upperSymbol);
+                return Quote.NOT_ASKED;
+            }
+            upstreamCalls.increment();
+
+            BigDecimal price = priceProvider.fetchPrice(upperSymbol);
+            if (price == null) {
+                return Quote.NO_PRICE;
+            }
+            storePrice(upperSymbol, price);
+            return new Quote(Quote.Status.PRICED, price);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Quote.NOT_ASKED;
+        } catch (UpstreamUnavailableException e) {
+            upstreamFailures.increment();
+            log.warn("Price fetch for {} failed fast: {}", upperSymbol, e.getMessage());
+        } catch (Exception e) {
+            upstreamFailures.increment();
+            log.error("Failed to fetch price for {}: {}", upperSymbol, e.getMessage());
+        }
+        return Quote.FAILED;
+    }
 
-        // Handle common crypto symbol formats
-        // BTC-USD -> Use Coinbase format for Finnhub: COINBASE:BTC-USD doesn't work
-        // For crypto, Finnhub needs exchange prefix, but for simplicity we'll
-        // try the standard format first
+    /**
+     * Cache a fetched price and announce it if it changed, unless a recent trade
+     * is the symbol's current price (the quote is announced if the stream goes quiet).
+     */
+    private void storePrice(String upperSymbol, BigDecimal price) {
+        CachedPrice previous = priceCache.getIfPresent(upperSymbol);
+        priceCache.put(upperSymbol, new CachedPrice(price));
+        log.info("Fetched price for {}: ${}", upperSymbol, price);
+        boolean streamed = tickStore.getLastPrice(upperSymbol, streamMaxAgeMs) != null;
+        if (!streamed && (previous == null || previous.price.compareTo(price) != 0)) {
+            eventPublisher.publishEvent(new PriceUpdatedEvent(upperSymbol, price));
+        }
+    }
 
-        return normalized;
+    /**
+     * Result of one quote request: the price, or why there is none.
+     */
+    private record Quote(Status status, BigDecimal price) {
+
+        static final Quote NOT_ASKED = new Quote(Status.NOT_ASKED, null);
+        static final Quote NO_PRICE = new Quote(Status.NO_PRICE, null);
+        static final Quote FAILED = new Quote(Status.FAILED, null);
+
+        enum Status {
+            PRICED,
+            // The provider answered without a price: the symbol is unknown to it
+            NO_PRICE,
+            // No call was made: upstream degraded or no rate-limit token in time
+            NOT_ASKED,
+            // The call was made and failed
+            FAILED
+        }
     }
 
     /**
-     * Simple cache entry with expiration.
+     * Cache entry recording when the price was fetched.
      */
     private static class CachedPrice {
         final BigDecimal price;
@@ -233,8 +657,8 @@ public class StockPriceServiceImpl implements StockPriceService {
             this.timestamp = System.currentTimeMillis();
         }
 
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_DURATION_MS;
+        long ageMillis() {
+            return System.currentTimeMillis() - timestamp;
         }
     }
 
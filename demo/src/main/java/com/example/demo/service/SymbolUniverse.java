@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SymbolSuggestion;
+import com.example.demo.util.BloomFilter;
+import com.example.demo.util.SymbolTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Locally loaded set of known ticker symbols.
+ *
+ * The universe is read once from a CSV file ({@code symbol,name} with a header)
+ * into an array-backed trie, with a Bloom filter in front so most unknown
+ * symbols are rejected without touching the trie. Lookups and prefix
+ * suggestions never call the market data provider.
+ */
+@Component
+@Slf4j
+public class SymbolUniverse {
+
+    private final SymbolTrie trie;
+    private final BloomFilter bloomFilter;
+    // Indexed by trie rank
+    private final String[] symbols;
+    private final String[] names;
+
+    @Autowired
+    public SymbolUniverse(@Value("${symbols.universe.file:classpath:symbols/us-symbols.csv}") Resource file)
+            throws IOException {
+        this(file.getInputStream());
+        log.info("Loaded {} symbols into the symbol universe ({} trie nodes)", symbols.length, trie.nodeCount());
+    }
+
+    SymbolUniverse(InputStream in) throws IOException {
+        SortedMap<String, String> entries = load(in);
+        this.symbols = entries.keySet().toArray(new String[0]);
+        this.names = entries.values().toArray(new String[0]);
+        this.trie = SymbolTrie.build(Arrays.asList(symbols));
+        this.bloomFilter = new BloomFilter(symbols.length, 0.01);
+        for (String symbol : symbols) {
+            bloomFilter.add(symbol);
+        }
+    }
+
+    /**
+     * Whether the normalized (upper-case) symbol is in the universe.
+     */
+    public boolean contains(String symbol) {
+        return bloomFilter.mightContain(symbol) && trie.rankOf(symbol) >= 0;
+    }
+
+    /**
+     * Up to {@code limit} symbols starting with the prefix, in alphabetical order.
+     */
+    public List<SymbolSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        int[] ranks = trie.prefixRanks(prefix.toUpperCase().trim(), limit);
+        List<SymbolSuggestion> suggestions = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            suggestions.add(new SymbolSuggestion(symbols[rank], names[rank]));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    private static SortedMap<String, String> load(InputStream in) throws IOException {
+        SortedMap<String, String> entries = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                String symbol = (comma < 0 ? line : line.substring(0, comma)).toUpperCase().trim();
+                String name = comma < 0 ? "" : line.substring(comma + 1).trim();
+                if (!symbol.isEmpty()) {
+                    entries.putIfAbsent(symbol, name);
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import com.example.demo.event.PriceUpdatedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last traded price per symbol, fed by the streaming trade feed.
+ *
+ * Writers (the feed's consumer thread) build the BigDecimal once per tick;
+ * readers only do a map lookup and two volatile reads, with no allocation.
+ * A tick that changes a symbol's price is published as a PriceUpdatedEvent.
+ */
+@Component
+public class TickStore {
+
+    private final Map<String, LastTrade> lastTrades = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TickStore(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Record a trade, ignoring it if a newer one for the symbol is already stored.
+     */
+    public void update(String symbol, BigDecimal price, long timestampMillis) {
+        LastTrade trade = lastTrades.computeIfAbsent(symbol, k -> new LastTrade());
+        boolean changed = false;
+        synchronized (trade) {
+            if (timestampMillis >= trade.timestampMillis) {
+                changed = trade.price == null || trade.price.compareTo(price) != 0;
+                trade.price = price;
+                trade.timestampMillis = timestampMillis;
+            }
+        }
+        if (changed) {
+            eventPublisher.publishEvent(new PriceUpdatedEvent(symbol, price));
+        }
+    }
+
+    /**
+     * Get the last traded price for a normalized symbol.
+     *
+     * @param maxAgeMs Ignore trades older than this
+     * @return Last price, or null if there is no recent enough trade
+     */
+    public BigDecimal getLastPrice(String symbol, long maxAgeMs) {
+        LastTrade trade = lastTrades.get(symbol);
+        if (trade == null) {
+            return null;
+        }
+        // Read the timestamp first: a writer publishes the price before the timestamp
+        long timestamp = trade.timestampMillis;
+        BigDecimal price = trade.price;
+        return System.currentTimeMillis() - timestamp <= maxAgeMs ? price : null;
+    }
+
+    public int size() {
+        return lastTrades.size();
+    }
+
+    private static final class LastTrade {
+        volatile BigDecimal price;
+        volatile long timestampMillis = Long.MIN_VALUE;
+    }
+}
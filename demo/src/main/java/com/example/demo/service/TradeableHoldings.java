@@ -0,0 +1,46 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read access to the holdings that have a live market price
+ * (STOCK, ETF, CRYPTO, MUTUAL_FUND - see AssetType.isTradeable()).
+ */
+@Component
+@RequiredArgsConstructor
+public class TradeableHoldings {
+
+    private final StockRepository stockRepository;
+    private final EtfRepository etfRepository;
+    private final CryptoRepository cryptoRepository;
+    private final MutualFundRepository mutualFundRepository;
+
+    /**
+     * Quantity and cost basis per symbol for every tradeable repository.
+     * A symbol held under several asset types appears once per type.
+     */
+    public List<HoldingSummary> summarizeBySymbol() {
+        return Stream.of(
+                        stockRepository.summarizeHoldingsBySymbol(),
+                        etfRepository.summarizeHoldingsBySymbol(),
+                        cryptoRepository.summarizeHoldingsBySymbol(),
+                        mutualFundRepository.summarizeHoldingsBySymbol())
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Distinct normalized (upper-case) symbols of all tradeable holdings.
+     */
+    public Set<String> symbols() {
+        return summarizeBySymbol().stream()
+                .map(h -> StockPriceService.normalizeSymbol(h.getSymbol()))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
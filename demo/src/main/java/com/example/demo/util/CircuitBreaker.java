@@ -0,0 +1,101 @@
+package com.example.demo.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe consecutive-failure circuit breaker.
+ *
+ * CLOSED: calls pass; {@code failureThreshold} failures in a row open the circuit.
+ * OPEN: calls are refused until {@code openDurationMs} has passed.
+ * HALF_OPEN: a single probe call is let through; its success closes the
+ * circuit, its failure opens it again for another full period.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long rejectedCalls;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be greater than 0");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Claim permission for a call. Every permitted call must be followed by
+     * {@link #recordSuccess()} or {@link #recordFailure()}.
+     *
+     * @return false if the circuit is open (or a half-open probe is already running)
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationMs) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejectedCalls++;
+        return false;
+    }
+
+    /**
+     * Whether a call would be permitted right now, without claiming the half-open probe.
+     */
+    public synchronized boolean isCallPermitted() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return clock.getAsLong() - openedAt >= openDurationMs;
+            default:
+                return !probeInFlight;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+}
@@ -0,0 +1,450 @@
+package com.example.demo.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV reader that works directly on bytes.
+ *
+ * Input is read in large blocks into one reused byte array. Each call to
+ * {@link #next()} finds the next record (a newline outside a quoted field; a
+ * quote opens a quoted field only as the first byte of the field), splits it
+ * into fields in place and records their offsets; quoted fields are unescaped
+ * in place as well, since unescaping only ever shortens them. Nothing is
+ * allocated per record: callers decode only the fields they need, and numbers
+ * and dates are parsed straight from the bytes. A record split across two
+ * reads is moved to the front of the array (which grows if a single record
+ * does not fit).
+ *
+ * A record longer than the maximum record size (1 MiB by default), such as
+ * the rest of a file after an unclosed quote, is not buffered: it is skipped
+ * up to the next line break and reported by {@link #isOversized()}, with no
+ * fields.
+ *
+ * Field accessors refer to the current record and are valid until the next
+ * call to {@link #next()}. Fields are trimmed of ASCII whitespace when decoded.
+ * Not thread-safe.
+ */
+public class CsvTokenizer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_RECORD_BYTES = 1024 * 1024;
+    // Up to 18 digits always fit in a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // States of the record-end search
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    // A quote inside a quoted field: its end, or the first half of an escaped quote
+    private static final int QUOTE_IN_QUOTED = 3;
+    // Past the closing quote; split() ignores the rest of the field
+    private static final int AFTER_QUOTED = 4;
+
+    private final InputStream in;
+    private final int maxRecordBytes;
+    private byte[] buf;
+    // Valid bytes are buf[0, limit); the next record starts at pos
+    private int limit;
+    private int pos;
+    private boolean eof;
+
+    // Progress of the search for the end of the next record, relative to pos
+    private int scanned;
+    private int state = FIELD_START;
+    private boolean oversized;
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+    private long recordNumber;
+
+    public CsvTokenizer(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvTokenizer(InputStream in, int bufferSize) {
+        this(in, bufferSize, DEFAULT_MAX_RECORD_BYTES);
+    }
+
+    public CsvTokenizer(InputStream in, int bufferSize, int maxRecordBytes) {
+        this.in = in;
+        this.buf = new byte[Math.max(bufferSize, 16)];
+        this.maxRecordBytes = maxRecordBytes;
+    }
+
+    /**
+     * Advance to the next record.
+     *
+     * @return false at end of input
+     */
+    public boolean next() throws IOException {
+        oversized = false;
+        int end;
+        while ((end = findRecordEnd()) < 0) {
+            if (eof) {
+                if (pos >= limit) {
+                    fieldCount = 0;
+                    return false;
+                }
+                // Last record without a trailing newline
+                end = limit;
+                break;
+            }
+            if (limit - pos >= maxRecordBytes) {
+                skipRecord();
+                return true;
+            }
+            fill();
+        }
+
+        int start = pos;
+        pos = Math.min(end + 1, limit);
+        scanned = 0;
+        state = FIELD_START;
+
+        if (end > start && buf[end - 1] == '\r') {
+            end--;
+        }
+        split(start, end);
+        recordNumber++;
+        return true;
+    }
+
+    /**
+     * 1-based number of the current record, header included.
+     * Equals the line number unless quoted fields span lines.
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Whether the current record exceeded the maximum record size and was skipped.
+     */
+    public boolean isOversized() {
+        return oversized;
+    }
+
+    public int maxRecordBytes() {
+        return maxRecordBytes;
+    }
+
+    /**
+     * Whether the current record is an empty or whitespace-only line.
+     */
+    public boolean isBlankRecord() {
+        return fieldCount == 1 && isBlank(0);
+    }
+
+    public boolean isBlank(int field) {
+        return trimStart(field) == trimEnd(field);
+    }
+
+    /**
+     * Length in bytes of the trimmed field.
+     */
+    public int length(int field) {
+        return trimEnd(field) - trimStart(field);
+    }
+
+    /**
+     * The trimmed field decoded as UTF-8.
+     */
+    public String text(int field) {
+        int s = trimStart(field);
+        return new String(buf, s, trimEnd(field) - s, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether the trimmed field equals the ASCII value, ignoring case.
+     */
+    public boolean equalsIgnoreCase(int field, String value) {
+        int s = trimStart(field);
+        int e = trimEnd(field);
+        if (e - s != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (toUpper(buf[s + i]) != toUpper(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse the trimmed field as a plain decimal ({@code -12.345}) without building a String.
+     * Values with more than 18 digits or an exponent fall back to {@code new BigDecimal(String)}.
+     *
+     * @throws NumberFormatException if the field is not a number
+     */
+    public BigDecimal decimal(int field) {
+        int s = trimStart(field);
+        int e = trimEnd(field);
+        int p = s;
+        boolean negative = false;
+        if (p < e && (buf[p] == '-' || buf[p] == '+')) {
+            negative = buf[p] == '-';
+            p++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        for (; p < e; p++) {
+            byte b = buf[p];
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return new BigDecimal(text(field));
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (dot) {
+                    scale++;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else if ((b == 'e' || b == 'E') && digits > 0) {
+                return new BigDecimal(text(field));
+            } else {
+                throw new NumberFormatException("Not a number: '" + text(field) + "'");
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Not a number: '" + text(field) + "'");
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Parse the trimmed field as an ISO date ({@code yyyy-MM-dd}).
+     *
+     * @throws DateTimeException if the field is not a valid ISO date
+     */
+    public LocalDate date(int field) {
+        int s = trimStart(field);
+        if (trimEnd(field) - s != 10 || buf[s + 4] != '-' || buf[s + 7] != '-') {
+            throw new DateTimeException("Not an ISO date: '" + text(field) + "'");
+        }
+        int year = digits(s, 4);
+        int month = digits(s + 5, 2);
+        int day = digits(s + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            throw new DateTimeException("Not an ISO date: '" + text(field) + "'");
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ------------------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------------------
+
+    /**
+     * Index of the newline ending the record at pos, or -1 if it is not in the buffer yet.
+     * Quotes are recognized as split() reads them: only a quote that starts a field opens
+     * a quoted field, so a stray quote inside an unquoted field is plain text.
+     */
+    private int findRecordEnd() {
+        for (int i = pos + scanned; i < limit; i++) {
+            byte b = buf[i];
+            if (state == QUOTED) {
+                if (b == '"') {
+                    state = QUOTE_IN_QUOTED;
+                }
+                continue;
+            }
+            if (state == QUOTE_IN_QUOTED) {
+                if (b == '"') {
+                    state = QUOTED;
+                    continue;
+                }
+                state = AFTER_QUOTED;
+            } else if (state == FIELD_START) {
+                if (b == '"') {
+                    state = QUOTED;
+                    continue;
+                }
+                state = UNQUOTED;
+            }
+            if (b == '\n') {
+                return i;
+            }
+            if (b == ',') {
+                state = FIELD_START;
+            }
+        }
+        scanned = limit - pos;
+        return -1;
+    }
+
+    /**
+     * Drop the oversized record at pos: everything up to and including the next
+     * line break, quoted or not.
+     */
+    private void skipRecord() throws IOException {
+        boolean found = false;
+        while (!found) {
+            for (int i = pos; i < limit; i++) {
+                if (buf[i] == '\n') {
+                    pos = i + 1;
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                pos = limit;
+                if (eof) {
+                    break;
+                }
+                fill();
+            }
+        }
+        scanned = 0;
+        state = FIELD_START;
+        fieldCount = 0;
+        oversized = true;
+        recordNumber++;
+    }
+
+    /**
+     * Move the partial record to the front of the buffer and read more after it.
+     */
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    /**
+     * Split buf[start, end) into fields, unescaping quoted fields in place.
+     */
+    private void split(int start, int end) {
+        fieldCount = 0;
+        int i = start;
+        while (true) {
+            int fieldStart;
+            int fieldEnd;
+            if (i < end && buf[i] == '"') {
+                int read = i + 1;
+                int write = read;
+                fieldStart = write;
+                while (read < end) {
+                    byte b = buf[read];
+                    if (b == '"') {
+                        if (read + 1 < end && buf[read + 1] == '"') {
+                            buf[write++] = '"';
+                            read += 2;
+                            continue;
+                        }
+                        read++;
+                        break;
+                    }
+                    buf[write++] = b;
+                    read++;
+                }
+                fieldEnd = write;
+                // Anything between the closing quote and the delimiter is ignored
+                while (read < end && buf[read] != ',') {
+                    read++;
+                }
+                i = read;
+            } else {
+                fieldStart = i;
+                while (i < end && buf[i] != ',') {
+                    i++;
+                }
+                fieldEnd = i;
+            }
+            addField(fieldStart, fieldEnd);
+            if (i >= end) {
+                return;
+            }
+            i++;
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private int trimStart(int field) {
+        checkField(field);
+        int s = starts[field];
+        int e = ends[field];
+        while (s < e && isSpace(buf[s])) {
+            s++;
+        }
+        return s;
+    }
+
+    private int trimEnd(int field) {
+        int s = trimStart(field);
+        int e = ends[field];
+        while (e > s && isSpace(buf[e - 1])) {
+            e--;
+        }
+        return e;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount);
+        }
+    }
+
+    /**
+     * Value of {@code count} ASCII digits at offset, or -1 if any is not a digit.
+     */
+    private int digits(int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            byte b = buf[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static int toUpper(int c) {
+        return c >= 'a' && c <= 'z' ? c - 32 : c;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Decimal number held as a long unscaled value and a scale (0 to 18), with the
+ * arithmetic of BigDecimal: add and subtract give the larger scale, multiply
+ * the sum of the scales, and divide rounds half up to the requested scale. A
+ * result therefore converts back to the BigDecimal, scale included, that the
+ * same BigDecimal expression would give.
+ *
+ * Unlike BigDecimal there is no fallback to an arbitrary-precision
+ * representation: an operation whose result does not fit in a long, or needs
+ * a scale above 18, throws ArithmeticException rather than losing digits.
+ * Conversion from BigDecimal is exact or throws the same way.
+ *
+ * With the schema's scales (4 for quantities, 2 for prices), a quantity times
+ * a price has scale 6 and fits as long as it stays under about 9.2 trillion.
+ */
+public record FixedPoint(long unscaled, int scale) implements Comparable<FixedPoint> {
+
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public FixedPoint {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new ArithmeticException("Scale " + scale + " is outside 0.." + MAX_SCALE);
+        }
+    }
+
+    /**
+     * The same number at the same scale (a negative scale becomes 0).
+     *
+     * @throws ArithmeticException if the scale is above 18 or the unscaled value does not fit in a long
+     */
+    public static FixedPoint of(BigDecimal value) {
+        BigDecimal scaled = value.scale() < 0 ? value.setScale(0) : value;
+        if (scaled.scale() > MAX_SCALE) {
+            throw new ArithmeticException("Scale " + scaled.scale() + " is outside 0.." + MAX_SCALE);
+        }
+        return new FixedPoint(scaled.unscaledValue().longValueExact(), scaled.scale());
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    public int signum() {
+        return Long.signum(unscaled);
+    }
+
+    public FixedPoint add(FixedPoint other) {
+        int resultScale = Math.max(scale, other.scale);
+        return new FixedPoint(Math.addExact(rescale(resultScale), other.rescale(resultScale)), resultScale);
+    }
+
+    public FixedPoint subtract(FixedPoint other) {
+        int resultScale = Math.max(scale, other.scale);
+        return new FixedPoint(Math.subtractExact(rescale(resultScale), other.rescale(resultScale)), resultScale);
+    }
+
+    public FixedPoint multiply(FixedPoint other) {
+        return new FixedPoint(Math.multiplyExact(unscaled, other.unscaled), scale + other.scale);
+    }
+
+    /**
+     * Multiply by an integer, keeping the scale (as BigDecimal.multiply(BigDecimal.valueOf(factor)) does).
+     */
+    public FixedPoint multiply(long factor) {
+        return new FixedPoint(Math.multiplyExact(unscaled, factor), scale);
+    }
+
+    /**
+     * This divided by the divisor, rounded half up (away from zero) to the given scale.
+     *
+     * @throws ArithmeticException if the divisor is zero or an intermediate value overflows
+     */
+    public FixedPoint divide(FixedPoint divisor, int resultScale) {
+        if (divisor.unscaled == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        // this / divisor = (unscaled * 10^shift / divisor.unscaled) / 10^resultScale
+        int shift = resultScale + divisor.scale - scale;
+        long dividend = shift >= 0 ? Math.multiplyExact(unscaled, powerOfTen(shift)) : unscaled;
+        long div = shift >= 0 ? divisor.unscaled : Math.multiplyExact(divisor.unscaled, powerOfTen(-shift));
+        long quotient = dividend / div;
+        long remainder = Math.absExact(dividend % div);
+        long absDivisor = Math.absExact(div);
+        if (remainder >= absDivisor - remainder) {
+            quotient = Math.addExact(quotient, (dividend < 0) == (div < 0) ? 1 : -1);
+        }
+        return new FixedPoint(quotient, resultScale);
+    }
+
+    /**
+     * Numeric comparison, ignoring scale (as BigDecimal.compareTo).
+     */
+    @Override
+    public int compareTo(FixedPoint other) {
+        if (scale == other.scale) {
+            return Long.compare(unscaled, other.unscaled);
+        }
+        int commonScale = Math.max(scale, other.scale);
+        try {
+            return Long.compare(rescale(commonScale), other.rescale(commonScale));
+        } catch (ArithmeticException ex) {
+            return toBigDecimal().compareTo(other.toBigDecimal());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private long rescale(int newScale) {
+        return newScale == scale ? unscaled : Math.multiplyExact(unscaled, powerOfTen(newScale - scale));
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent > MAX_SCALE) {
+            throw new ArithmeticException("10^" + exponent + " does not fit in a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+}
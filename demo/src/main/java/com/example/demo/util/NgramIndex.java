@@ -0,0 +1,251 @@
+package com.example.demo.util;
+
+import java.util.*;
+
+/**
+ * In-memory inverted index for short text fields (e.g. symbol and name), keyed by a long id.
+ *
+ * Each word of each field is indexed by its trigrams and by its one- and
+ * two-character prefixes. Query tokens of three or more characters match
+ * anywhere inside a word (all their trigrams must be present, then the
+ * candidate is verified); shorter tokens match word prefixes. All tokens of a
+ * query must match. Postings are sorted int arrays of internal document
+ * numbers, so intersecting them costs roughly the size of the rarest gram.
+ *
+ * Re-putting a key tombstones the old document; the index compacts itself
+ * once tombstones outnumber live documents. Not thread-safe: callers guard it
+ * with a read/write lock.
+ */
+public class NgramIndex {
+
+    /**
+     * A matching key and its relevance score.
+     */
+    public record Hit(long key, int score) {
+    }
+
+    private static final int MIN_COMPACT_DOCS = 1024;
+
+    private final int fieldCount;
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+    private long[] keys = new long[64];
+    private String[][] fields = new String[64][];
+    private final BitSet deleted = new BitSet();
+    private int nextDoc;
+
+    /**
+     * @param fieldCount number of fields per document; earlier fields rank higher
+     */
+    public NgramIndex(int fieldCount) {
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Index (or re-index) the key with the given field values.
+     */
+    public void put(long key, String... values) {
+        if (values.length != fieldCount) {
+            throw new IllegalArgumentException("Expected " + fieldCount + " fields");
+        }
+        remove(key);
+
+        int doc = nextDoc++;
+        if (doc == keys.length) {
+            keys = Arrays.copyOf(keys, doc * 2);
+            fields = Arrays.copyOf(fields, doc * 2);
+        }
+        String[] normalized = new String[fieldCount];
+        Set<String> grams = new HashSet<>();
+        for (int f = 0; f < fieldCount; f++) {
+            normalized[f] = normalize(values[f]);
+            for (String word : words(normalized[f])) {
+                addGrams(word, grams);
+            }
+        }
+        keys[doc] = key;
+        fields[doc] = normalized;
+        docByKey.put(key, doc);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> new IntList()).add(doc);
+        }
+    }
+
+    public void remove(long key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        fields[doc] = null;
+        if (deleted.cardinality() > Math.max(MIN_COMPACT_DOCS, docByKey.size())) {
+            compact();
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        docByKey.clear();
+        deleted.clear();
+        keys = new long[64];
+        fields = new String[64][];
+        nextDoc = 0;
+    }
+
+    public int size() {
+        return docByKey.size();
+    }
+
+    /**
+     * All keys matching every token of the query, best first.
+     * Ties are broken by the first field, then by key.
+     */
+    public List<Hit> search(String query) {
+        List<String> tokens = words(normalize(query));
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (String token : tokens) {
+            Set<String> grams = new HashSet<>();
+            queryGrams(token, grams);
+            for (String gram : grams) {
+                IntList list = postings.get(gram);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        List<Hit> hits = new ArrayList<>();
+        IntList rarest = lists.get(0);
+        candidates:
+        for (int i = 0; i < rarest.size(); i++) {
+            int doc = rarest.get(i);
+            if (deleted.get(doc)) {
+                continue;
+            }
+            for (int l = 1; l < lists.size(); l++) {
+                if (!lists.get(l).contains(doc)) {
+                    continue candidates;
+                }
+            }
+            int score = score(fields[doc], tokens);
+            if (score > 0) {
+                hits.add(new Hit(keys[doc], score));
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(hit -> fields[docByKey.get(hit.key())][0])
+                .thenComparingLong(Hit::key));
+        return hits;
+    }
+
+    /**
+     * Sum over tokens of the best match in any field, weighted by field position.
+     * Returns 0 if any token does not actually occur (trigram false positive).
+     */
+    private int score(String[] docFields, List<String> tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (int f = 0; f < fieldCount; f++) {
+                int weight = fieldCount - f;
+                best = Math.max(best, weight * matchQuality(docFields[f], token));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * 4 exact field, 3 field prefix, 2 word prefix, 1 inside a word (3+ chars only), 0 no match.
+     */
+    private static int matchQuality(String field, String token) {
+        if (field.equals(token)) {
+            return 4;
+        }
+        if (field.startsWith(token)) {
+            return 3;
+        }
+        int idx = field.indexOf(token);
+        while (idx >= 0) {
+            if (idx == 0 || field.charAt(idx - 1) == ' ') {
+                return 2;
+            }
+            idx = field.indexOf(token, idx + 1);
+        }
+        return token.length() >= 3 && field.contains(token) ? 1 : 0;
+    }
+
+    private void compact() {
+        Map<Long, String[]> live = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : docByKey.entrySet()) {
+            live.put(entry.getKey(), fields[entry.getValue()]);
+        }
+        clear();
+        live.forEach((key, values) -> put(key, values));
+    }
+
+    private static void addGrams(String word, Set<String> grams) {
+        grams.add("^" + word.substring(0, 1));
+        if (word.length() >= 2) {
+            grams.add("^" + word.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            grams.add(word.substring(i, i + 3));
+        }
+    }
+
+    private static void queryGrams(String token, Set<String> grams) {
+        if (token.length() < 3) {
+            grams.add("^" + token);
+            return;
+        }
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    private static List<String> words(String normalized) {
+        return normalized.isEmpty() ? Collections.emptyList() : Arrays.asList(normalized.split(" "));
+    }
+
+    /**
+     * Growable, ascending int array.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
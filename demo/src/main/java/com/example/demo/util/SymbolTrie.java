@@ -0,0 +1,146 @@
+package com.example.demo.util;
+
+import java.util.*;
+
+/**
+ * Immutable, array-backed trie over a set of keys.
+ *
+ * Nodes are laid out breadth-first in parallel arrays and the children of a
+ * node are contiguous and sorted by label, so a lookup is one binary search per
+ * character and prefix enumeration walks keys in lexicographic order. Each key
+ * maps to its rank in sorted order, which callers use to index side arrays.
+ */
+public class SymbolTrie {
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    // Rank of the key ending at the node, or -1
+    private final int[] rank;
+    private final int size;
+
+    private SymbolTrie(char[] labels, int[] firstChild, int[] childCount, int[] rank, int size) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.rank = rank;
+        this.size = size;
+    }
+
+    /**
+     * Build a trie from keys that are already sorted and distinct;
+     * the key at position i gets rank i.
+     */
+    public static SymbolTrie build(List<String> sortedKeys) {
+        BuildNode root = new BuildNode();
+        for (int i = 0; i < sortedKeys.size(); i++) {
+            BuildNode node = root;
+            String key = sortedKeys.get(i);
+            for (int c = 0; c < key.length(); c++) {
+                node = node.children.computeIfAbsent(key.charAt(c), k -> new BuildNode());
+            }
+            node.rank = i;
+        }
+
+        // Breadth-first numbering keeps each node's children contiguous
+        List<BuildNode> order = new ArrayList<>();
+        List<Character> nodeLabels = new ArrayList<>();
+        order.add(root);
+        nodeLabels.add('\0');
+        int[] first = new int[16];
+        for (int i = 0; i < order.size(); i++) {
+            BuildNode node = order.get(i);
+            if (first.length <= i) {
+                first = Arrays.copyOf(first, first.length * 2);
+            }
+            first[i] = order.size();
+            for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                order.add(child.getValue());
+                nodeLabels.add(child.getKey());
+            }
+        }
+
+        int nodes = order.size();
+        char[] labels = new char[nodes];
+        int[] childCount = new int[nodes];
+        int[] rank = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            labels[i] = nodeLabels.get(i);
+            childCount[i] = order.get(i).children.size();
+            rank[i] = order.get(i).rank;
+        }
+        return new SymbolTrie(labels, Arrays.copyOf(first, nodes), childCount, rank, sortedKeys.size());
+    }
+
+    /**
+     * @return rank of the key, or -1 if it is not in the trie
+     */
+    public int rankOf(String key) {
+        int node = find(key);
+        return node < 0 ? -1 : rank[node];
+    }
+
+    /**
+     * Ranks of up to {@code limit} keys starting with the prefix, in lexicographic order.
+     */
+    public int[] prefixRanks(String prefix, int limit) {
+        int node = find(prefix);
+        if (node < 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        int[] ranks = new int[Math.min(limit, size)];
+        int found = 0;
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty() && found < ranks.length) {
+            int current = stack.pop();
+            if (rank[current] >= 0) {
+                ranks[found++] = rank[current];
+            }
+            // Push in reverse so the smallest label is visited first
+            for (int child = firstChild[current] + childCount[current] - 1; child >= firstChild[current]; child--) {
+                stack.push(child);
+            }
+        }
+        return Arrays.copyOf(ranks, found);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    private int find(String key) {
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            int from = firstChild[node];
+            int to = from + childCount[node] - 1;
+            char c = key.charAt(i);
+            node = -1;
+            while (from <= to) {
+                int mid = (from + to) >>> 1;
+                if (labels[mid] < c) {
+                    from = mid + 1;
+                } else if (labels[mid] > c) {
+                    to = mid - 1;
+                } else {
+                    node = mid;
+                    break;
+                }
+            }
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    private static final class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        int rank = -1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer of trade ticks.
+ *
+ * Ticks are stored field-by-field in preallocated parallel arrays, so publishing
+ * and draining do not allocate. Producers claim a slot with a CAS on the tail
+ * sequence and mark it published once written; the single consumer reads slots
+ * in order and releases them by advancing the head. When the buffer is full the
+ * tick is dropped: a newer trade for the same symbol will follow shortly.
+ */
+public class TickRingBuffer {
+
+    /**
+     * Receives drained ticks on the consumer thread.
+     */
+    @FunctionalInterface
+    public interface TickHandler {
+        void onTick(String symbol, double price, long timestampMillis);
+    }
+
+    private final int mask;
+    private final String[] symbols;
+    private final double[] prices;
+    private final long[] timestamps;
+    // Sequence number last published into each slot
+    private final AtomicLongArray published;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TickRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.symbols = new String[capacity];
+        this.prices = new double[capacity];
+        this.timestamps = new long[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Publish a tick. Safe to call from any number of threads.
+     *
+     * @return false if the buffer was full and the tick was dropped
+     */
+    public boolean offer(String symbol, double price, long timestampMillis) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head.get() > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int idx = (int) (seq & mask);
+        symbols[idx] = symbol;
+        prices[idx] = price;
+        timestamps[idx] = timestampMillis;
+        published.lazySet(idx, seq);
+        return true;
+    }
+
+    /**
+     * Hand up to {@code maxTicks} published ticks to the handler, in order.
+     * Must only be called from the single consumer thread.
+     *
+     * @return number of ticks drained
+     */
+    public int drain(TickHandler handler, int maxTicks) {
+        long seq = head.get();
+        int drained = 0;
+        while (drained < maxTicks) {
+            int idx = (int) (seq & mask);
+            if (published.get(idx) != seq) {
+                break;
+            }
+            String symbol = symbols[idx];
+            double price = prices[idx];
+            long timestamp = timestamps[idx];
+            symbols[idx] = null;
+            seq++;
+            head.lazySet(seq);
+            handler.onTick(symbol, price, timestamp);
+            drained++;
+        }
+        return drained;
+    }
+
+    public long size() {
+        return tail.get() - head.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe token bucket rate limiter.
+ * The bucket starts full, holds at most {@code capacity} tokens and refills
+ * continuously at {@code capacity} tokens per refill period.
+ *
+ * Shared by every caller of an upstream API so that the combined call rate
+ * never exceeds the provider quota (e.g. Finnhub free tier: 60 calls/minute).
+ */
+public class TokenBucketRateLimiter {
+
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(long capacity, long refillPeriod, TimeUnit unit) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / unit.toNanos(refillPeriod);
+        this.availableTokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take a token if one is available right now.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (availableTokens >= 1) {
+            availableTokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a token, waiting up to the given timeout for one to become available.
+     *
+     * @return true if a token was acquired, false if the timeout elapsed first
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (availableTokens >= 1) {
+                    availableTokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) Math.ceil((1 - availableTokens) / tokensPerNano);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, remaining));
+        }
+    }
+
+    /**
+     * Number of whole tokens that could be acquired immediately.
+     */
+    public synchronized long availableTokens() {
+        refill();
+        return (long) availableTokens;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            availableTokens = Math.min(capacity, availableTokens + elapsed * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The k best items offered, in a bounded heap whose root is the worst item kept.
+ *
+ * Offering costs O(log k) and memory stays O(k) however many items are offered,
+ * instead of sorting all n to take the first k. Items that compare equal keep
+ * the order they were offered in, as a stable sort followed by limit(k) would.
+ * Two instances can be merged (left then right, as a Collector combiner does),
+ * so separate chunks of a sequence can be reduced in parallel.
+ *
+ * Not thread-safe.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<Entry<T>> order;
+    // Reversed order: the root is the first entry to evict
+    private final PriorityQueue<Entry<T>> heap;
+    private long offered;
+
+    /**
+     * @param order best first
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.k = k;
+        this.order = Comparator.<Entry<T>, T>comparing(Entry::item, order).thenComparingLong(Entry::seq);
+        this.heap = new PriorityQueue<>(k + 1, this.order.reversed());
+    }
+
+    public void offer(T item) {
+        add(new Entry<>(item, offered++));
+    }
+
+    /**
+     * Add the items of another instance, which come after this one's in offer order.
+     *
+     * @return this
+     */
+    public TopK<T> merge(TopK<T> other) {
+        for (Entry<T> entry : other.heap) {
+            add(new Entry<>(entry.item(), offered + entry.seq()));
+        }
+        offered += other.offered;
+        return this;
+    }
+
+    /**
+     * The items kept, best first.
+     */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(order);
+        List<T> items = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            items.add(entry.item());
+        }
+        return items;
+    }
+
+    private void add(Entry<T> entry) {
+        if (heap.size() < k) {
+            heap.add(entry);
+        } else if (k > 0 && order.compare(entry, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    private record Entry<T>(T item, long seq) {
+    }
+}
@@ -7,11 +7,20 @@ CREATE DATABASE IF NOT EXISTS portfolio_db;
 -- Select the database to use
 USE portfolio_db;
 
+-- ============================================
+-- ID SEQUENCE: MySQL has no sequences, so Hibernate emulates 'asset_seq'
+-- with a one-row table. Ids are reserved 50 at a time (pooled optimizer),
+-- so next_val must stay more than 50 past the highest asset id.
+-- ============================================
+CREATE TABLE IF NOT EXISTS asset_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
 -- ============================================
 -- BASE TABLE: Contains common fields for all assets
 -- ============================================
 CREATE TABLE IF NOT EXISTS assets (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY COMMENT 'Drawn from asset_seq',
     asset_type VARCHAR(31) NOT NULL COMMENT 'Discriminator: STOCK, BOND, ETF, MUTUAL_FUND, CRYPTO, REAL_ESTATE, CASH',
     symbol VARCHAR(20) NOT NULL COMMENT 'Ticker symbol or asset code',
     name VARCHAR(100) NOT NULL COMMENT 'Full name of the asset',
@@ -115,12 +124,12 @@ CREATE TABLE IF NOT EXISTS cash_holdings (
 -- ============================================
 
 -- Insert stocks
-INSERT INTO assets (asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
-('STOCK', 'AAPL', 'Apple Inc.', 50.0000, 150.00, '2024-01-15'),
-('STOCK', 'GOOGL', 'Alphabet Inc.', 25.0000, 140.00, '2024-02-20'),
-('STOCK', 'MSFT', 'Microsoft Corporation', 30.0000, 380.00, '2024-03-10'),
-('STOCK', 'AMZN', 'Amazon.com Inc.', 20.0000, 175.00, '2024-01-05'),
-('STOCK', 'TSLA', 'Tesla Inc.', 15.0000, 250.00, '2024-04-01');
+INSERT INTO assets (id, asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
+(1, 'STOCK', 'AAPL', 'Apple Inc.', 50.0000, 150.00, '2024-01-15'),
+(2, 'STOCK', 'GOOGL', 'Alphabet Inc.', 25.0000, 140.00, '2024-02-20'),
+(3, 'STOCK', 'MSFT', 'Microsoft Corporation', 30.0000, 380.00, '2024-03-10'),
+(4, 'STOCK', 'AMZN', 'Amazon.com Inc.', 20.0000, 175.00, '2024-01-05'),
+(5, 'STOCK', 'TSLA', 'Tesla Inc.', 15.0000, 250.00, '2024-04-01');
 
 INSERT INTO stocks (id, exchange, sector, market_cap)
 SELECT id, 'NASDAQ', 'Technology', 'Large' FROM assets WHERE symbol IN ('AAPL', 'GOOGL', 'MSFT', 'AMZN');
@@ -128,9 +137,9 @@ INSERT INTO stocks (id, exchange, sector, market_cap)
 SELECT id, 'NASDAQ', 'Automotive', 'Large' FROM assets WHERE symbol = 'TSLA';
 
 -- Insert ETFs
-INSERT INTO assets (asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
-('ETF', 'SPY', 'SPDR S&P 500 ETF Trust', 40.0000, 480.00, '2024-02-15'),
-('ETF', 'VTI', 'Vanguard Total Stock Market ETF', 35.0000, 245.00, '2024-03-01');
+INSERT INTO assets (id, asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
+(6, 'ETF', 'SPY', 'SPDR S&P 500 ETF Trust', 40.0000, 480.00, '2024-02-15'),
+(7, 'ETF', 'VTI', 'Vanguard Total Stock Market ETF', 35.0000, 245.00, '2024-03-01');
 
 INSERT INTO etfs (id, exchange, expense_ratio, category)
 SELECT id, 'NYSE', 0.0009, 'Index' FROM assets WHERE symbol = 'SPY';
@@ -138,22 +147,27 @@ INSERT INTO etfs (id, exchange, expense_ratio, category)
 SELECT id, 'NYSE', 0.0003, 'Total Market' FROM assets WHERE symbol = 'VTI';
 
 -- Insert Bonds
-INSERT INTO assets (asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
-('BOND', 'BND', 'Vanguard Total Bond Market ETF', 100.0000, 72.50, '2024-01-10');
+INSERT INTO assets (id, asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
+(8, 'BOND', 'BND', 'Vanguard Total Bond Market ETF', 100.0000, 72.50, '2024-01-10');
 
 INSERT INTO bonds (id, coupon_rate, issuer, bond_type)
 SELECT id, 3.50, 'Vanguard', 'CORPORATE' FROM assets WHERE symbol = 'BND';
 
 -- Insert Crypto
-INSERT INTO assets (asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
-('CRYPTO', 'BTC-USD', 'Bitcoin', 0.5000, 42000.00, '2024-01-20');
+INSERT INTO assets (id, asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
+(9, 'CRYPTO', 'BTC-USD', 'Bitcoin', 0.5000, 42000.00, '2024-01-20');
 
 INSERT INTO cryptos (id, blockchain, staking_enabled)
 SELECT id, 'Bitcoin', 0 FROM assets WHERE symbol = 'BTC-USD';
 
 -- Insert Mutual Funds
-INSERT INTO assets (asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
-('MUTUAL_FUND', 'VFIAX', 'Vanguard 500 Index Fund', 25.0000, 420.00, '2024-02-28');
+INSERT INTO assets (id, asset_type, symbol, name, quantity, buy_price, purchase_date) VALUES
+(10, 'MUTUAL_FUND', 'VFIAX', 'Vanguard 500 Index Fund', 25.0000, 420.00, '2024-02-28');
 
 INSERT INTO mutual_funds (id, fund_family, expense_ratio, category)
 SELECT id, 'Vanguard', 0.0004, 'Index' FROM assets WHERE symbol = 'VFIAX';
+
+-- Start the id sequence past the sample rows
+INSERT INTO asset_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM assets
+WHERE NOT EXISTS (SELECT 1 FROM asset_seq);
@@ -290,12 +290,32 @@ function closeDeleteModal() {
 // ===================================
 // Data Functions
 // ===================================
+/**
+ * Poll an import job until it completes or fails
+ */
+async function waitForImport(jobId) {
+    while (true) {
+        const resp = await fetch(`${API_BASE_URL}/imports/${jobId}`);
+        const result = await resp.json();
+        const job = result.data;
+        if (job.status === 'COMPLETED' || job.status === 'FAILED') {
+            return job;
+        }
+        await new Promise(resolve => setTimeout(resolve, 1000));
+    }
+}
+
 async function loadPortfolioData() {
     try {
-        const response = await api.get('/portfolio/summary');
+        // The summary comes from the server's in-memory aggregate; the asset list is fetched alongside it
+        const [response, assetsResponse] = await Promise.all([
+            api.get('/portfolio/summary'),
+            api.get('/assets')
+        ]);
         if (response.success && response.data) {
             const summary = response.data;
-            allAssets = summary.assets || [];
+            allAssets = (assetsResponse.success && assetsResponse.data) || [];
+            summary.assets = allAssets;
 
             updateSummaryCards(summary);
             updateTopPerformers(summary);
@@ -465,7 +485,15 @@ document.addEventListener('DOMContentLoaded', () => {
 
             const result = await resp.json();
             if (resp.ok && result && result.success) {
-                showToast(result.message || 'CSV imported successfully', 'success');
+                uploadCsvBtn.textContent = 'Importing...';
+                // The import runs in the background; wait for the job to finish
+                const job = await waitForImport(result.data.id);
+                if (job.status === 'COMPLETED') {
+                    showToast(`Imported ${job.rowsImported} assets` +
+                        (job.rowsRejected ? `, ${job.rowsRejected} rows rejected` : ''), 'success');
+                } else {
+                    showToast(`Import failed after ${job.rowsImported} assets: ${job.errorMessage}`, 'error');
+                }
                 // refresh portfolio
                 loadPortfolioData();
             } else {
@@ -1,26 +1,48 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.AssetBatchRequest;
+import com.example.demo.dto.AssetBatchResult;
 import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.ExportFormat;
+import com.example.demo.dto.ImportJobDTO;
+import com.example.demo.entity.ImportJobStatus;
 import com.example.demo.entity.AssetType;
+import com.example.demo.service.AssetExportService;
 import com.example.demo.service.AssetService;
+import com.example.demo.service.ImportJobService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +59,12 @@ class AssetControllerTest {
     @MockBean
     private AssetService assetService;
 
+    @MockBean
+    private ImportJobService importJobService;
+
+    @MockBean
+    private AssetExportService assetExportService;
+
     // Helper method to create a dummy AssetDTO
     private AssetDTO createAssetDTO(Long id, String symbol, AssetType type) {
         AssetDTO dto = new AssetDTO();
@@ -90,6 +118,113 @@ class AssetControllerTest {
         }
     }
 
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/assets/paged")
+    class GetAssetsPageTests {
+
+        @Test
+        @DisplayName("Given page and sort parameters when getAssetsPage then return the requested page")
+        void givenPageAndSort_whenGetAssetsPage_thenReturnPage() throws Exception {
+            // GIVEN
+            PageRequest pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "symbol"));
+            List<AssetDTO> content = Arrays.asList(
+                    createAssetDTO(3L, "MSFT", AssetType.STOCK),
+                    createAssetDTO(4L, "BTC-USD", AssetType.CRYPTO));
+
+            when(assetService.getAssets(pageable)).thenReturn(new PageImpl<>(content, pageable, 5));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/assets/paged")
+                            .param("page", "1")
+                            .param("size", "2")
+                            .param("sort", "symbol,desc")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.content.length()").value(2))
+                    .andExpect(jsonPath("$.data.content[0].symbol").value("MSFT"))
+                    .andExpect(jsonPath("$.data.totalElements").value(5))
+                    .andExpect(jsonPath("$.data.totalPages").value(3));
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/assets/search/paged")
+    class SearchAssetsPageTests {
+
+        @Test
+        @DisplayName("Given a query and page parameters when searchAssetsPage then return the ranked page")
+        void givenQueryAndPage_whenSearchAssetsPage_thenReturnRankedPage() throws Exception {
+            // GIVEN
+            PageRequest pageable = PageRequest.of(0, 2);
+            List<AssetDTO> content = Arrays.asList(
+                    createAssetDTO(1L, "APP", AssetType.STOCK),
+                    createAssetDTO(2L, "AAPL", AssetType.STOCK));
+
+            when(assetService.searchAssets("app", pageable)).thenReturn(new PageImpl<>(content, pageable, 3));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/assets/search/paged")
+                            .param("q", "app")
+                            .param("page", "0")
+                            .param("size", "2")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Found 3 matching assets"))
+                    .andExpect(jsonPath("$.data.content[0].symbol").value("APP"))
+                    .andExpect(jsonPath("$.data.totalElements").value(3));
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/assets/scroll")
+    class ScrollAssetsTests {
+
+        @Test
+        @DisplayName("Given filters and a cursor when scrollAssets then return the next keyset page")
+        void givenFiltersAndCursor_whenScrollAssets_thenReturnNextPage() throws Exception {
+            // GIVEN
+            AssetFilter filter = AssetFilter.builder()
+                    .type(AssetType.STOCK).exchange("NASDAQ").build();
+            CursorPage<AssetDTO> page = CursorPage.<AssetDTO>builder()
+                    .items(List.of(createAssetDTO(3L, "MSFT", AssetType.STOCK)))
+                    .nextCursor("next")
+                    .hasMore(true)
+                    .build();
+
+            when(assetService.getAssets(filter, AssetKeyset.Sort.SYMBOL, "abc", 1)).thenReturn(page);
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/assets/scroll")
+                            .param("type", "STOCK")
+                            .param("exchange", "NASDAQ")
+                            .param("sort", "SYMBOL")
+                            .param("cursor", "abc")
+                            .param("limit", "1")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items[0].symbol").value("MSFT"))
+                    .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                    .andExpect(jsonPath("$.data.hasMore").value(true));
+        }
+
+        @Test
+        @DisplayName("Given an invalid cursor when scrollAssets then return bad request")
+        void givenInvalidCursor_whenScrollAssets_thenReturnBadRequest() throws Exception {
+            // GIVEN
+            when(assetService.getAssets(any(), any(), eq("bad"), anyInt()))
+                    .thenThrow(new IllegalArgumentException("Invalid asset cursor: bad"));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/assets/scroll")
+                            .param("cursor", "bad")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     // ---------------------------------------------------------------------
     @Nested
     @DisplayName("GET /api/assets/{id}")
@@ -241,5 +376,136 @@ class AssetControllerTest {
                     .andExpect(jsonPath("$.success").value(true));
         }
     }
-}
 
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("POST /api/assets/upload")
+    class UploadAssetsTests {
+
+        @Test
+        @DisplayName("Given a CSV file when uploadAssets then an import job is queued and returned")
+        void givenCsvFile_whenUploadAssets_thenImportJobQueued() throws Exception {
+            // GIVEN
+            MockMultipartFile file = new MockMultipartFile("file", "assets.csv", "text/csv",
+                    "symbol,name,type,quantity,buyPrice\nAAPL,Apple Inc,STOCK,10,150.00\n".getBytes());
+            ImportJobDTO job = ImportJobDTO.builder().id(7L).filename("assets.csv").status(ImportJobStatus.QUEUED).build();
+
+            when(importJobService.submit(any())).thenReturn(job);
+
+            // WHEN & THEN
+            mockMvc.perform(multipart("/api/assets/upload").file(file))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.message").value("Import job 7 queued"))
+                    .andExpect(jsonPath("$.data.status").value("QUEUED"));
+        }
+
+        @Test
+        @DisplayName("Given an unsupported file type when uploadAssets then return bad request")
+        void givenUnsupportedFileType_whenUploadAssets_thenReturnBadRequest() throws Exception {
+            // GIVEN
+            MockMultipartFile file = new MockMultipartFile("file", "assets.xlsx", "application/octet-stream", new byte[]{1});
+
+            when(importJobService.submit(any()))
+                    .thenThrow(new IllegalArgumentException("Unsupported file type. Use CSV (or .txt)"));
+
+            // WHEN & THEN
+            mockMvc.perform(multipart("/api/assets/upload").file(file))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/assets/export")
+    class ExportAssetsTests {
+
+        @Test
+        @DisplayName("Given format ndjson with prices when exportAssets then the export streams as an NDJSON attachment")
+        void givenNdjsonWithPrices_whenExportAssets_thenStreamedAttachment() throws Exception {
+            // GIVEN
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(2);
+                out.write("{\"id\":1,\"symbol\":\"AAPL\"}\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            }).when(assetExportService).export(eq(ExportFormat.NDJSON), eq(true), any());
+
+            // WHEN
+            MvcResult started = mockMvc.perform(get("/api/assets/export")
+                            .param("format", "ndjson")
+                            .param("prices", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // THEN
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"assets.ndjson\""))
+                    .andExpect(content().string("{\"id\":1,\"symbol\":\"AAPL\"}\n"));
+        }
+
+        @Test
+        @DisplayName("Given an unsupported format when exportAssets then return bad request without exporting")
+        void givenUnsupportedFormat_whenExportAssets_thenReturnBadRequest() throws Exception {
+            // WHEN & THEN
+            mockMvc.perform(get("/api/assets/export").param("format", "xlsx"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+
+            verify(assetExportService, never()).export(any(), anyBoolean(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/assets/batch")
+    class BatchAssetsTests {
+
+        @Test
+        @DisplayName("Given an applied batch when applyBatch then return the counts and per-item results")
+        void givenAppliedBatch_whenApplyBatch_thenReturnResults() throws Exception {
+            // GIVEN
+            AssetBatchRequest request = AssetBatchRequest.builder()
+                    .create(List.of(createAssetDTO(null, "AAPL", AssetType.STOCK)))
+                    .delete(List.of(4L))
+                    .build();
+            AssetBatchResult result = AssetBatchResult.builder().applied(true).created(1).deleted(1)
+                    .items(List.of(
+                            AssetBatchResult.Item.builder().operation(AssetBatchResult.Operation.CREATE).index(0).id(9L)
+                                    .success(true).asset(createAssetDTO(9L, "AAPL", AssetType.STOCK)).build(),
+                            AssetBatchResult.Item.builder().operation(AssetBatchResult.Operation.DELETE).index(0).id(4L)
+                                    .success(true).build()))
+                    .build();
+
+            when(assetService.applyBatch(any(AssetBatchRequest.class))).thenReturn(result);
+
+            // WHEN & THEN
+            mockMvc.perform(post("/api/assets/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Batch applied: 1 created, 0 updated, 1 deleted"))
+                    .andExpect(jsonPath("$.data.items[0].asset.symbol").value("AAPL"))
+                    .andExpect(jsonPath("$.data.items[1].operation").value("DELETE"));
+        }
+
+        @Test
+        @DisplayName("Given a rejected batch when applyBatch then return bad request with the invalid items")
+        void givenRejectedBatch_whenApplyBatch_thenReturnBadRequest() throws Exception {
+            // GIVEN
+            AssetBatchResult result = AssetBatchResult.builder().applied(false)
+                    .items(List.of(AssetBatchResult.Item.builder().operation(AssetBatchResult.Operation.UPDATE)
+                            .index(3).id(42L).success(false).error("Asset not found with id: '42'").build()))
+                    .build();
+
+            when(assetService.applyBatch(any(AssetBatchRequest.class))).thenReturn(result);
+
+            // WHEN & THEN
+            mockMvc.perform(post("/api/assets/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"delete\":[42]}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.data.items[0].index").value(3))
+                    .andExpect(jsonPath("$.data.items[0].error").value("Asset not found with id: '42'"));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ImportJobDTO;
+import com.example.demo.entity.ImportJobStatus;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.service.ImportJobService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportJobService importJobService;
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/imports/{id}")
+    class GetImportTests {
+
+        @Test
+        @DisplayName("Given a running job when getImport then return progress and rejected rows")
+        void givenRunningJob_whenGetImport_thenReturnProgress() throws Exception {
+            // GIVEN
+            ImportJobDTO job = ImportJobDTO.builder()
+                    .id(3L)
+                    .status(ImportJobStatus.RUNNING)
+                    .rowsProcessed(2000)
+                    .rowsImported(1999)
+                    .rowsRejected(1)
+                    .rowsPerSecond(4000)
+                    .rejections(List.of(new ImportJobDTO.Rejection(42, "Unknown asset type 'SHARE'")))
+                    .build();
+
+            when(importJobService.getJob(3L)).thenReturn(job);
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/imports/3")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                    .andExpect(jsonPath("$.data.rowsProcessed").value(2000))
+                    .andExpect(jsonPath("$.data.rejections[0].line").value(42))
+                    .andExpect(jsonPath("$.data.rejections[0].reason").value("Unknown asset type 'SHARE'"));
+        }
+
+        @Test
+        @DisplayName("Given an unknown job ID when getImport then return not found")
+        void givenUnknownJob_whenGetImport_thenReturnNotFound() throws Exception {
+            // GIVEN
+            when(importJobService.getJob(99L)).thenThrow(new ResourceNotFoundException("ImportJob", "id", 99L));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/imports/99")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("POST /api/imports/{id}/resume")
+    class ResumeImportTests {
+
+        @Test
+        @DisplayName("Given a failed job when resumeImport then the job is queued again")
+        void givenFailedJob_whenResumeImport_thenQueued() throws Exception {
+            // GIVEN
+            when(importJobService.resume(5L)).thenReturn(
+                    ImportJobDTO.builder().id(5L).status(ImportJobStatus.QUEUED).rowsProcessed(1000).build());
+
+            // WHEN & THEN
+            mockMvc.perform(post("/api/imports/5/resume"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.data.status").value("QUEUED"))
+                    .andExpect(jsonPath("$.data.rowsProcessed").value(1000));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.StockNews;
+import com.example.demo.service.PortfolioNewsService;
 import com.example.demo.service.StockPriceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +37,9 @@ class NewsControllerTest {
     @MockBean
     private StockPriceService stockPriceService;
 
+    @MockBean
+    private PortfolioNewsService portfolioNewsService;
+
     // ---------------------------------------------------------------------
     @Nested
     @DisplayName("GET /api/news/market")
@@ -140,4 +145,47 @@ class NewsControllerTest {
                     .andExpect(jsonPath("$.message").value("Invalid or empty stock symbol provided"));
         }
     }
-}
\ No newline at end of file
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/news/portfolio")
+    class GetPortfolioNewsTests {
+
+        @Test
+        @DisplayName("Given a cursor and limit when getPortfolioNews then return the page with next cursor")
+        void givenCursorAndLimit_whenGetPortfolioNews_thenReturnPage() throws Exception {
+            // GIVEN
+            CursorPage<StockNews> page = CursorPage.<StockNews>builder()
+                    .items(Arrays.asList(new StockNews(), new StockNews()))
+                    .nextCursor("next")
+                    .hasMore(true)
+                    .build();
+
+            when(portfolioNewsService.getPortfolioNews(eq("abc"), eq(2), any(), any())).thenReturn(page);
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/news/portfolio")
+                            .param("cursor", "abc")
+                            .param("limit", "2")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items.length()").value(2))
+                    .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                    .andExpect(jsonPath("$.data.hasMore").value(true));
+        }
+
+        @Test
+        @DisplayName("Given a malformed cursor when getPortfolioNews then return 400 Bad Request")
+        void givenMalformedCursor_whenGetPortfolioNews_thenReturnBadRequest() throws Exception {
+            // GIVEN
+            when(portfolioNewsService.getPortfolioNews(eq("bad"), eq(20), any(), any()))
+                    .thenThrow(new IllegalArgumentException("Invalid news cursor: bad"));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/news/portfolio")
+                            .param("cursor", "bad")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.AssetDTO;
 import com.example.demo.dto.PortfolioSummaryDTO;
 import com.example.demo.service.PortfolioService;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.Mockito.when;
@@ -54,6 +56,23 @@ class PortfolioControllerTest {
                     .andExpect(jsonPath("$.data.totalValue").value(10000.00))
                     .andExpect(jsonPath("$.data.totalAssets").value(5));
         }
+
+        @Test
+        @DisplayName("Given includeAssets when getPortfolioSummary then return the summary computed with its assets")
+        void givenIncludeAssets_whenGetPortfolioSummary_thenReturnSummaryWithAssets() throws Exception {
+            // GIVEN
+            PortfolioSummaryDTO summary = PortfolioSummaryDTO.builder()
+                    .totalAssets(1)
+                    .assets(List.of(AssetDTO.builder().id(1L).symbol("AAPL").build()))
+                    .build();
+
+            when(portfolioService.getPortfolioSummaryWithAssets()).thenReturn(summary);
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/portfolio/summary").param("includeAssets", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.assets[0].symbol").value("AAPL"));
+        }
     }
 
     // ---------------------------------------------------------------------
@@ -0,0 +1,54 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.PriceServiceMetrics;
+import com.example.demo.service.StockPriceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PriceController.class)
+class PriceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/prices/metrics")
+    class GetMetricsTests {
+
+        @Test
+        @DisplayName("When getMetrics then return price service counters")
+        void whenGetMetrics_thenReturnCounters() throws Exception {
+            // GIVEN
+            PriceServiceMetrics metrics = PriceServiceMetrics.builder()
+                    .cacheHits(40)
+                    .cacheMisses(10)
+                    .coalescedCalls(7)
+                    .upstreamCalls(3)
+                    .build();
+
+            when(stockPriceService.getMetrics()).thenReturn(metrics);
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/prices/metrics")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.coalescedCalls").value(7))
+                    .andExpect(jsonPath("$.data.upstreamCalls").value(3));
+        }
+    }
+}
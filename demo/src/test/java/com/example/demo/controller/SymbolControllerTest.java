@@ -0,0 +1,67 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.SymbolSuggestion;
+import com.example.demo.service.SymbolUniverse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SymbolController.class)
+class SymbolControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SymbolUniverse symbolUniverse;
+
+    // ---------------------------------------------------------------------
+    @Nested
+    @DisplayName("GET /api/symbols/suggest")
+    class SuggestTests {
+
+        @Test
+        @DisplayName("Given a prefix when suggest then return matching symbols")
+        void givenPrefix_whenSuggest_thenReturnMatches() throws Exception {
+            // GIVEN
+            when(symbolUniverse.suggest("am", 10)).thenReturn(List.of(
+                    new SymbolSuggestion("AMD", "Advanced Micro Devices Inc"),
+                    new SymbolSuggestion("AMZN", "Amazon.com Inc")));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/symbols/suggest")
+                            .param("prefix", "am")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(2))
+                    .andExpect(jsonPath("$.data[0].symbol").value("AMD"))
+                    .andExpect(jsonPath("$.data[1].name").value("Amazon.com Inc"));
+        }
+
+        @Test
+        @DisplayName("Given a limit above the maximum when suggest then the limit is capped")
+        void givenLargeLimit_whenSuggest_thenLimitCapped() throws Exception {
+            // GIVEN
+            when(symbolUniverse.suggest("A", 50)).thenReturn(List.of(new SymbolSuggestion("AAPL", "Apple Inc")));
+
+            // WHEN & THEN
+            mockMvc.perform(get("/api/symbols/suggest")
+                            .param("prefix", "A")
+                            .param("limit", "1000")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.provider;
+
+import com.example.demo.exception.UpstreamUnavailableException;
+import com.example.demo.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinnhubClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, 60_000);
+    private FinnhubClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v1/quote", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"c\":187.25,\"h\":190,\"l\":185}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        client = newClient(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private FinnhubClient newClient(int maxConcurrentCalls) {
+        FinnhubClient finnhubClient = new FinnhubClient(HttpClient.newHttpClient(), circuitBreaker, maxConcurrentCalls);
+        ReflectionTestUtils.setField(finnhubClient, "apiKey", "test");
+        ReflectionTestUtils.setField(finnhubClient, "baseUrl",
+                "http://localhost:" + server.getAddress().getPort() + "/api/v1");
+        ReflectionTestUtils.setField(finnhubClient, "requestTimeoutMs", 300L);
+        ReflectionTestUtils.setField(finnhubClient, "bulkheadWaitMs", 0L);
+        return finnhubClient;
+    }
+
+    @Test
+    @DisplayName("Given a healthy upstream when fetching then the quote price is returned")
+    void givenHealthyUpstream_whenFetching_thenPriceReturned() {
+        assertEquals(new BigDecimal("187.25"), client.fetchPrice("AAPL"));
+        assertTrue(client.isAvailable());
+    }
+
+    @Test
+    @DisplayName("Given a slow upstream when fetching then the call fails at the deadline and the circuit opens")
+    void givenSlowUpstream_whenFetching_thenTimesOutAndCircuitOpens() {
+        // GIVEN
+        delayMs = 2_000;
+
+        // WHEN
+        long start = System.nanoTime();
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("AAPL"));
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("AAPL"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // THEN
+        assertTrue(elapsedMs < 1_500, "calls should give up at the deadline, took " + elapsedMs + " ms");
+        assertFalse(client.isAvailable());
+        int sent = requests.get();
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("AAPL"));
+        assertEquals(sent, requests.get());
+    }
+
+    @Test
+    @DisplayName("Given server errors when fetching then they count as failures and open the circuit")
+    void givenServerErrors_whenFetching_thenCircuitOpens() {
+        // GIVEN
+        status = 503;
+
+        // WHEN
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("AAPL"));
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("AAPL"));
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Given a full bulkhead when another thread fetches then it is refused without calling upstream")
+    void givenFullBulkhead_whenFetching_thenRefused() throws Exception {
+        // GIVEN
+        client = newClient(1);
+        delayMs = 250;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<BigDecimal> first = executor.submit(() -> client.fetchPrice("AAPL"));
+        while (requests.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        // WHEN & THEN
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchPrice("MSFT"));
+        assertEquals(new BigDecimal("187.25"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given a half-open circuit when the probe fails unexpectedly then the probe is released")
+    void givenHalfOpenCircuit_whenProbeThrowsUnexpectedly_thenProbeReleased() {
+        // GIVEN: the circuit has opened and its open period has passed
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000, now::get);
+        FinnhubClient finnhubClient = new FinnhubClient(HttpClient.newHttpClient(), breaker, 8);
+        ReflectionTestUtils.setField(finnhubClient, "apiKey", "test");
+        ReflectionTestUtils.setField(finnhubClient, "baseUrl",
+                "http://localhost:" + server.getAddress().getPort() + "/api/v1");
+        ReflectionTestUtils.setField(finnhubClient, "bulkheadWaitMs", 0L);
+        breaker.recordFailure();
+        now.addAndGet(1_000);
+        // A zero timeout makes the request builder throw IllegalArgumentException
+        ReflectionTestUtils.setField(finnhubClient, "requestTimeoutMs", 0L);
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> finnhubClient.fetchPrice("AAPL"));
+
+        // THEN: the failed probe reopens the circuit, and the next probe is let through
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(1_000);
+        ReflectionTestUtils.setField(finnhubClient, "requestTimeoutMs", 300L);
+        assertEquals(new BigDecimal("187.25"), finnhubClient.fetchPrice("AAPL"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
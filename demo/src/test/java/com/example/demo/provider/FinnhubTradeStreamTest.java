@@ -0,0 +1,241 @@
+package com.example.demo.provider;
+
+import com.example.demo.service.TickStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinnhubTradeStreamTest {
+
+    private StubFeedServer server;
+    private FinnhubTradeStream stream;
+    private final TickStore tickStore = new TickStore(event -> { });
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubFeedServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (stream != null) {
+            stream.stop();
+        }
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Given held symbols when the feed connects then each is subscribed and trades reach the tick store")
+    void givenHeldSymbols_whenConnected_thenSubscribedAndTradesStored() throws Exception {
+        // GIVEN
+        stream = new FinnhubTradeStream(tickStore, () -> List.of("AAPL", "MSFT"), server.uri(), 64);
+
+        // WHEN
+        stream.start();
+        Set<String> subscriptions = new HashSet<>();
+        subscriptions.add(server.nextMessage());
+        subscriptions.add(server.nextMessage());
+        long now = System.currentTimeMillis();
+        server.send("{\"type\":\"ping\"}");
+        server.send("{\"type\":\"trade\",\"data\":["
+                + "{\"s\":\"AAPL\",\"p\":187.25,\"t\":" + now + ",\"v\":10},"
+                + "{\"s\":\"MSFT\",\"p\":402.5,\"t\":" + now + ",\"v\":3}]}");
+
+        // THEN
+        assertEquals(Set.of(
+                "{\"type\":\"subscribe\",\"symbol\":\"AAPL\"}",
+                "{\"type\":\"subscribe\",\"symbol\":\"MSFT\"}"), subscriptions);
+        assertEquals(new BigDecimal("187.25"), awaitPrice("AAPL"));
+        assertEquals(new BigDecimal("402.5"), awaitPrice("MSFT"));
+    }
+
+    @Test
+    @DisplayName("Given a symbol no longer held when re-syncing then it is unsubscribed")
+    void givenSymbolNoLongerHeld_whenResyncing_thenUnsubscribed() throws Exception {
+        // GIVEN
+        List<String> held = new ArrayList<>(List.of("AAPL"));
+        stream = new FinnhubTradeStream(tickStore, () -> new ArrayList<>(held), server.uri(), 64);
+        stream.start();
+        assertEquals("{\"type\":\"subscribe\",\"symbol\":\"AAPL\"}", server.nextMessage());
+
+        // WHEN
+        held.set(0, "NVDA");
+        stream.syncSubscriptions();
+
+        // THEN
+        Set<String> messages = Set.of(server.nextMessage(), server.nextMessage());
+        assertEquals(Set.of(
+                "{\"type\":\"subscribe\",\"symbol\":\"NVDA\"}",
+                "{\"type\":\"unsubscribe\",\"symbol\":\"AAPL\"}"), messages);
+    }
+
+    @Test
+    @DisplayName("Given an older trade after a newer one when storing then the newer price is kept")
+    void givenOutOfOrderTrades_whenStoring_thenNewerPriceKept() throws Exception {
+        // GIVEN
+        stream = new FinnhubTradeStream(tickStore, () -> List.of("AAPL"), server.uri(), 64);
+        stream.start();
+        server.nextMessage();
+        long now = System.currentTimeMillis();
+
+        // WHEN
+        server.send("{\"type\":\"trade\",\"data\":[{\"s\":\"AAPL\",\"p\":190,\"t\":" + now + "}]}");
+        server.send("{\"type\":\"trade\",\"data\":[{\"s\":\"AAPL\",\"p\":180,\"t\":" + (now - 1000) + "}]}");
+        server.send("{\"type\":\"trade\",\"data\":[{\"s\":\"SYNC\",\"p\":1,\"t\":" + now + "}]}");
+
+        // THEN
+        awaitPrice("SYNC");
+        assertEquals(new BigDecimal("190.0"), tickStore.getLastPrice("AAPL", 60_000));
+    }
+
+    private BigDecimal awaitPrice(String symbol) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            BigDecimal price = tickStore.getLastPrice(symbol, 60_000);
+            if (price != null) {
+                return price;
+            }
+            Thread.sleep(10);
+        }
+        return fail("No trade stored for " + symbol);
+    }
+
+    /**
+     * Minimal single-client WebSocket server: performs the RFC 6455 handshake,
+     * records the client's text frames and pushes text frames back.
+     */
+    private static class StubFeedServer implements Closeable {
+
+        private static final String GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private volatile Socket client;
+        private volatile OutputStream out;
+
+        StubFeedServer() throws IOException {
+            Thread acceptor = new Thread(this::serve, "stub-feed-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        URI uri() {
+            return URI.create("ws://localhost:" + serverSocket.getLocalPort() + "/");
+        }
+
+        String nextMessage() throws InterruptedException {
+            String message = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "Expected a message from the client");
+            return message;
+        }
+
+        synchronized void send(String text) throws IOException {
+            byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+            out.write(0x81);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length & 0xFF);
+            }
+            out.write(payload);
+            out.flush();
+        }
+
+        private void serve() {
+            try {
+                client = serverSocket.accept();
+                DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+                out = client.getOutputStream();
+                handshake(in);
+                while (true) {
+                    readFrame(in);
+                }
+            } catch (IOException e) {
+                // Client went away or the server was closed
+            }
+        }
+
+        private void handshake(DataInputStream in) throws IOException {
+            String key = null;
+            String line;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (line.toLowerCase(Locale.ROOT).startsWith("sec-websocket-key:")) {
+                    key = line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+            String accept;
+            try {
+                accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+                        .digest((key + GUID).getBytes(StandardCharsets.US_ASCII)));
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            out.write(("HTTP/1.1 101 Switching Protocols\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        private void readFrame(DataInputStream in) throws IOException {
+            int first = in.readUnsignedByte();
+            int second = in.readUnsignedByte();
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = in.readUnsignedShort();
+            } else if (length == 127) {
+                length = in.readLong();
+            }
+            byte[] mask = new byte[4];
+            if ((second & 0x80) != 0) {
+                in.readFully(mask);
+            }
+            byte[] payload = new byte[(int) length];
+            in.readFully(payload);
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i % 4];
+            }
+            if ((first & 0x0F) == 0x1) {
+                received.add(new String(payload, StandardCharsets.UTF_8));
+            } else if ((first & 0x0F) == 0x8) {
+                throw new EOFException("Client closed");
+            }
+        }
+
+        private String readLine(DataInputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (client != null) {
+                client.close();
+            }
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.provider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayPriceProviderTest {
+
+    private static final String RECORDING = """
+            offset_ms,symbol,price
+            0,AAPL,100.00
+            1000,AAPL,101.00
+            2000,AAPL,102.00
+            500,MSFT,300.00
+            """;
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private InputStream recording() {
+        return new ByteArrayInputStream(RECORDING.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Given real-time playback when time advances then the last recorded price is returned")
+    void givenRealTimePlayback_whenTimeAdvances_thenLastRecordedPrice() throws Exception {
+        // GIVEN
+        ManualClock clock = new ManualClock();
+        ReplayPriceProvider provider = new ReplayPriceProvider(recording(), 1.0, false, clock);
+
+        // WHEN & THEN
+        assertEquals(new BigDecimal("100.00"), provider.fetchPrice("AAPL"));
+        assertEquals(new BigDecimal("300.00"), provider.fetchPrice("MSFT")); // opening price before first tick
+        clock.advance(Duration.ofMillis(1500));
+        assertEquals(new BigDecimal("101.00"), provider.fetchPrice("AAPL"));
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(new BigDecimal("102.00"), provider.fetchPrice("AAPL"));
+        assertNull(provider.fetchPrice("UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("Given faster playback with loop when time advances then the recording wraps around")
+    void givenFastLoopingPlayback_whenTimeAdvances_thenWrapsAround() throws Exception {
+        // GIVEN
+        ManualClock clock = new ManualClock();
+        ReplayPriceProvider provider = new ReplayPriceProvider(recording(), 10.0, true, clock);
+
+        // WHEN & THEN
+        clock.advance(Duration.ofMillis(150)); // 1500 ms into the recording
+        assertEquals(new BigDecimal("101.00"), provider.fetchPrice("AAPL"));
+        clock.advance(Duration.ofMillis(100)); // 2500 ms -> wraps to 498 ms
+        assertEquals(new BigDecimal("100.00"), provider.fetchPrice("AAPL"));
+        assertFalse(provider.isRateLimited());
+    }
+}
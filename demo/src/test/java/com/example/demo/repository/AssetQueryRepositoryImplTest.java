@@ -0,0 +1,136 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.AssetFilter;
+import com.example.demo.dto.AssetKeyset;
+import com.example.demo.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class AssetQueryRepositoryImplTest {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private EtfRepository etfRepository;
+
+    @Autowired
+    private BondRepository bondRepository;
+
+    @Autowired
+    private CashRepository cashRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository.save(stock("MSFT", "NASDAQ", "Technology"));
+        stockRepository.save(stock("AAPL", "NASDAQ", "Technology"));
+        stockRepository.save(stock("JNJ", "NYSE", "Healthcare"));
+        stockRepository.save(stock("AAPL", "NASDAQ", "Technology"));
+        etfRepository.save(Etf.builder().symbol("QQQ").name("Invesco QQQ").exchange("NASDAQ")
+                .quantity(BigDecimal.ONE).buyPrice(new BigDecimal("400")).build());
+        bondRepository.save(bond("UST2", LocalDate.of(2026, 6, 30)));
+        bondRepository.save(bond("UST10", LocalDate.of(2034, 1, 15)));
+        cashRepository.save(Cash.builder().symbol("USD").name("Cash").quantity(new BigDecimal("1000"))
+                .buyPrice(BigDecimal.ONE).build());
+    }
+
+    @Test
+    @DisplayName("Given a symbol order when walking pages then every asset is visited once in (symbol, id) order")
+    void givenSymbolOrder_whenWalkingPages_thenAllAssetsOnceInOrder() {
+        // GIVEN
+        List<String> visited = new ArrayList<>();
+        AssetKeyset after = null;
+
+        // WHEN
+        List<BaseAsset> page;
+        do {
+            page = assetRepository.findPage(new AssetFilter(), AssetKeyset.Sort.SYMBOL, after, 3);
+            page.forEach(asset -> visited.add(asset.getSymbol()));
+            after = page.isEmpty() ? null : AssetKeyset.of(AssetKeyset.Sort.SYMBOL, page.get(page.size() - 1));
+        } while (page.size() == 3);
+
+        // THEN
+        assertEquals(List.of("AAPL", "AAPL", "JNJ", "MSFT", "QQQ", "USD", "UST10", "UST2"), visited);
+    }
+
+    @Test
+    @DisplayName("Given an exchange filter when finding a page then stocks and ETFs on that exchange are returned")
+    void givenExchangeFilter_whenFindPage_thenStocksAndEtfsReturned() {
+        // GIVEN
+        AssetFilter filter = AssetFilter.builder().exchange("NASDAQ").build();
+
+        // WHEN
+        List<BaseAsset> page = assetRepository.findPage(filter, AssetKeyset.Sort.SYMBOL, null, 10);
+
+        // THEN
+        assertEquals(List.of("AAPL", "AAPL", "MSFT", "QQQ"), page.stream().map(BaseAsset::getSymbol).toList());
+    }
+
+    @Test
+    @DisplayName("Given sector and type filters when finding a page then only matching stocks are returned")
+    void givenSectorAndTypeFilters_whenFindPage_thenMatchingStocksReturned() {
+        // GIVEN
+        AssetFilter healthcare = AssetFilter.builder().sector("Healthcare").build();
+        AssetFilter etfsInTech = AssetFilter.builder().type(AssetType.ETF).sector("Technology").build();
+
+        // WHEN & THEN
+        assertEquals(List.of("JNJ"), assetRepository.findPage(healthcare, AssetKeyset.Sort.ID, null, 10)
+                .stream().map(BaseAsset::getSymbol).toList());
+        assertTrue(assetRepository.findPage(etfsInTech, AssetKeyset.Sort.ID, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given a maturity range when finding a page then only bonds maturing in it are returned")
+    void givenMaturityRange_whenFindPage_thenBondsInRangeReturned() {
+        // GIVEN
+        AssetFilter filter = AssetFilter.builder()
+                .maturityFrom(LocalDate.of(2030, 1, 1)).maturityTo(LocalDate.of(2040, 1, 1)).build();
+
+        // WHEN
+        List<BaseAsset> page = assetRepository.findPage(filter, AssetKeyset.Sort.ID, null, 10);
+
+        // THEN
+        assertEquals(1, page.size());
+        assertInstanceOf(Bond.class, page.get(0));
+        assertEquals("UST10", page.get(0).getSymbol());
+    }
+
+    @Test
+    @DisplayName("Given a cursor issued for another sort order when decoding then it is rejected")
+    void givenCursorForOtherOrder_whenDecoding_thenRejected() {
+        // GIVEN
+        String cursor = new AssetKeyset(AssetKeyset.Sort.SYMBOL, "AAPL", 7).encode();
+
+        // WHEN & THEN
+        assertEquals(new AssetKeyset(AssetKeyset.Sort.SYMBOL, "AAPL", 7), AssetKeyset.decode(cursor, AssetKeyset.Sort.SYMBOL));
+        assertThrows(IllegalArgumentException.class, () -> AssetKeyset.decode(cursor, AssetKeyset.Sort.ID));
+        assertThrows(IllegalArgumentException.class, () -> AssetKeyset.decode("not a cursor", AssetKeyset.Sort.ID));
+    }
+
+    private static Stock stock(String symbol, String exchange, String sector) {
+        return Stock.builder().symbol(symbol).name(symbol + " Inc").exchange(exchange).sector(sector)
+                .quantity(BigDecimal.TEN).buyPrice(new BigDecimal("100")).build();
+    }
+
+    private static Bond bond(String symbol, LocalDate maturity) {
+        return Bond.builder().symbol(symbol).name("Treasury " + symbol).maturityDate(maturity)
+                .quantity(BigDecimal.ONE).buyPrice(new BigDecimal("98")).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.Bond;
+import com.example.demo.entity.Stock;
+import com.example.demo.repository.AssetRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so each chunk really commits.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(AssetBulkImporter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetBulkImporterTest {
+
+    @Autowired
+    private AssetBulkImporter assetBulkImporter;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Given a chunk of mixed types when persisting then all rows are inserted in JDBC batches")
+    void givenMixedChunk_whenPersisting_thenInsertedInBatches() {
+        // GIVEN
+        List<AssetDTO> chunk = IntStream.range(0, 250)
+                .mapToObj(i -> AssetDTO.builder()
+                        .symbol(" sym" + i + " ")
+                        .name("Asset " + i)
+                        .type(i % 2 == 0 ? AssetType.STOCK : AssetType.BOND)
+                        .quantity(BigDecimal.ONE)
+                        .buyPrice(new BigDecimal("10.00"))
+                        .build())
+                .toList();
+
+        // WHEN
+        Integer imported = transactionTemplate.execute(status -> assetBulkImporter.persist(chunk));
+        long statements = statistics.getPrepareStatementCount();
+
+        // THEN
+        assertEquals(250, imported);
+        assertEquals(250, assetRepository.count());
+        assertEquals(125, assetRepository.findAll().stream().filter(Stock.class::isInstance).count());
+        assertEquals(125, assetRepository.findAll().stream().filter(Bond.class::isInstance).count());
+        assertTrue(assetRepository.findAll().stream().anyMatch(a -> "SYM7".equals(a.getSymbol())));
+        // 500 row inserts (assets + subtype table) go out in a few dozen JDBC batches
+        assertTrue(statements < 60, "expected batched inserts, got " + statements + " statements");
+    }
+
+    @Test
+    @DisplayName("Given no transaction when persisting then it is rejected")
+    void givenNoTransaction_whenPersisting_thenRejected() {
+        assertThrows(IllegalTransactionStateException.class, () -> assetBulkImporter.persist(List.of()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.ExportFormat;
+import com.example.demo.entity.*;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.util.CsvTokenizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * A fetch size of 2 makes the five test assets span several batches.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "assets.export.fetch-size=2"
+})
+@Import({AssetExportService.class, JacksonAutoConfiguration.class})
+class AssetExportServiceTest {
+
+    @Autowired
+    private AssetExportService assetExportService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    @BeforeEach
+    void setUp() {
+        assetRepository.saveAll(List.of(
+                Stock.builder().symbol("AAPL").name("Apple Inc").quantity(new BigDecimal("10"))
+                        .buyPrice(new BigDecimal("150.00")).purchaseDate(LocalDate.of(2024, 1, 15)).build(),
+                Stock.builder().symbol("BRK.B").name("Berkshire Hathaway, \"B\" shares").quantity(new BigDecimal("2"))
+                        .buyPrice(new BigDecimal("350.00")).build(),
+                Crypto.builder().symbol("BTC").name("Bitcoin").quantity(new BigDecimal("0.5"))
+                        .buyPrice(new BigDecimal("40000.00")).build(),
+                Bond.builder().symbol("UST10").name("US Treasury 10Y").quantity(new BigDecimal("5"))
+                        .buyPrice(new BigDecimal("98.50")).build(),
+                Cash.builder().symbol("USD").name("Cash").quantity(new BigDecimal("1000"))
+                        .buyPrice(BigDecimal.ONE).build()));
+        assetRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Given assets with commas and quotes in names when exporting CSV then the file re-imports to the same assets")
+    void givenAssets_whenExportingCsv_thenReimportable() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // WHEN
+        long count = assetExportService.export(ExportFormat.CSV, false, out);
+
+        // THEN
+        assertEquals(5, count);
+        List<AssetDTO> parsed = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new ByteArrayInputStream(out.toByteArray()))) {
+            assertTrue(csv.next());
+            assertEquals("symbol", csv.text(0));
+            assertEquals(8, csv.fieldCount());
+            while (csv.next()) {
+                parsed.add(AssetCsvParser.parse(csv));
+            }
+        }
+        assertEquals(List.of("AAPL", "BRK.B", "BTC", "UST10", "USD"), parsed.stream().map(AssetDTO::getSymbol).toList());
+        assertEquals("Berkshire Hathaway, \"B\" shares", parsed.get(1).getName());
+        assertEquals(AssetType.CRYPTO, parsed.get(2).getType());
+        assertEquals(0, new BigDecimal("0.5").compareTo(parsed.get(2).getQuantity()));
+        assertEquals(LocalDate.of(2024, 1, 15), parsed.get(0).getPurchaseDate());
+    }
+
+    @Test
+    @DisplayName("Given cached prices when exporting NDJSON with prices then tradeable assets get live columns and others nulls")
+    void givenCachedPrices_whenExportingNdjson_thenPriceColumns() throws IOException {
+        // GIVEN
+        when(stockPriceService.getCachedPrices(anyCollection()))
+                .thenReturn(Map.of("AAPL", new BigDecimal("200.00")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // WHEN
+        assetExportService.export(ExportFormat.NDJSON, true, out);
+
+        // THEN
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        JsonNode apple = objectMapper.readTree(lines[0]);
+        assertEquals("AAPL", apple.get("symbol").asText());
+        assertEquals(0, new BigDecimal("2000").compareTo(apple.get("currentValue").decimalValue()));
+        assertEquals(0, new BigDecimal("500").compareTo(apple.get("gainLoss").decimalValue()));
+        assertEquals("2024-01-15", apple.get("purchaseDate").asText());
+
+        JsonNode bitcoin = objectMapper.readTree(lines[2]);
+        assertTrue(bitcoin.get("currentPrice").isNull());
+        JsonNode bond = objectMapper.readTree(lines[3]);
+        assertEquals("BOND", bond.get("type").asText());
+        assertTrue(bond.get("currentPrice").isNull());
+    }
+
+    @Test
+    @DisplayName("Given more rows than the fetch size when exporting then written batches are detached from the session")
+    void givenSeveralBatches_whenExporting_thenPersistenceContextStaysSmall() throws IOException {
+        // GIVEN
+        entityManager.clear();
+
+        // WHEN
+        assetExportService.export(ExportFormat.CSV, false, new ByteArrayOutputStream());
+
+        // THEN
+        // Only the last, partial batch is still managed
+        assertEquals(1, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+}
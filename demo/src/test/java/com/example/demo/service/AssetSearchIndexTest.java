@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.AssetType;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssetText;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetSearchIndexTest {
+
+    private final AssetRepository assetRepository = mock(AssetRepository.class);
+    private final AssetSearchIndex index = new AssetSearchIndex(assetRepository);
+
+    private static AssetText row(long id, String symbol, String name) {
+        return new AssetText() {
+            public Long getId() { return id; }
+            public String getSymbol() { return symbol; }
+            public String getName() { return name; }
+        };
+    }
+
+    private static AssetChangedEvent event(AssetChangedEvent.Change change, long id, String symbol, String name) {
+        return new AssetChangedEvent(change, id, AssetType.STOCK, symbol, name, BigDecimal.ONE, BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("Given changes committed while a rebuild reads the database when it completes then they are kept")
+    void givenChangesDuringRebuild_whenRebuilt_thenChangesKept() {
+        // GIVEN: the snapshot predates a create of TSLA and a delete of AAPL
+        when(assetRepository.findAllText()).thenAnswer(invocation -> {
+            index.onAssetChanged(event(AssetChangedEvent.Change.CREATED, 3, "TSLA", "Tesla Inc"));
+            index.onAssetChanged(event(AssetChangedEvent.Change.DELETED, 1, "AAPL", "Apple Inc"));
+            return List.of(row(1, "AAPL", "Apple Inc"), row(2, "MSFT", "Microsoft Corp"));
+        });
+
+        // WHEN
+        index.rebuild();
+
+        // THEN
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+        assertEquals(List.of(3L), index.search("tesla"));
+        assertEquals(List.of(), index.search("apple"));
+        assertEquals(List.of(2L), index.search("msft"));
+    }
+
+    @Test
+    @DisplayName("Given a failing database read when rebuilding then the current index keeps serving and applying changes")
+    void givenFailingRead_whenRebuilding_thenCurrentIndexKept() {
+        // GIVEN
+        when(assetRepository.findAllText())
+                .thenReturn(List.of(row(1, "AAPL", "Apple Inc")))
+                .thenThrow(new IllegalStateException("database down"));
+        index.rebuild();
+
+        // WHEN
+        assertThrows(IllegalStateException.class, index::rebuild);
+        index.onAssetChanged(event(AssetChangedEvent.Change.CREATED, 2, "MSFT", "Microsoft Corp"));
+
+        // THEN
+        assertEquals(List.of(1L), index.search("apple"));
+        assertEquals(List.of(2L), index.search("microsoft"));
+    }
+}
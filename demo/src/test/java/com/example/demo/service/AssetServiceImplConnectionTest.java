@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.Bond;
+import com.example.demo.entity.Stock;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.BondRepository;
+import com.example.demo.repository.StockRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pool saturation: with a single pooled connection and a price lookup that
+ * blocks like a slow Finnhub call, the connection must already be back in the
+ * pool during the lookup, so other requests can still read.
+ * A held connection would make the concurrent read time out after 250 ms.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:pool-saturation;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=250",
+        // Enrichment calls the (mocked) remote price API instead of only the cache
+        "finnhub.refresh.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AssetServiceImpl.class, AssetSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetServiceImplConnectionTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private BondRepository bondRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch inRemoteCall = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger activeDuringCall = new AtomicInteger(-1);
+    private Long bondId;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository.save(Stock.builder().symbol("MSFT").name("Microsoft").quantity(new BigDecimal("2"))
+                .buyPrice(new BigDecimal("300.00")).build());
+        bondId = bondRepository.save(Bond.builder().symbol("UST10").name("US Treasury 10Y")
+                .quantity(new BigDecimal("5")).buyPrice(new BigDecimal("98.50")).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Given a slow price lookup when createAsset then the connection is released before the remote call")
+    void givenSlowPriceLookup_whenCreateAsset_thenConnectionReleasedBeforeRemoteCall() throws Exception {
+        // GIVEN
+        when(stockPriceService.getCurrentPrice("AAPL")).thenAnswer(invocation -> blockInRemoteCall(new BigDecimal("200.00")));
+        AssetDTO dto = AssetDTO.builder().symbol("AAPL").name("Apple Inc").type(AssetType.STOCK)
+                .quantity(new BigDecimal("10")).buyPrice(new BigDecimal("150.00")).build();
+
+        // WHEN
+        Future<AssetDTO> created = executor.submit(() -> assetService.createAsset(dto));
+        assertTrue(inRemoteCall.await(5, TimeUnit.SECONDS));
+        AssetDTO bond = assetService.getAssetById(bondId);
+        release.countDown();
+
+        // THEN
+        assertEquals(0, activeDuringCall.get(), "connections checked out during the price call");
+        assertEquals("UST10", bond.getSymbol());
+        assertEquals(0, new BigDecimal("2000").compareTo(created.get(5, TimeUnit.SECONDS).getCurrentValue()));
+    }
+
+    @Test
+    @DisplayName("Given a slow batch price lookup when getAllAssets then other reads proceed while it waits")
+    void givenSlowBatchPriceLookup_whenGetAllAssets_thenOtherReadsProceed() throws Exception {
+        // GIVEN
+        when(stockPriceService.getCurrentPrices(any(String[].class)))
+                .thenAnswer(invocation -> blockInRemoteCall(Map.of("MSFT", new BigDecimal("400.00"))));
+
+        // WHEN
+        Future<List<AssetDTO>> all = executor.submit(() -> assetService.getAllAssets());
+        assertTrue(inRemoteCall.await(5, TimeUnit.SECONDS));
+        List<AssetDTO> bonds = assetService.getAssetsByType(AssetType.BOND);
+        release.countDown();
+
+        // THEN
+        assertEquals(0, activeDuringCall.get(), "connections checked out during the price call");
+        assertEquals(1, bonds.size());
+        assertEquals(2, all.get(5, TimeUnit.SECONDS).size());
+    }
+
+    private <T> T blockInRemoteCall(T result) throws SQLException, InterruptedException {
+        activeDuringCall.set(pool().getActiveConnections());
+        inRemoteCall.countDown();
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private HikariPoolMXBean pool() throws SQLException {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    }
+}
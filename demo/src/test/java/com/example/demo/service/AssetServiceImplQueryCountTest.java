@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetBatchRequest;
+import com.example.demo.dto.AssetBatchResult;
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.Bond;
+import com.example.demo.entity.Stock;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.BondRepository;
+import com.example.demo.repository.StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the number of SQL statements issued by id-based asset operations.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({AssetServiceImpl.class, AssetSearchIndex.class})
+class AssetServiceImplQueryCountTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private BondRepository bondRepository;
+
+    @Autowired
+    private AssetSearchIndex assetSearchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    private Statistics statistics;
+    private Long stockId;
+    private Long bondId;
+
+    @BeforeEach
+    void setUp() {
+        stockId = stockRepository.save(Stock.builder()
+                .symbol("AAPL").name("Apple Inc").quantity(new BigDecimal("10"))
+                .buyPrice(new BigDecimal("150.00")).purchaseDate(LocalDate.of(2024, 1, 15)).build()).getId();
+        bondId = bondRepository.save(Bond.builder()
+                .symbol("UST10").name("US Treasury 10Y").quantity(new BigDecimal("5"))
+                .buyPrice(new BigDecimal("98.50")).maturityDate(LocalDate.of(2034, 1, 15)).build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Given an asset of the last repository type when getAssetById then at most two statements run")
+    void givenAsset_whenGetAssetById_thenAtMostTwoStatements() {
+        // WHEN
+        AssetDTO dto = assetService.getAssetById(bondId);
+
+        // THEN
+        assertEquals(AssetType.BOND, dto.getType());
+        assertEquals("UST10", dto.getSymbol());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Given an existing asset when updateAsset then the lookup takes at most two statements")
+    void givenAsset_whenUpdateAsset_thenLookupAtMostTwoStatements() {
+        // GIVEN
+        AssetDTO update = AssetDTO.builder()
+                .symbol("ust10").name("US Treasury 10 Year").type(AssetType.BOND)
+                .quantity(new BigDecimal("6")).buyPrice(new BigDecimal("98.50")).build();
+
+        // WHEN
+        AssetDTO updated = assetService.updateAsset(bondId, update);
+
+        // THEN
+        assertEquals("US Treasury 10 Year", updated.getName());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected at most 2 statements before flush, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Given an existing asset when deleteAsset then the lookup takes at most two statements")
+    void givenAsset_whenDeleteAsset_thenLookupAtMostTwoStatements() {
+        // WHEN
+        assetService.deleteAsset(bondId);
+
+        // THEN
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected at most 2 statements before flush, got " + statistics.getPrepareStatementCount());
+        entityManager.flush();
+        assertFalse(bondRepository.existsById(bondId));
+    }
+
+    @Test
+    @DisplayName("Given an unknown id when getAssetById then not found after a single statement")
+    void givenUnknownId_whenGetAssetById_thenNotFoundAfterOneStatement() {
+        assertThrows(ResourceNotFoundException.class, () -> assetService.getAssetById(999_999L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Given a built search index when searchAssets then matches load in a single statement")
+    void givenBuiltIndex_whenSearchAssets_thenSingleStatement() {
+        // GIVEN
+        assetSearchIndex.rebuild();
+        statistics.clear();
+
+        // WHEN
+        List<AssetDTO> results = assetService.searchAssets("treas");
+
+        // THEN
+        assertEquals(1, results.size());
+        assertEquals("UST10", results.get(0).getSymbol());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Given a batch of 200 creates, an update and a delete when applyBatch then writes are batched and prices looked up once")
+    void givenLargeBatch_whenApplyBatch_thenBatchedWritesAndOnePriceLookup() {
+        // GIVEN
+        List<AssetDTO> creates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            creates.add(AssetDTO.builder().symbol("SYM" + i).name("Company " + i)
+                    .type(i % 2 == 0 ? AssetType.STOCK : AssetType.CRYPTO)
+                    .quantity(BigDecimal.ONE).buyPrice(new BigDecimal("10.00")).build());
+        }
+        AssetDTO update = AssetDTO.builder().id(stockId).symbol("AAPL").name("Apple Inc")
+                .quantity(new BigDecimal("20")).buyPrice(new BigDecimal("150.00")).build();
+        when(stockPriceService.getCachedPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("200.00")));
+
+        // WHEN
+        AssetBatchResult result = assetService.applyBatch(AssetBatchRequest.builder()
+                .create(creates).update(List.of(update)).delete(List.of(bondId)).build());
+
+        // THEN
+        assertTrue(result.isApplied());
+        assertEquals(200, result.getCreated());
+        assertEquals(202, result.getItems().size());
+        AssetBatchResult.Item updated = result.getItems().get(200);
+        assertEquals(AssetBatchResult.Operation.UPDATE, updated.getOperation());
+        assertEquals(0, new BigDecimal("4000").compareTo(updated.getAsset().getCurrentValue()));
+        assertNotNull(result.getItems().get(0).getAsset().getId());
+        verify(stockPriceService, times(1)).getCachedPrices(anyCollection());
+        // 400 inserts, 1 update and 2 deletes in a few dozen JDBC batches rather than one statement each
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < 40, "expected batched writes, got " + statements + " statements");
+        assertFalse(bondRepository.existsById(bondId));
+    }
+
+    @Test
+    @DisplayName("Given a batch with an invalid item when applyBatch then nothing is written and only failures are reported")
+    void givenInvalidItem_whenApplyBatch_thenNothingWritten() {
+        // GIVEN
+        AssetDTO valid = AssetDTO.builder().symbol("MSFT").name("Microsoft").type(AssetType.STOCK)
+                .quantity(BigDecimal.ONE).buyPrice(new BigDecimal("300.00")).build();
+        AssetDTO invalid = AssetDTO.builder().symbol("BAD").name("No Quantity").type(AssetType.STOCK)
+                .buyPrice(BigDecimal.TEN).build();
+
+        // WHEN
+        AssetBatchResult result = assetService.applyBatch(AssetBatchRequest.builder()
+                .create(List.of(valid, invalid)).delete(List.of(bondId, 999_999L, bondId)).build());
+
+        // THEN
+        assertFalse(result.isApplied());
+        assertEquals(List.of("Quantity must be greater than 0", "Asset not found with id: '999999'",
+                        "Asset " + bondId + " appears in more than one operation"),
+                result.getItems().stream().map(AssetBatchResult.Item::getError).toList());
+        assertEquals(1, result.getItems().get(0).getIndex());
+        entityManager.flush();
+        assertEquals(2, stockRepository.count() + bondRepository.count());
+    }
+}
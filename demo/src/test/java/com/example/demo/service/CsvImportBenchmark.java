@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.util.CsvTokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing throughput of an asset CSV: the byte-level tokenizer used by import
+ * jobs against the previous readLine/split/substring path.
+ *
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.args="CsvImportBenchmark -prof gc"};
+ * the gc profiler reports bytes allocated per row for each path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("symbol,name,type,quantity,buyPrice,purchaseDate\n");
+        AssetType[] types = {AssetType.STOCK, AssetType.ETF, AssetType.CRYPTO, AssetType.BOND};
+        for (int i = 0; i < ROWS; i++) {
+            builder.append("SYM").append(i).append(',')
+                    .append("Company number ").append(i).append(',')
+                    .append(types[i % types.length]).append(',')
+                    .append(i % 1000 + 1).append(".5,")
+                    .append(100 + i % 400).append(".25,")
+                    .append("2024-0").append(i % 9 + 1).append('-').append(10 + i % 18).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void tokenizer(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteArrayInputStream(csv))) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                blackhole.consume(AssetCsvParser.parse(tokenizer));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void readLineSplit(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                blackhole.consume(splitRowToDto(line.split(",", -1)));
+            }
+        }
+    }
+
+    /**
+     * The row converter the upload endpoint used before import jobs (csvRowToDto).
+     */
+    private static AssetDTO splitRowToDto(String[] cols) {
+        if (cols.length < 5) {
+            return null;
+        }
+        try {
+            String symbol = cols[0].trim();
+            String name = cols[1].trim();
+            String typeStr = cols[2].trim().toUpperCase();
+            String qtyStr = cols[3].trim();
+            String buyStr = cols[4].trim();
+            String dateStr = cols.length > 5 ? cols[5].trim() : null;
+            if (symbol.isEmpty() || name.isEmpty() || typeStr.isEmpty() || qtyStr.isEmpty() || buyStr.isEmpty()) {
+                return null;
+            }
+            return AssetDTO.builder()
+                    .symbol(symbol)
+                    .name(name)
+                    .type(AssetType.valueOf(typeStr))
+                    .quantity(new BigDecimal(qtyStr))
+                    .buyPrice(new BigDecimal(buyStr))
+                    .purchaseDate(dateStr != null && !dateStr.isEmpty() ? LocalDate.parse(dateStr) : null)
+                    .build();
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
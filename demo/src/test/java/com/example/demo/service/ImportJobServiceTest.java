@@ -0,0 +1,221 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ImportConfig;
+import com.example.demo.dto.ImportJobDTO;
+import com.example.demo.entity.BaseAsset;
+import com.example.demo.entity.ImportJob;
+import com.example.demo.entity.ImportJobStatus;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.ImportJobRepository;
+import com.example.demo.repository.ImportRejectionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs jobs on the test thread, outside a test transaction, so chunks really commit.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "assets.import.chunk-size=2"
+})
+@Import({ImportJobService.class, AssetBulkImporter.class, ImportConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportJobServiceTest {
+
+    private static final String HEADER = "symbol,name,type,quantity,buyPrice,purchaseDate\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRejectionRepository importRejectionRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @AfterEach
+    void tearDown() {
+        assetRepository.deleteAllInBatch();
+        importRejectionRepository.deleteAllInBatch();
+        importJobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Given a CSV with invalid rows when the job runs then valid rows are imported and rejections reported with reasons")
+    void givenInvalidRows_whenJobRuns_thenRejectionsReported() throws IOException {
+        // GIVEN
+        Path file = csv("AAPL,Apple Inc,STOCK,10,150.00,2024-01-15\n"
+                + "BAD,Bad Type,SHARE,1,1\n"
+                + "\n"
+                + "MSFT,Microsoft,STOCK,-5,300\n"
+                + "BTC,Bitcoin,CRYPTO,0.5,40000\n");
+        Long jobId = queue(file, 0, 0);
+
+        // WHEN
+        importJobService.run(jobId);
+
+        // THEN
+        ImportJobDTO job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getRowsProcessed());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(2, job.getRowsRejected());
+        assertEquals(List.of(
+                new ImportJobDTO.Rejection(3, "Unknown asset type 'SHARE'"),
+                new ImportJobDTO.Rejection(5, "quantity must be positive")), job.getRejections());
+        assertEquals(List.of("AAPL", "BTC"), symbols());
+        assertFalse(Files.exists(file), "upload is deleted once the job completes");
+    }
+
+    @Test
+    @DisplayName("Given rows out of range for the API or the columns when the job runs then they are rejected and the job completes")
+    void givenOutOfRangeRows_whenJobRuns_thenRejectedAndJobCompletes() throws IOException {
+        // GIVEN
+        Path file = csv("BIG,Too Many,STOCK,1e16,10\n"
+                + "TINY,Too Few,STOCK,0.00001,10\n"
+                + "FRAC,Fraction,STOCK,1.00005,10\n"
+                + "CHEAP,Cheap,STOCK,1,0.001\n"
+                + "RICH,Rich,STOCK,1,1e17\n"
+                + "OK,Fine,STOCK,1.500000,10.10\n");
+        Long jobId = queue(file, 0, 0);
+
+        // WHEN
+        importJobService.run(jobId);
+
+        // THEN
+        ImportJobDTO job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRowsImported());
+        assertEquals(List.of(
+                new ImportJobDTO.Rejection(2, "Quantity must have at most 15 integer digits"),
+                new ImportJobDTO.Rejection(3, "Quantity must be greater than 0"),
+                new ImportJobDTO.Rejection(4, "Quantity must have at most 4 decimal places"),
+                new ImportJobDTO.Rejection(5, "Buy price must be greater than 0"),
+                new ImportJobDTO.Rejection(6, "Buy price must have at most 17 integer digits")), job.getRejections());
+        assertEquals(List.of("OK"), symbols());
+    }
+
+    @Test
+    @DisplayName("Given a job interrupted after a committed chunk when it runs again then it resumes after that chunk")
+    void givenInterruptedJob_whenRunAgain_thenResumesAfterCommittedChunk() throws IOException {
+        // GIVEN: the first chunk (AAPL, MSFT) was recorded as committed before the crash
+        Path file = csv("AAPL,Apple Inc,STOCK,10,150\n"
+                + "MSFT,Microsoft,STOCK,5,300\n"
+                + "NVDA,Nvidia,STOCK,2,500\n"
+                + "AMZN,Amazon,STOCK,3,130\n"
+                + "TSLA,Tesla,STOCK,1,200\n");
+        Long jobId = queue(file, 2, 2);
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ImportJobStatus.RUNNING);
+            importJobRepository.save(job);
+        });
+
+        // WHEN
+        importJobService.run(jobId);
+
+        // THEN
+        ImportJobDTO job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getRowsProcessed());
+        assertEquals(5, job.getRowsImported());
+        assertEquals(List.of("AMZN", "NVDA", "TSLA"), symbols());
+    }
+
+    @Test
+    @DisplayName("Given a job that failed long ago when it is resumed then its throughput covers only the new run")
+    void givenFailedJob_whenResumed_thenRateCoversNewRunOnly() throws IOException {
+        // GIVEN: the first chunk committed an hour ago before the job failed
+        Path file = csv("AAPL,Apple Inc,STOCK,10,150\n"
+                + "MSFT,Microsoft,STOCK,5,300\n"
+                + "NVDA,Nvidia,STOCK,2,500\n"
+                + "AMZN,Amazon,STOCK,3,130\n");
+        Long jobId = queue(file, 2, 2);
+        LocalDateTime firstStart = LocalDateTime.now().minusHours(1);
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setStartedAt(firstStart);
+            job.setRunStartedAt(firstStart);
+            importJobRepository.save(job);
+        });
+
+        // WHEN
+        importJobService.run(jobId);
+
+        // THEN: two rows in well under a second, not four rows over an hour
+        ImportJobDTO job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsProcessed());
+        assertTrue(job.getRowsPerSecond() > 1, "rows per second " + job.getRowsPerSecond());
+        assertEquals(firstStart.withNano(0), job.getStartedAt().withNano(0));
+    }
+
+    @Test
+    @DisplayName("Given a job whose file is missing when it runs then it fails with the error recorded")
+    void givenMissingFile_whenJobRuns_thenFailed() {
+        // GIVEN
+        Long jobId = queue(tempDir.resolve("missing.csv"), 0, 0);
+
+        // WHEN
+        importJobService.run(jobId);
+
+        // THEN
+        ImportJobDTO failed = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertNotNull(failed.getErrorMessage());
+        assertNotNull(failed.getFinishedAt());
+    }
+
+    @Test
+    @DisplayName("Given a completed job when resume then it is rejected")
+    void givenCompletedJob_whenResume_thenRejected() throws IOException {
+        // GIVEN
+        Long jobId = queue(csv("AAPL,Apple Inc,STOCK,10,150\n"), 0, 0);
+        importJobService.run(jobId);
+
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> importJobService.resume(jobId));
+    }
+
+    private Path csv(String rows) throws IOException {
+        Path file = tempDir.resolve("assets.csv");
+        Files.writeString(file, HEADER + rows);
+        return file;
+    }
+
+    private Long queue(Path file, long committedRows, long rowsImported) {
+        return importJobRepository.save(ImportJob.builder()
+                .filename(file.getFileName().toString())
+                .filePath(file.toString())
+                .status(ImportJobStatus.QUEUED)
+                .committedRows(committedRows)
+                .rowsImported(rowsImported)
+                .build()).getId();
+    }
+
+    private List<String> symbols() {
+        return assetRepository.findAll(Sort.by("symbol")).stream().map(BaseAsset::getSymbol).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.StockNews;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 31);
+
+    private final NewsCache newsCache = new NewsCache(10_000, 60_000, 60_000, 3_600_000,
+            Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+
+    // Records every range requested and returns one article per day of it
+    private final List<String> fetchedRanges = new ArrayList<>();
+    private final NewsCache.RangeFetcher fetcher = (symbol, from, to) -> {
+        fetchedRanges.add(from + ".." + to);
+        List<StockNews> articles = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            articles.add(article(day.toEpochDay(), day));
+        }
+        return articles;
+    };
+
+    private static StockNews article(long id, LocalDate day) {
+        return StockNews.builder()
+                .id(id)
+                .headline("News " + id)
+                .datetime(day.atTime(12, 0).toEpochSecond(ZoneOffset.UTC))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Given a cached window when an overlapping window is requested then only the missing days are fetched")
+    void givenCachedWindow_whenOverlappingWindowRequested_thenOnlyMissingDaysFetched() {
+        // GIVEN
+        newsCache.getCompanyNews("AAPL", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10), fetcher);
+
+        // WHEN
+        List<StockNews> news = newsCache.getCompanyNews("AAPL",
+                LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 15), fetcher);
+
+        // THEN
+        assertEquals(List.of("2024-03-01..2024-03-10", "2024-03-11..2024-03-15"), fetchedRanges);
+        assertEquals(11, news.size());
+        assertEquals(LocalDate.of(2024, 3, 15).toEpochDay(), news.get(0).getId());
+        assertEquals(LocalDate.of(2024, 3, 5).toEpochDay(), news.get(10).getId());
+    }
+
+    @Test
+    @DisplayName("Given gaps inside a window when requested then each run of missing days is fetched once")
+    void givenGapsInWindow_whenRequested_thenEachMissingRunFetched() {
+        // GIVEN
+        newsCache.getCompanyNews("AAPL", LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 4), fetcher);
+        fetchedRanges.clear();
+
+        // WHEN
+        newsCache.getCompanyNews("AAPL", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 6), fetcher);
+        newsCache.getCompanyNews("AAPL", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 6), fetcher);
+
+        // THEN
+        assertEquals(List.of("2024-03-01..2024-03-02", "2024-03-05..2024-03-06"), fetchedRanges);
+    }
+
+    @Test
+    @DisplayName("Given duplicate articles when fetching then each id is returned once")
+    void givenDuplicateArticles_whenFetching_thenDeduplicatedById() {
+        // GIVEN
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        NewsCache.RangeFetcher duplicating = (symbol, from, to) -> List.of(article(1, day), article(1, day), article(2, day));
+
+        // WHEN
+        List<StockNews> news = newsCache.getCompanyNews("AAPL", day, day, duplicating);
+
+        // THEN
+        assertEquals(2, news.size());
+    }
+
+    @Test
+    @DisplayName("Given a skipped fetch when requesting then nothing is cached and the next request fetches again")
+    void givenSkippedFetch_whenRequesting_thenNotCached() {
+        // GIVEN
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        assertTrue(newsCache.getCompanyNews("AAPL", day, day, (symbol, from, to) -> null).isEmpty());
+
+        // WHEN
+        newsCache.getCompanyNews("AAPL", day, day, fetcher);
+
+        // THEN
+        assertEquals(List.of("2024-03-01..2024-03-01"), fetchedRanges);
+    }
+
+    @Test
+    @DisplayName("Given a window longer than a year or past today when requested then it is clamped to the last year")
+    void givenOversizedWindow_whenRequested_thenClampedToLastYear() {
+        // WHEN
+        List<StockNews> news = newsCache.getCompanyNews("AAPL",
+                LocalDate.of(1900, 1, 1), LocalDate.of(2999, 12, 31), fetcher);
+        List<StockNews> future = newsCache.getCompanyNews("AAPL",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), fetcher);
+
+        // THEN
+        assertEquals(List.of("2023-04-01..2024-03-31"), fetchedRanges);
+        assertEquals(366, news.size());
+        assertEquals(TODAY.toEpochDay(), news.get(0).getId());
+        assertTrue(future.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given cached market news when requested again then the loader is not called")
+    void givenCachedMarketNews_whenRequestedAgain_thenNotReloaded() {
+        // GIVEN
+        int[] loads = {0};
+        newsCache.getMarketNews("general", () -> {
+            loads[0]++;
+            return List.of(article(1, TODAY));
+        });
+
+        // WHEN
+        List<StockNews> news = newsCache.getMarketNews("general", () -> {
+            loads[0]++;
+            return List.of();
+        });
+
+        // THEN
+        assertEquals(1, loads[0]);
+        assertEquals(1, news.size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.AssetType;
+import com.example.demo.event.PriceUpdatedEvent;
+import com.example.demo.repository.AssetHolding;
+import com.example.demo.repository.AssetRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+/**
+ * Price ticks applied to a loaded PortfolioAggregate: each tick revalues the
+ * holdings in one symbol and shifts their type's totals.
+ *
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.args="PortfolioAggregateBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioAggregateBenchmark {
+
+    private static final int SYMBOLS = 100;
+    private static final int LOTS_PER_SYMBOL = 100;
+
+    private PortfolioAggregate aggregate;
+    private PriceUpdatedEvent[] ticks;
+    private int next;
+
+    private record Row(Long getId, String getType, String getSymbol, String getName,
+                       BigDecimal getQuantity, BigDecimal getBuyPrice) implements AssetHolding {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<AssetHolding> rows = new ArrayList<>();
+        Map<String, BigDecimal> prices = new HashMap<>();
+        long id = 1;
+        for (int s = 0; s < SYMBOLS; s++) {
+            String symbol = "SYM" + s;
+            prices.put(symbol, BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            for (int lot = 0; lot < LOTS_PER_SYMBOL; lot++) {
+                rows.add(new Row(id++, (lot % 2 == 0 ? AssetType.STOCK : AssetType.ETF).name(), symbol, symbol,
+                        BigDecimal.valueOf(1 + random.nextInt(1_000_000), 4),
+                        BigDecimal.valueOf(100 + random.nextInt(50_000), 2)));
+            }
+        }
+        AssetRepository repository = Mockito.mock(AssetRepository.class);
+        Mockito.when(repository.findAllHoldings()).thenReturn(rows);
+        StockPriceService prices0 = Mockito.mock(StockPriceService.class);
+        Mockito.when(prices0.getCachedPrices(anyCollection())).thenReturn(prices);
+        aggregate = new PortfolioAggregate(repository, prices0);
+        aggregate.reconcile();
+
+        // Streamed trade prices, as TickStore publishes them (BigDecimal.valueOf(double))
+        ticks = new PriceUpdatedEvent[4096];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = new PriceUpdatedEvent("SYM" + random.nextInt(SYMBOLS),
+                    BigDecimal.valueOf((100 + random.nextInt(50_000)) / 100.0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTS_PER_SYMBOL)
+    public void revalueOnTick() {
+        aggregate.onPriceUpdated(ticks[next++ & (ticks.length - 1)]);
+    }
+}
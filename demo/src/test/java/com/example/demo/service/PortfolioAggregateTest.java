@@ -0,0 +1,249 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.PortfolioSummaryDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.Bond;
+import com.example.demo.entity.Stock;
+import com.example.demo.event.PriceUpdatedEvent;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.BondRepository;
+import com.example.demo.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Changes go through AssetService outside a test transaction, so the
+ * aggregate receives them after commit as it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({AssetServiceImpl.class, AssetSearchIndex.class, PortfolioAggregate.class, PortfolioService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortfolioAggregateTest {
+
+    private static final Map<String, BigDecimal> PRICES = Map.of(
+            "AAPL", new BigDecimal("200.00"),
+            "MSFT", new BigDecimal("250.00"),
+            "BTC", new BigDecimal("60000.00"));
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioAggregate portfolioAggregate;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private BondRepository bondRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    private Long msftId;
+
+    @BeforeEach
+    void setUp() {
+        when(stockPriceService.getCachedPrice(anyString())).thenAnswer(invocation -> PRICES.get(invocation.<String>getArgument(0)));
+        when(stockPriceService.getCachedPrices(anyCollection())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> found = new HashMap<>();
+            for (String symbol : invocation.<Collection<String>>getArgument(0)) {
+                if (PRICES.containsKey(symbol)) {
+                    found.put(symbol, PRICES.get(symbol));
+                }
+            }
+            return found;
+        });
+
+        msftId = stockRepository.save(Stock.builder().symbol("MSFT").name("Microsoft").quantity(new BigDecimal("4"))
+                .buyPrice(new BigDecimal("300.00")).build()).getId();
+        bondRepository.save(Bond.builder().symbol("UST10").name("US Treasury 10Y").quantity(new BigDecimal("5"))
+                .buyPrice(new BigDecimal("98.50")).build());
+        portfolioAggregate.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Given creates, updates and deletes through AssetService when summarizing then the aggregate matches a full recomputation")
+    void givenChanges_whenSummarizing_thenAggregateMatchesRecomputation() {
+        // GIVEN
+        Long appleId = assetService.createAsset(asset("AAPL", AssetType.STOCK, "10", "150.00")).getId();
+        assetService.createAsset(asset("BTC", AssetType.CRYPTO, "0.5", "40000.00"));
+        assetService.createAsset(asset("XYZ", AssetType.ETF, "3", "20.00"));
+        assetService.updateAsset(appleId, asset("AAPL", AssetType.STOCK, "12", "150.00"));
+        assetService.deleteAsset(msftId);
+
+        // WHEN
+        PortfolioSummaryDTO fromAggregate = portfolioService.getPortfolioSummary();
+        PortfolioSummaryDTO recomputed = portfolioService.getPortfolioSummaryWithAssets();
+
+        // THEN
+        assertEquals(4, fromAggregate.getTotalAssets());
+        assertEquals(0, new BigDecimal("32952.50").compareTo(fromAggregate.getTotalValue()));
+        assertEquals(recomputed.getTotalAssets(), fromAggregate.getTotalAssets());
+        assertEquals(0, recomputed.getTotalValue().compareTo(fromAggregate.getTotalValue()));
+        assertEquals(0, recomputed.getTotalCostBasis().compareTo(fromAggregate.getTotalCostBasis()));
+        assertEquals(recomputed.getTotalGainLossPercentage(), fromAggregate.getTotalGainLossPercentage());
+        assertEquals(recomputed.getAssetCountByType(), fromAggregate.getAssetCountByType());
+        assertEquals(recomputed.getAllocationByType(), fromAggregate.getAllocationByType());
+        recomputed.getValueByType().forEach((type, value) ->
+                assertEquals(0, value.compareTo(fromAggregate.getValueByType().get(type)), type));
+        assertEquals(symbols(recomputed.getTopGainers()), symbols(fromAggregate.getTopGainers()));
+        assertEquals(symbols(recomputed.getTopLosers()), symbols(fromAggregate.getTopLosers()));
+        assertNull(fromAggregate.getAssets());
+        assertEquals(0, portfolioAggregate.reconcile());
+    }
+
+    @Test
+    @DisplayName("Given a row changed outside the service when reconciling then the drift is reported and corrected")
+    void givenRowChangedOutsideService_whenReconciling_thenDriftCorrected() {
+        // GIVEN
+        jdbcTemplate.update("UPDATE assets SET quantity = 8 WHERE id = ?", msftId);
+
+        // WHEN
+        int drifted = portfolioAggregate.reconcile();
+
+        // THEN
+        assertEquals(1, drifted);
+        PortfolioAggregate.TypeTotals stocks = portfolioAggregate.totalsByType().get(AssetType.STOCK);
+        assertEquals(0, new BigDecimal("2000.00").compareTo(stocks.value()));
+        assertEquals(0, new BigDecimal("2400.00").compareTo(stocks.costBasis()));
+        assertEquals(0, portfolioAggregate.reconcile());
+    }
+
+    @Test
+    @DisplayName("Given two lots of a symbol when its price ticks then only those lots are revalued and the totals shift by the difference")
+    void givenTwoLots_whenPriceTicks_thenOnlyThoseLotsRevalued() {
+        // GIVEN
+        assetService.createAsset(asset("AAPL", AssetType.STOCK, "10", "150.00"));
+        assetService.createAsset(asset("aapl", AssetType.STOCK, "5", "180.00"));
+        assetService.createAsset(asset("BTC", AssetType.CRYPTO, "0.5", "40000.00"));
+        Map<AssetType, PortfolioAggregate.TypeTotals> before = portfolioAggregate.totalsByType();
+
+        // WHEN
+        eventPublisher.publishEvent(new PriceUpdatedEvent("AAPL", new BigDecimal("220.00")));
+
+        // THEN
+        Map<AssetType, PortfolioAggregate.TypeTotals> after = portfolioAggregate.totalsByType();
+        // 15 shares moved from 200 to 220; MSFT stays at 4 x 250
+        assertEquals(0, new BigDecimal("4000.00").compareTo(before.get(AssetType.STOCK).value()));
+        assertEquals(0, new BigDecimal("4300.00").compareTo(after.get(AssetType.STOCK).value()));
+        assertEquals(0, before.get(AssetType.STOCK).costBasis().compareTo(after.get(AssetType.STOCK).costBasis()));
+        assertEquals(before.get(AssetType.CRYPTO), after.get(AssetType.CRYPTO));
+        assertEquals(before.get(AssetType.BOND), after.get(AssetType.BOND));
+
+        List<AssetDTO> gainers = portfolioAggregate.topPerformers(5, true);
+        assertEquals(List.of("BTC", "AAPL", "AAPL"), symbols(gainers));
+        assertEquals(0, new BigDecimal("46.6700").compareTo(gainers.get(1).getGainLossPercentage()));
+        assertEquals(0, new BigDecimal("220.00").compareTo(gainers.get(2).getCurrentPrice()));
+        assertEquals(List.of("MSFT"), symbols(portfolioAggregate.topPerformers(5, false)));
+    }
+
+    @Test
+    @DisplayName("Given a price tick for a symbol not held when publishing then the totals are unchanged")
+    void givenSymbolNotHeld_whenPriceTicks_thenTotalsUnchanged() {
+        // GIVEN
+        Map<AssetType, PortfolioAggregate.TypeTotals> before = portfolioAggregate.totalsByType();
+
+        // WHEN
+        eventPublisher.publishEvent(new PriceUpdatedEvent("NVDA", new BigDecimal("900.00")));
+
+        // THEN
+        assertEquals(before, portfolioAggregate.totalsByType());
+    }
+
+    @Test
+    @DisplayName("Given assets loaded from the database when reading top performers then values equal AssetService's, scale included")
+    void givenLoadedAssets_whenReadingTopPerformers_thenIdenticalToAssetService() {
+        // GIVEN
+        assetService.createAsset(asset("AAPL", AssetType.STOCK, "10.5", "150.25"));
+        assetService.createAsset(asset("BTC", AssetType.CRYPTO, "0.1234", "40000.00"));
+        portfolioAggregate.reconcile();
+
+        // WHEN
+        List<AssetDTO> fromAggregate = portfolioAggregate.topPerformers(5, true);
+
+        // THEN
+        assertEquals(2, fromAggregate.size());
+        for (AssetDTO aggregated : fromAggregate) {
+            AssetDTO expected = assetService.getAssetById(aggregated.getId());
+            assertEquals(expected.getCostBasis(), aggregated.getCostBasis());
+            assertEquals(expected.getCurrentValue(), aggregated.getCurrentValue());
+            assertEquals(expected.getGainLoss(), aggregated.getGainLoss());
+            assertEquals(expected.getGainLossPercentage(), aggregated.getGainLossPercentage());
+        }
+    }
+
+    @Test
+    @DisplayName("Given an asset too large for fixed-point when summarizing then the aggregate steps aside until a reconciliation fits")
+    void givenOutOfRangeAsset_whenSummarizing_thenFallsBackUntilReconciled() {
+        // GIVEN
+        // 10^14 x 150.00 has an unscaled cost basis of 1.5 x 10^22, beyond a long
+        Long hugeId = assetService.createAsset(asset("UST30", AssetType.BOND, "100000000000000", "150.00")).getId();
+
+        // WHEN
+        PortfolioSummaryDTO summary = portfolioService.getPortfolioSummary();
+
+        // THEN
+        assertFalse(portfolioAggregate.isReady());
+        assertEquals(0, portfolioAggregate.reconcile());
+        assertFalse(portfolioAggregate.isReady());
+        assertEquals(3, summary.getTotalAssets());
+        assertEquals(0, portfolioService.getPortfolioSummaryWithAssets().getTotalValue().compareTo(summary.getTotalValue()));
+
+        assetService.deleteAsset(hugeId);
+        portfolioAggregate.reconcile();
+        assertTrue(portfolioAggregate.isReady());
+        assertEquals(2, portfolioService.getPortfolioSummary().getTotalAssets());
+    }
+
+    private static AssetDTO asset(String symbol, AssetType type, String quantity, String buyPrice) {
+        return AssetDTO.builder().symbol(symbol).name(symbol + " holding").type(type)
+                .quantity(new BigDecimal(quantity)).buyPrice(new BigDecimal(buyPrice)).build();
+    }
+
+    private static List<String> symbols(List<AssetDTO> assets) {
+        return assets.stream().map(AssetDTO::getSymbol).toList();
+    }
+}
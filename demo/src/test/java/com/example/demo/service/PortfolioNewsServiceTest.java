@@ -0,0 +1,127 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.StockNews;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PortfolioNewsServiceTest {
+
+    private final PortfolioNewsService service = new PortfolioNewsService(null, null, new SyncTaskExecutor());
+
+    private static StockNews article(long id, long datetime) {
+        return StockNews.builder().id(id).datetime(datetime).build();
+    }
+
+    private static List<Long> ids(CursorPage<StockNews> page) {
+        return page.getItems().stream().map(StockNews::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Given several feeds when paging then articles are merged newest first across pages")
+    void givenSeveralFeeds_whenPaging_thenMergedNewestFirst() {
+        // GIVEN
+        List<List<StockNews>> feeds = List.of(
+                List.of(article(9, 900), article(5, 500), article(1, 100)),
+                List.of(article(8, 800), article(4, 400)),
+                List.of(article(7, 700), article(6, 600), article(3, 300), article(2, 200)));
+
+        // WHEN
+        List<Long> all = new ArrayList<>();
+        StockNews cursor = null;
+        CursorPage<StockNews> page;
+        do {
+            page = service.page(feeds, cursor, 4);
+            all.addAll(ids(page));
+            cursor = PortfolioNewsService.decodeCursor(page.getNextCursor());
+        } while (page.isHasMore());
+
+        // THEN
+        assertEquals(List.of(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), all);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Given an article related to several holdings when merging then it is returned once")
+    void givenSharedArticle_whenMerging_thenReturnedOnce() {
+        // GIVEN
+        List<List<StockNews>> feeds = List.of(
+                List.of(article(3, 300), article(2, 200)),
+                List.of(article(3, 300), article(1, 100)));
+
+        // WHEN
+        CursorPage<StockNews> first = service.page(feeds, null, 1);
+        CursorPage<StockNews> rest = service.page(feeds, PortfolioNewsService.decodeCursor(first.getNextCursor()), 10);
+
+        // THEN
+        assertEquals(List.of(3L), ids(first));
+        assertEquals(List.of(2L, 1L), ids(rest));
+        assertFalse(rest.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Given articles with the same timestamp when paging then the id breaks the tie")
+    void givenSameTimestamp_whenPaging_thenIdBreaksTie() {
+        // GIVEN
+        List<List<StockNews>> feeds = List.of(List.of(article(12, 500), article(11, 500), article(10, 500)));
+
+        // WHEN
+        CursorPage<StockNews> first = service.page(feeds, null, 2);
+        CursorPage<StockNews> second = service.page(feeds, PortfolioNewsService.decodeCursor(first.getNextCursor()), 2);
+
+        // THEN
+        assertEquals(List.of(12L, 11L), ids(first));
+        assertEquals(List.of(10L), ids(second));
+    }
+
+    @Test
+    @DisplayName("Given a malformed cursor when decoding then it is rejected")
+    void givenMalformedCursor_whenDecoding_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PortfolioNewsService.decodeCursor("not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Given a symbol still loading at the deadline when paging then the page is partial and no cursor skips its articles")
+    void givenSlowSymbol_whenPaging_thenPartialWithoutCursor() {
+        // GIVEN: SLOW has the newest article but its fetch outlives the deadline
+        TradeableHoldings holdings = mock(TradeableHoldings.class);
+        StockPriceService prices = mock(StockPriceService.class);
+        when(holdings.symbols()).thenReturn(new LinkedHashSet<>(List.of("AAPL", "SLOW")));
+        when(prices.getCompanyNews(eq("AAPL"), any(), any())).thenReturn(List.of(article(2, 200), article(1, 100)));
+        CountDownLatch release = new CountDownLatch(1);
+        when(prices.getCompanyNews(eq("SLOW"), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(article(3, 300));
+        });
+        PortfolioNewsService slowService = new PortfolioNewsService(holdings, prices, task -> new Thread(task).start());
+        ReflectionTestUtils.setField(slowService, "timeoutMs", 100L);
+
+        // WHEN
+        CursorPage<StockNews> partial = slowService.getPortfolioNews(null, 1, null, null);
+        release.countDown();
+        CursorPage<StockNews> retried = slowService.getPortfolioNews(null, 1, null, null);
+
+        // THEN
+        assertTrue(partial.isPartial());
+        assertNull(partial.getNextCursor());
+        assertTrue(partial.isHasMore());
+        assertEquals(List.of(2L), ids(partial));
+        assertFalse(retried.isPartial());
+        assertEquals(List.of(3L), ids(retried));
+        assertNotNull(retried.getNextCursor());
+    }
+}
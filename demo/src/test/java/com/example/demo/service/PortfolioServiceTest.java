@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PortfolioSummaryDTO;
+import com.example.demo.entity.AssetType;
+import com.example.demo.entity.Bond;
+import com.example.demo.entity.Crypto;
+import com.example.demo.entity.Stock;
+import com.example.demo.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The aggregate is mocked: not ready unless a test says so, which selects the
+ * grouped-query path for allocation and performance.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({AssetServiceImpl.class, AssetSearchIndex.class, PortfolioService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortfolioServiceTest {
+
+    private static final Map<String, BigDecimal> PRICES = Map.of("AAPL", new BigDecimal("200.00"));
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @MockBean
+    private PortfolioAggregate portfolioAggregate;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    @BeforeEach
+    void setUp() {
+        when(stockPriceService.getCachedPrices(anyCollection())).thenReturn(PRICES);
+
+        // Two AAPL lots in one group; BTC has no cached price and is valued at cost
+        assetRepository.saveAll(List.of(
+                Stock.builder().symbol("AAPL").name("Apple Inc").quantity(new BigDecimal("10"))
+                        .buyPrice(new BigDecimal("150.00")).build(),
+                Stock.builder().symbol("AAPL").name("Apple Inc").quantity(new BigDecimal("5"))
+                        .buyPrice(new BigDecimal("220.00")).build(),
+                Crypto.builder().symbol("BTC").name("Bitcoin").quantity(new BigDecimal("0.5"))
+                        .buyPrice(new BigDecimal("40000.00")).build(),
+                Bond.builder().symbol("UST10").name("US Treasury 10Y").quantity(new BigDecimal("10"))
+                        .buyPrice(new BigDecimal("100.00")).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Given the aggregate is not loaded when getting performance then one grouped query is valued at cached prices")
+    void givenAggregateNotLoaded_whenGetPerformance_thenGroupedTotalsAtCachedPrices() {
+        // WHEN
+        Map<String, Map<String, BigDecimal>> performance = portfolioService.getPerformanceByType();
+
+        // THEN
+        assertEquals(3, performance.size());
+        Map<String, BigDecimal> stocks = performance.get("STOCK");
+        assertEquals(0, new BigDecimal("3000.00").compareTo(stocks.get("value")));
+        assertEquals(0, new BigDecimal("2600.00").compareTo(stocks.get("cost")));
+        assertEquals(0, new BigDecimal("400.00").compareTo(stocks.get("gainLoss")));
+        assertEquals(0, new BigDecimal("15.38").compareTo(stocks.get("percentage")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(performance.get("CRYPTO").get("gainLoss")));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(performance.get("BOND").get("value")));
+        // Cached prices only: no remote lookups and no enriched assets
+        verify(stockPriceService, never()).getCurrentPrices(any(String[].class));
+        verify(stockPriceService, never()).getCurrentPrice(any());
+    }
+
+    @Test
+    @DisplayName("Given the aggregate is not loaded when getting allocation then it matches the summary computed from every asset")
+    void givenAggregateNotLoaded_whenGetAllocation_thenMatchesFullSummary() {
+        // GIVEN
+        when(stockPriceService.getCurrentPrices(any(String[].class))).thenReturn(PRICES);
+        PortfolioSummaryDTO summary = portfolioService.getPortfolioSummaryWithAssets();
+
+        // WHEN
+        Map<String, BigDecimal> allocation = portfolioService.getAllocation();
+
+        // THEN
+        assertEquals(0, new BigDecimal("12.50").compareTo(allocation.get("STOCK")));
+        assertEquals(0, new BigDecimal("83.33").compareTo(allocation.get("CRYPTO")));
+        assertEquals(summary.getAllocationByType(), allocation);
+    }
+
+    @Test
+    @DisplayName("Given the aggregate is loaded when getting allocation and performance then its totals are used")
+    void givenAggregateLoaded_whenGettingAllocationAndPerformance_thenAggregateTotalsUsed() {
+        // GIVEN
+        when(portfolioAggregate.isReady()).thenReturn(true);
+        when(portfolioAggregate.totalsByType()).thenReturn(Map.of(
+                AssetType.STOCK, new PortfolioAggregate.TypeTotals(1, new BigDecimal("100"), new BigDecimal("300")),
+                AssetType.CASH, new PortfolioAggregate.TypeTotals(1, new BigDecimal("100"), new BigDecimal("100"))));
+
+        // WHEN
+        Map<String, BigDecimal> allocation = portfolioService.getAllocation();
+        Map<String, Map<String, BigDecimal>> performance = portfolioService.getPerformanceByType();
+
+        // THEN
+        assertEquals(0, new BigDecimal("75").compareTo(allocation.get("STOCK")));
+        assertEquals(0, new BigDecimal("25").compareTo(allocation.get("CASH")));
+        assertEquals(0, new BigDecimal("200").compareTo(performance.get("STOCK").get("gainLoss")));
+        assertEquals(0, new BigDecimal("200").compareTo(performance.get("STOCK").get("percentage")));
+        verify(stockPriceService, never()).getCachedPrices(anyCollection());
+    }
+}
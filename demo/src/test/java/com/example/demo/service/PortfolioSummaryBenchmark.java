@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.PortfolioSummaryDTO;
+import com.example.demo.entity.AssetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Summary of a priced portfolio: the single-pass PortfolioSummaryCollector,
+ * sequential and on a parallel stream, against the previous multi-pass path
+ * (two reductions, two groupingBy, two full sorts for the top performers).
+ *
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.args="PortfolioSummaryBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioSummaryBenchmark {
+
+    private static final int TOP_PERFORMERS = 5;
+
+    @Param({"1000", "100000"})
+    private int assets;
+
+    private List<AssetDTO> allAssets;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        AssetType[] types = AssetType.values();
+        allAssets = new ArrayList<>(assets);
+        for (int i = 0; i < assets; i++) {
+            AssetType type = types[i % types.length];
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(1000));
+            BigDecimal buyPrice = BigDecimal.valueOf(1000 + random.nextInt(50_000), 2);
+            BigDecimal costBasis = quantity.multiply(buyPrice);
+            BigDecimal price = type.isTradeable()
+                    ? BigDecimal.valueOf(1000 + random.nextInt(50_000), 2)
+                    : buyPrice;
+            BigDecimal value = quantity.multiply(price);
+            allAssets.add(AssetDTO.builder()
+                    .id((long) i)
+                    .symbol("SYM" + i)
+                    .type(type)
+                    .quantity(quantity)
+                    .buyPrice(buyPrice)
+                    .costBasis(costBasis)
+                    .currentPrice(price)
+                    .currentValue(value)
+                    .gainLoss(value.subtract(costBasis))
+                    .gainLossPercentage(value.subtract(costBasis)
+                            .divide(costBasis, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public PortfolioSummaryDTO collector() {
+        return allAssets.stream().collect(PortfolioSummaryCollector.toSummary(TOP_PERFORMERS));
+    }
+
+    @Benchmark
+    public PortfolioSummaryDTO collectorParallel() {
+        return allAssets.parallelStream().collect(PortfolioSummaryCollector.toSummary(TOP_PERFORMERS));
+    }
+
+    @Benchmark
+    public PortfolioSummaryDTO multiPass() {
+        return multiPass(allAssets);
+    }
+
+    /**
+     * PortfolioService.summarize before the single-pass collector.
+     */
+    private static PortfolioSummaryDTO multiPass(List<AssetDTO> allAssets) {
+        BigDecimal totalValue = allAssets.stream()
+                .map(a -> a.getCurrentValue() != null ? a.getCurrentValue() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalCostBasis = allAssets.stream()
+                .map(a -> a.getCostBasis() != null ? a.getCostBasis() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalGainLoss = totalValue.subtract(totalCostBasis);
+
+        Map<String, BigDecimal> valueByType = allAssets.stream()
+                .collect(Collectors.groupingBy(
+                        a -> a.getType().name(),
+                        Collectors.reducing(
+                                BigDecimal.ZERO,
+                                a -> a.getCurrentValue() != null ? a.getCurrentValue() : BigDecimal.ZERO,
+                                BigDecimal::add)));
+
+        Map<String, Long> assetCountByType = allAssets.stream()
+                .collect(Collectors.groupingBy(
+                        a -> a.getType().name(),
+                        Collectors.counting()));
+
+        List<AssetDTO> topGainers = allAssets.stream()
+                .filter(a -> a.getGainLossPercentage() != null
+                        && a.getGainLossPercentage().compareTo(BigDecimal.ZERO) > 0)
+                .sorted(Comparator.comparing(AssetDTO::getGainLossPercentage).reversed())
+                .limit(TOP_PERFORMERS)
+                .collect(Collectors.toList());
+
+        List<AssetDTO> topLosers = allAssets.stream()
+                .filter(a -> a.getGainLossPercentage() != null
+                        && a.getGainLossPercentage().compareTo(BigDecimal.ZERO) < 0)
+                .sorted(Comparator.comparing(AssetDTO::getGainLossPercentage))
+                .limit(TOP_PERFORMERS)
+                .collect(Collectors.toList());
+
+        return PortfolioSummaryDTO.builder()
+                .totalValue(totalValue)
+                .totalCostBasis(totalCostBasis)
+                .totalGainLoss(totalGainLoss)
+                .totalGainLossPercentage(PortfolioSummaryCollector.percentage(totalGainLoss, totalCostBasis))
+                .totalAssets((long) allAssets.size())
+                .assetCountByType(assetCountByType)
+                .allocationByType(PortfolioSummaryCollector.allocation(valueByType, totalValue))
+                .valueByType(valueByType)
+                .assets(allAssets)
+                .topGainers(topGainers)
+                .topLosers(topLosers)
+                .build();
+    }
+}
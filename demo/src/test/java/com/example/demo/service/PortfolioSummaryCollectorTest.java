@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetDTO;
+import com.example.demo.dto.PortfolioSummaryDTO;
+import com.example.demo.entity.AssetType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioSummaryCollectorTest {
+
+    @Test
+    @DisplayName("Given priced assets when collecting then totals, per-type maps and top performers are filled in")
+    void givenPricedAssets_whenCollecting_thenEveryFieldFilled() {
+        // GIVEN
+        List<AssetDTO> assets = List.of(
+                asset(1, AssetType.STOCK, "1000", "1500", "50.0000"),
+                asset(2, AssetType.STOCK, "1000", "800", "-20.0000"),
+                asset(3, AssetType.CRYPTO, "500", "600", "20.0000"),
+                asset(4, AssetType.BOND, "1000", "1000", "0"),
+                // Not priced yet: no value, left out of the top lists
+                AssetDTO.builder().id(5L).symbol("NEW").type(AssetType.ETF).costBasis(new BigDecimal("100")).build());
+
+        // WHEN
+        PortfolioSummaryDTO summary = assets.stream().collect(PortfolioSummaryCollector.toSummary(2));
+
+        // THEN
+        assertEquals(5, summary.getTotalAssets());
+        assertEquals(0, new BigDecimal("3900").compareTo(summary.getTotalValue()));
+        assertEquals(0, new BigDecimal("3600").compareTo(summary.getTotalCostBasis()));
+        assertEquals(0, new BigDecimal("300").compareTo(summary.getTotalGainLoss()));
+        assertEquals(0, new BigDecimal("8.33").compareTo(summary.getTotalGainLossPercentage()));
+        assertEquals(2L, summary.getAssetCountByType().get("STOCK"));
+        assertEquals(1L, summary.getAssetCountByType().get("ETF"));
+        assertEquals(0, new BigDecimal("2300").compareTo(summary.getValueByType().get("STOCK")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getValueByType().get("ETF")));
+        assertEquals(0, new BigDecimal("58.97").compareTo(summary.getAllocationByType().get("STOCK")));
+        assertEquals(List.of(1L, 3L), ids(summary.getTopGainers()));
+        assertEquals(List.of(2L), ids(summary.getTopLosers()));
+        assertNull(summary.getAssets());
+    }
+
+    @Test
+    @DisplayName("Given no assets when collecting then the summary is zero with empty maps and lists")
+    void givenNoAssets_whenCollecting_thenEmptySummary() {
+        // WHEN
+        PortfolioSummaryDTO summary = Collections.<AssetDTO>emptyList().stream()
+                .collect(PortfolioSummaryCollector.toSummary(5));
+
+        // THEN
+        assertEquals(0, summary.getTotalAssets());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalValue()));
+        assertTrue(summary.getAllocationByType().isEmpty());
+        assertTrue(summary.getTopGainers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given a large book with tied percentages when collecting in parallel then the result equals the sequential one")
+    void givenLargeBook_whenCollectingInParallel_thenSameAsSequential() {
+        // GIVEN
+        Random random = new Random(3);
+        AssetType[] types = AssetType.values();
+        List<AssetDTO> assets = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String cost = String.valueOf(100 + random.nextInt(900));
+            // Percentages in whole steps from -10 to 10, so ties are common
+            int percentage = random.nextInt(21) - 10;
+            BigDecimal value = new BigDecimal(cost).multiply(BigDecimal.valueOf(100 + percentage))
+                    .divide(BigDecimal.valueOf(100));
+            assets.add(asset(i, types[i % types.length], cost, value.toPlainString(), String.valueOf(percentage)));
+        }
+
+        // WHEN
+        PortfolioSummaryDTO sequential = assets.stream().collect(PortfolioSummaryCollector.toSummary(5));
+        PortfolioSummaryDTO parallel = assets.parallelStream().collect(PortfolioSummaryCollector.toSummary(5));
+
+        // THEN
+        assertEquals(sequential, parallel);
+        assertEquals(5, sequential.getTopGainers().size());
+        // Ties keep list order, as with a stable sort
+        List<Long> gainerIds = ids(sequential.getTopGainers());
+        assertEquals(gainerIds.stream().sorted().toList(), gainerIds);
+    }
+
+    private static AssetDTO asset(long id, AssetType type, String costBasis, String value, String percentage) {
+        return AssetDTO.builder()
+                .id(id)
+                .symbol("S" + id)
+                .type(type)
+                .costBasis(new BigDecimal(costBasis))
+                .currentValue(new BigDecimal(value))
+                .gainLossPercentage(new BigDecimal(percentage))
+                .build();
+    }
+
+    private static List<Long> ids(List<AssetDTO> assets) {
+        return assets.stream().map(AssetDTO::getId).toList();
+    }
+}
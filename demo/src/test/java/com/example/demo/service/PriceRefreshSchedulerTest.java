@@ -0,0 +1,149 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.HoldingSummary;
+import com.example.demo.service.StockPriceService.RefreshOutcome;
+import com.example.demo.util.TokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PriceRefreshSchedulerTest {
+
+    private final TradeableHoldings tradeableHoldings = mock(TradeableHoldings.class);
+    private final StockPriceService stockPriceService = mock(StockPriceService.class);
+
+    private PriceRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PriceRefreshScheduler(tradeableHoldings, stockPriceService,
+                new TokenBucketRateLimiter(12, 1, TimeUnit.MINUTES));
+        ReflectionTestUtils.setField(scheduler, "minAgeMs", 1_000L);
+        ReflectionTestUtils.setField(scheduler, "reservedCalls", 10L);
+        ReflectionTestUtils.setField(scheduler, "maxBackoffRuns", 64L);
+    }
+
+    private HoldingSummary holding(String symbol, String costBasis) {
+        return new HoldingSummary() {
+            public String getSymbol() { return symbol; }
+            public BigDecimal getQuantity() { return BigDecimal.ONE; }
+            public BigDecimal getCostBasis() { return new BigDecimal(costBasis); }
+        };
+    }
+
+    @Test
+    @DisplayName("Given cached and uncached holdings when prioritizing then uncached first, then by value times staleness")
+    void givenHoldings_whenPrioritize_thenOrderedByValueAndStaleness() {
+        // GIVEN
+        when(stockPriceService.getPriceAgeMillis("AAPL")).thenReturn(10_000L);  // 1000 * 10s
+        when(stockPriceService.getPriceAgeMillis("SPY")).thenReturn(60_000L);   // 500 * 60s
+        when(stockPriceService.getPriceAgeMillis("NEW")).thenReturn(null);      // never priced
+        when(stockPriceService.getPriceAgeMillis("MSFT")).thenReturn(100L);     // fresh, skipped
+
+        // WHEN
+        List<String> order = scheduler.prioritize(List.of(
+                holding("AAPL", "1000"), holding("spy", "500"), holding("NEW", "1"), holding("MSFT", "9999")));
+
+        // THEN
+        assertEquals(List.of("NEW", "SPY", "AAPL"), order);
+    }
+
+    @Test
+    @DisplayName("Given a limited token budget when refreshing then only the budget minus the reserve is spent")
+    void givenLimitedBudget_whenRefresh_thenStopsAtBudget() {
+        // GIVEN
+        when(tradeableHoldings.summarizeBySymbol()).thenReturn(List.of(
+                holding("AAPL", "300"), holding("MSFT", "200"), holding("TSLA", "100")));
+        when(stockPriceService.getPriceAgeMillis(anyString())).thenReturn(5_000L);
+        when(stockPriceService.refreshPrice(anyString())).thenReturn(RefreshOutcome.REFRESHED);
+
+        // WHEN
+        scheduler.refreshHeldSymbols();
+
+        // THEN: 12 tokens - 10 reserved = 2 refreshes, most valuable first
+        verify(stockPriceService).refreshPrice("AAPL");
+        verify(stockPriceService).refreshPrice("MSFT");
+        verify(stockPriceService, never()).refreshPrice("TSLA");
+    }
+
+    @Test
+    @DisplayName("Given a symbol whose refresh fails when refreshing then the run continues and the symbol backs off")
+    void givenFailingSymbol_whenRefresh_thenContinuesAndBacksOff() {
+        // GIVEN: BTC has never been priced and the quote API cannot price it
+        scheduler = new PriceRefreshScheduler(tradeableHoldings, stockPriceService,
+                new TokenBucketRateLimiter(100, 1, TimeUnit.MINUTES));
+        ReflectionTestUtils.setField(scheduler, "minAgeMs", 1_000L);
+        ReflectionTestUtils.setField(scheduler, "reservedCalls", 10L);
+        ReflectionTestUtils.setField(scheduler, "maxBackoffRuns", 64L);
+        when(tradeableHoldings.summarizeBySymbol()).thenReturn(List.of(
+                holding("BTC", "1"), holding("AAPL", "300"), holding("MSFT", "200")));
+        when(stockPriceService.getPriceAgeMillis(anyString())).thenReturn(5_000L);
+        when(stockPriceService.getPriceAgeMillis("BTC")).thenReturn(null);
+        when(stockPriceService.refreshPrice(anyString())).thenReturn(RefreshOutcome.REFRESHED);
+        when(stockPriceService.refreshPrice("BTC")).thenReturn(RefreshOutcome.FAILED);
+
+        // WHEN
+        scheduler.refreshHeldSymbols();
+
+        // THEN: the failure does not stop the run
+        verify(stockPriceService).refreshPrice("BTC");
+        verify(stockPriceService).refreshPrice("AAPL");
+        verify(stockPriceService).refreshPrice("MSFT");
+
+        // WHEN: the next run skips BTC, the one after retries it
+        scheduler.refreshHeldSymbols();
+        verify(stockPriceService, times(1)).refreshPrice("BTC");
+        verify(stockPriceService, times(2)).refreshPrice("AAPL");
+
+        scheduler.refreshHeldSymbols();
+        verify(stockPriceService, times(2)).refreshPrice("BTC");
+
+        // THEN: after a second failure it waits two runs
+        scheduler.refreshHeldSymbols();
+        scheduler.refreshHeldSymbols();
+        verify(stockPriceService, times(2)).refreshPrice("BTC");
+        scheduler.refreshHeldSymbols();
+        verify(stockPriceService, times(3)).refreshPrice("BTC");
+    }
+
+    @Test
+    @DisplayName("Given a refresh that could not get a token when refreshing then the run stops and the symbol is not backed off")
+    void givenRateLimitedRefresh_whenRefresh_thenStopsWithoutBackoff() {
+        // GIVEN
+        scheduler = new PriceRefreshScheduler(tradeableHoldings, stockPriceService,
+                new TokenBucketRateLimiter(100, 1, TimeUnit.MINUTES));
+        ReflectionTestUtils.setField(scheduler, "minAgeMs", 1_000L);
+        ReflectionTestUtils.setField(scheduler, "reservedCalls", 10L);
+        ReflectionTestUtils.setField(scheduler, "maxBackoffRuns", 64L);
+        when(tradeableHoldings.summarizeBySymbol()).thenReturn(List.of(
+                holding("AAPL", "300"), holding("MSFT", "200")));
+        when(stockPriceService.getPriceAgeMillis(anyString())).thenReturn(5_000L);
+        when(stockPriceService.refreshPrice("AAPL"))
+                .thenReturn(RefreshOutcome.RATE_LIMITED)
+                .thenReturn(RefreshOutcome.REFRESHED);
+        when(stockPriceService.refreshPrice("MSFT")).thenReturn(RefreshOutcome.REFRESHED);
+
+        // WHEN
+        scheduler.refreshHeldSymbols();
+
+        // THEN: the run stopped at the rate-limited symbol
+        verify(stockPriceService).refreshPrice("AAPL");
+        verify(stockPriceService, never()).refreshPrice("MSFT");
+
+        // WHEN: the next run retries it straight away
+        scheduler.refreshHeldSymbols();
+
+        // THEN
+        verify(stockPriceService, times(2)).refreshPrice("AAPL");
+        verify(stockPriceService).refreshPrice("MSFT");
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.demo.service;
+
+import com.example.demo.event.PriceUpdatedEvent;
+import com.example.demo.provider.PriceProvider;
+import com.example.demo.service.StockPriceService.RefreshOutcome;
+import com.example.demo.util.TokenBucketRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockPriceServiceImplTest {
+
+    private final StubPriceProvider provider = new StubPriceProvider();
+    // Background fetches wait here until the test runs them
+    private final List<Runnable> background = new CopyOnWriteArrayList<>();
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(60, 1, TimeUnit.MINUTES);
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final TickStore tickStore = new TickStore(events::add);
+
+    private StockPriceServiceImpl service;
+
+    /**
+     * Quote source with fixed answers that counts the calls made to it.
+     */
+    static class StubPriceProvider implements PriceProvider {
+        final Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+        volatile boolean rateLimited;
+        volatile CountDownLatch gate;
+        // Per-symbol holds, for fetches that should lag behind the rest of a batch
+        final Map<String, CountDownLatch> held = new ConcurrentHashMap<>();
+
+        @Override
+        public BigDecimal fetchPrice(String symbol) {
+            calls.incrementAndGet();
+            CountDownLatch latch = held.getOrDefault(symbol, gate);
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("upstream down");
+            }
+            return prices.get(symbol);
+        }
+
+        @Override
+        public boolean isRateLimited() {
+            return rateLimited;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = newService(1000);
+    }
+
+    private StockPriceServiceImpl newService(long cacheMaxSize) {
+        return newService(cacheMaxSize, background::add);
+    }
+
+    private StockPriceServiceImpl newService(long cacheMaxSize, TaskExecutor executor) {
+        SymbolUniverse universe;
+        try {
+            universe = new SymbolUniverse(new ByteArrayInputStream(
+                    "symbol,name\nAAPL,Apple Inc\n".getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StockPriceServiceImpl priceService = new StockPriceServiceImpl(provider, null,
+                rateLimiter, executor,
+                tickStore, new NewsCache(1000, 60_000, 60_000, 60_000), universe,
+                events::add, cacheMaxSize, 86_400_000, 86_400_000);
+        ReflectionTestUtils.setField(priceService, "validateUnknownWithQuote", true);
+        ReflectionTestUtils.setField(priceService, "maxTokenWaitMs", 100L);
+        ReflectionTestUtils.setField(priceService, "batchTokenWaitMs", 100L);
+        ReflectionTestUtils.setField(priceService, "batchTimeoutMs", 0L);
+        ReflectionTestUtils.setField(priceService, "cacheTtlMs", 300_000L);
+        ReflectionTestUtils.setField(priceService, "refreshAheadMs", 60_000L);
+        ReflectionTestUtils.setField(priceService, "streamMaxAgeMs", 60_000L);
+        return priceService;
+    }
+
+    private void runBackground() {
+        List<Runnable> tasks = List.copyOf(background);
+        background.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Given concurrent misses for one symbol when fetching then they share a single upstream call")
+    void givenConcurrentMisses_whenFetching_thenOneUpstreamCall() throws Exception {
+        // GIVEN: the first caller's fetch is held inside the provider
+        provider.prices.put("MSFT", new BigDecimal("410.00"));
+        provider.gate = new CountDownLatch(1);
+        ReflectionTestUtils.setField(service, "maxTokenWaitMs", 5_000L);
+        CompletableFuture<BigDecimal> first = CompletableFuture.supplyAsync(() -> service.getCurrentPrice("MSFT"));
+        while (provider.calls.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // WHEN
+        CompletableFuture<BigDecimal> second = CompletableFuture.supplyAsync(() -> service.getCurrentPrice("msft"));
+        while (service.getMetrics().getCoalescedCalls() == 0) {
+            Thread.onSpinWait();
+        }
+        provider.gate.countDown();
+
+        // THEN
+        assertEquals(new BigDecimal("410.00"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(new BigDecimal("410.00"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a stale cached price when reading then it is served while a background fetch revalidates it")
+    void givenStalePrice_whenReading_thenServedWhileRevalidating() throws InterruptedException {
+        // GIVEN
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        service.getCurrentPrice("AAPL");
+        ReflectionTestUtils.setField(service, "cacheTtlMs", 1L);
+        ReflectionTestUtils.setField(service, "refreshAheadMs", 0L);
+        Thread.sleep(5);
+        provider.prices.put("AAPL", new BigDecimal("191.00"));
+
+        // WHEN
+        BigDecimal served = service.getCurrentPrice("AAPL");
+
+        // THEN: the stale price is returned without waiting on the provider
+        assertEquals(new BigDecimal("190.00"), served);
+        assertEquals(1, provider.calls.get());
+        assertEquals(1, service.getMetrics().getStaleHits());
+        assertEquals(1, background.size());
+
+        runBackground();
+        assertEquals(2, provider.calls.get());
+        assertEquals(new BigDecimal("191.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given a price nearing its TTL when reading then it is served fresh and refreshed ahead in the background")
+    void givenPriceNearingTtl_whenReading_thenRefreshedAhead() throws InterruptedException {
+        // GIVEN: the entry is still fresh but inside the refresh-ahead window
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        service.getCurrentPrice("AAPL");
+        ReflectionTestUtils.setField(service, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "refreshAheadMs", 59_990L);
+        Thread.sleep(20);
+        provider.prices.put("AAPL", new BigDecimal("191.00"));
+
+        // WHEN
+        BigDecimal served = service.getCurrentPrice("AAPL");
+
+        // THEN: a fresh hit, with the refresh queued rather than made inline
+        assertEquals(new BigDecimal("190.00"), served);
+        assertEquals(1, service.getMetrics().getCacheHits());
+        assertEquals(0, service.getMetrics().getStaleHits());
+        assertEquals(1, provider.calls.get());
+        assertEquals(1, background.size());
+
+        runBackground();
+        assertEquals(2, provider.calls.get());
+        assertEquals(new BigDecimal("191.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given a stale price when the revalidation fails then the last known price is still served")
+    void givenStalePrice_whenRevalidationFails_thenLastPriceKept() throws InterruptedException {
+        // GIVEN
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        service.getCurrentPrice("AAPL");
+        ReflectionTestUtils.setField(service, "cacheTtlMs", 1L);
+        ReflectionTestUtils.setField(service, "refreshAheadMs", 0L);
+        Thread.sleep(5);
+        provider.failing = true;
+
+        // WHEN
+        BigDecimal served = service.getCurrentPrice("AAPL");
+        runBackground();
+
+        // THEN
+        assertEquals(new BigDecimal("190.00"), served);
+        assertEquals(2, provider.calls.get());
+        assertEquals(1, service.getMetrics().getUpstreamFailures());
+        assertEquals(new BigDecimal("190.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given more symbols than the cache holds when fetching then the cache stays within its bound")
+    void givenMoreSymbolsThanCapacity_whenFetching_thenCacheBounded() {
+        // GIVEN
+        StockPriceServiceImpl boundedService = newService(2);
+        List<String> symbols = List.of("AAPL", "MSFT", "NVDA", "AMZN", "META");
+        symbols.forEach(symbol -> provider.prices.put(symbol, new BigDecimal("100.00")));
+
+        // WHEN
+        symbols.forEach(boundedService::getCurrentPrice);
+        @SuppressWarnings("unchecked")
+        Cache<String, ?> priceCache = (Cache<String, ?>) ReflectionTestUtils.getField(boundedService, "priceCache");
+        priceCache.cleanUp();
+
+        // THEN
+        assertEquals(2, boundedService.getMetrics().getCachedSymbols());
+        assertEquals(3, boundedService.getMetrics().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Given one slow symbol in a batch when fetching then the deadline is honored and the others are returned")
+    void givenSlowSymbolInBatch_whenFetching_thenPartialResultAtDeadline() throws InterruptedException {
+        // GIVEN: fetches run concurrently on their own threads; NVDA is held past the deadline
+        StockPriceServiceImpl concurrentService = newService(1000, task -> new Thread(task).start());
+        ReflectionTestUtils.setField(concurrentService, "batchTimeoutMs", 200L);
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        provider.prices.put("MSFT", new BigDecimal("410.00"));
+        provider.prices.put("NVDA", new BigDecimal("900.00"));
+        CountDownLatch nvda = new CountDownLatch(1);
+        provider.held.put("NVDA", nvda);
+
+        // WHEN
+        long start = System.nanoTime();
+        Map<String, BigDecimal> prices = concurrentService.getCurrentPrices("AAPL", "msft", "NVDA");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // THEN
+        assertTrue(elapsedMs < 1_500, "batch should return at its deadline, took " + elapsedMs + " ms");
+        assertEquals(Map.of("AAPL", new BigDecimal("190.00"), "MSFT", new BigDecimal("410.00")), prices);
+
+        // THEN: the late fetch still lands in the cache without touching the returned map
+        nvda.countDown();
+        long waitUntil = System.currentTimeMillis() + 5_000;
+        while (concurrentService.getPriceAgeMillis("NVDA") == null && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertEquals(new BigDecimal("900.00"), concurrentService.getCachedPrice("NVDA"));
+        assertEquals(2, prices.size());
+        assertEquals(3, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a background batch fetch in flight when a caller joins it then the wait is bounded by the caller's budget")
+    void givenBatchFetchInFlight_whenJoining_thenWaitBounded() {
+        // GIVEN: a batch fetch is queued and will not run until the test runs it
+        provider.prices.put("NVDA", new BigDecimal("900.00"));
+        service.getCurrentPrices("NVDA");
+        assertEquals(1, background.size());
+
+        // WHEN & THEN: the caller gives up after maxTokenWaitMs instead of the batch's token wait
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertNull(service.getCurrentPrice("NVDA")));
+
+        // THEN: the shared fetch still completes and fills the cache
+        runBackground();
+        assertEquals(new BigDecimal("900.00"), service.getCachedPrice("NVDA"));
+        assertEquals(1, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a streamed price when the trade ages out then the cached quote is published in its place")
+    void givenStreamedPrice_whenTradeAgesOut_thenQuotePublished() throws InterruptedException {
+        // GIVEN: a cached quote, overtaken by a streamed trade
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        service.getCurrentPrice("AAPL");
+        ReflectionTestUtils.setField(service, "streamMaxAgeMs", 50L);
+        tickStore.update("AAPL", new BigDecimal("195.00"), System.currentTimeMillis());
+        assertEquals(new BigDecimal("195.00"), service.getCachedPrice("AAPL"));
+        events.clear();
+
+        // WHEN
+        Thread.sleep(80);
+        BigDecimal afterStream = service.getCachedPrice("AAPL");
+        service.getCachedPrice("AAPL");
+
+        // THEN: the switch back to the quote is announced once
+        assertEquals(new BigDecimal("190.00"), afterStream);
+        assertEquals(List.of(new PriceUpdatedEvent("AAPL", new BigDecimal("190.00"))), events);
+    }
+
+    @Test
+    @DisplayName("Given a fresh streamed price when a quote lands then no event contradicts the trade price")
+    void givenFreshStreamedPrice_whenQuoteLands_thenNotPublished() {
+        // GIVEN
+        tickStore.update("AAPL", new BigDecimal("195.00"), System.currentTimeMillis());
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        events.clear();
+
+        // WHEN
+        RefreshOutcome outcome = service.refreshPrice("AAPL");
+
+        // THEN
+        assertEquals(RefreshOutcome.REFRESHED, outcome);
+        assertTrue(events.isEmpty());
+        assertEquals(new BigDecimal("195.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given a real symbol missing from the universe when validating then a quote confirms it once")
+    void givenSymbolOutsideUniverse_whenValidating_thenQuoteConfirmsOnce() {
+        // GIVEN
+        provider.prices.put("GME", new BigDecimal("25.10"));
+
+        // WHEN
+        boolean first = service.isValidSymbol("gme");
+        boolean second = service.isValidSymbol("GME");
+
+        // THEN
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(1, provider.calls.get());
+        assertEquals(0, new BigDecimal("25.10").compareTo(service.getCachedPrice("GME")));
+    }
+
+    @Test
+    @DisplayName("Given an unknown symbol when validating twice then the negative answer is cached")
+    void givenUnknownSymbol_whenValidatingTwice_thenNegativeCached() {
+        // WHEN
+        boolean first = service.isValidSymbol("NOPE");
+        boolean second = service.isValidSymbol("NOPE");
+
+        // THEN
+        assertFalse(first);
+        assertFalse(second);
+        assertEquals(1, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given the quote API is failing when validating then the symbol is refused but asked again later")
+    void givenFailingUpstream_whenValidating_thenNotCached() {
+        // GIVEN
+        provider.prices.put("RIVN", new BigDecimal("12.00"));
+        provider.failing = true;
+
+        // WHEN
+        boolean whileDown = service.isValidSymbol("RIVN");
+        provider.failing = false;
+        boolean afterRecovery = service.isValidSymbol("RIVN");
+
+        // THEN
+        assertFalse(whileDown);
+        assertTrue(afterRecovery);
+        assertEquals(2, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a symbol in the universe when validating then no quote is requested")
+    void givenUniverseSymbol_whenValidating_thenNoCall() {
+        // WHEN & THEN
+        assertTrue(service.isValidSymbol("aapl"));
+        assertEquals(0, provider.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a token and a quote when refreshing then the outcome is REFRESHED")
+    void givenQuote_whenRefresh_thenRefreshed() {
+        // GIVEN
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+
+        // WHEN
+        RefreshOutcome outcome = service.refreshPrice("AAPL");
+
+        // THEN
+        assertEquals(RefreshOutcome.REFRESHED, outcome);
+        assertEquals(new BigDecimal("190.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given a cached price when the refresh call fails then the outcome is FAILED and the last price is kept")
+    void givenCachedPrice_whenRefreshFails_thenFailedAndLastPriceKept() {
+        // GIVEN
+        provider.prices.put("AAPL", new BigDecimal("190.00"));
+        service.getCurrentPrice("AAPL");
+        provider.failing = true;
+
+        // WHEN
+        RefreshOutcome outcome = service.refreshPrice("AAPL");
+
+        // THEN
+        assertEquals(RefreshOutcome.FAILED, outcome);
+        assertEquals(new BigDecimal("190.00"), service.getCachedPrice("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Given no rate-limit token when refreshing then the outcome is RATE_LIMITED and no call is made")
+    void givenNoToken_whenRefresh_thenRateLimited() {
+        // GIVEN
+        provider.rateLimited = true;
+        while (rateLimiter.tryAcquire()) {
+            // drain the bucket
+        }
+
+        // WHEN
+        RefreshOutcome outcome = service.refreshPrice("AAPL");
+
+        // THEN
+        assertEquals(RefreshOutcome.RATE_LIMITED, outcome);
+        assertEquals(0, provider.calls.get());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    @Test
+    @DisplayName("Given a filter built from a universe of keys when probing each key then none is reported missing")
+    void givenUniverse_whenProbingAddedKeys_thenNoFalseNegatives() {
+        // GIVEN
+        List<String> universe = keys("SYM", INSERTIONS);
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        universe.forEach(filter::add);
+
+        // WHEN & THEN
+        for (String key : universe) {
+            assertTrue(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a filter at its expected size when probing keys never added then the false positive rate is within bound")
+    void givenFullFilter_whenProbingMissingKeys_thenFalsePositiveRateWithinBound() {
+        // GIVEN
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        keys("SYM", INSERTIONS).forEach(filter::add);
+
+        // WHEN
+        List<String> missing = keys("NEW", 100_000);
+        long falsePositives = missing.stream().filter(filter::mightContain).count();
+
+        // THEN: allow some slack over the configured rate for hash quality
+        double rate = (double) falsePositives / missing.size();
+        assertTrue(rate <= FALSE_POSITIVE_PROBABILITY * 1.5, "false positive rate " + rate);
+    }
+
+    @Test
+    @DisplayName("Given an empty filter when probing then every key is reported missing")
+    void givenEmptyFilter_whenProbing_thenNothingFound() {
+        // GIVEN
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+        // WHEN & THEN
+        assertTrue(keys("SYM", 1_000).stream().noneMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("Given a probability outside (0, 1) when creating then it is rejected")
+    void givenInvalidProbability_whenCreating_thenRejected() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    private static List<String> keys(String prefix, int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(prefix + i);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 10_000, now::get);
+
+    @Test
+    @DisplayName("Given consecutive failures when reaching the threshold then calls are refused")
+    void givenConsecutiveFailures_whenThresholdReached_thenOpen() {
+        // GIVEN
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.recordFailure();
+        }
+
+        // WHEN & THEN
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Given a success between failures when counting then the circuit stays closed")
+    void givenSuccessBetweenFailures_whenCounting_thenClosed() {
+        // GIVEN
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        // WHEN & THEN
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Given an open circuit when the open period passes then one probe decides the state")
+    void givenOpenCircuit_whenPeriodPasses_thenSingleProbe() {
+        // GIVEN
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        now.addAndGet(10_000);
+
+        // WHEN & THEN
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(10_000);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+    private static CsvTokenizer tokenizer(String csv, int bufferSize) {
+        return new CsvTokenizer(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), bufferSize);
+    }
+
+    private static List<List<String>> readAll(String csv, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer tokenizer = tokenizer(csv, bufferSize)) {
+            while (tokenizer.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                    fields.add(tokenizer.text(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("Given RFC 4180 quoting when tokenizing then delimiters, quotes and newlines inside quotes are kept")
+    void givenQuotedFields_whenTokenizing_thenUnescaped() throws IOException {
+        // GIVEN
+        String csv = "symbol,name\r\n"
+                + "BRK.B,\"Berkshire Hathaway, Inc.\"\r\n"
+                + "XYZ,\"The \"\"Best\"\" Co\"\r\n"
+                + "ML,\"Multi\nLine\"\n"
+                + "LAST,,";
+
+        // WHEN
+        List<List<String>> records = readAll(csv, 1024);
+
+        // THEN
+        assertEquals(List.of(
+                List.of("symbol", "name"),
+                List.of("BRK.B", "Berkshire Hathaway, Inc."),
+                List.of("XYZ", "The \"Best\" Co"),
+                List.of("ML", "Multi\nLine"),
+                List.of("LAST", "", "")), records);
+    }
+
+    @Test
+    @DisplayName("Given a buffer smaller than a record when tokenizing then records spanning reads are reassembled")
+    void givenTinyBuffer_whenTokenizing_thenSameRecords() throws IOException {
+        // GIVEN
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            csv.append("SYM").append(i).append(",\"Company, number ").append(i).append("\",STOCK,")
+                    .append(i).append(".25\n");
+        }
+
+        // WHEN
+        List<List<String>> small = readAll(csv.toString(), 16);
+        List<List<String>> large = readAll(csv.toString(), 1 << 16);
+
+        // THEN
+        assertEquals(200, small.size());
+        assertEquals(large, small);
+        assertEquals(List.of("SYM123", "Company, number 123", "STOCK", "123.25"), small.get(123));
+    }
+
+    @Test
+    @DisplayName("Given blank lines when tokenizing then they are blank records and record numbers keep counting")
+    void givenBlankLines_whenTokenizing_thenBlankRecords() throws IOException {
+        try (CsvTokenizer tokenizer = tokenizer("a,b\n\n  \nc,d\n", 64)) {
+            assertTrue(tokenizer.next());
+            assertFalse(tokenizer.isBlankRecord());
+            assertTrue(tokenizer.next());
+            assertTrue(tokenizer.isBlankRecord());
+            assertTrue(tokenizer.next());
+            assertTrue(tokenizer.isBlankRecord());
+            assertTrue(tokenizer.next());
+            assertEquals("d", tokenizer.text(1));
+            assertEquals(4, tokenizer.recordNumber());
+            assertFalse(tokenizer.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Given a bare quote inside an unquoted field when tokenizing then it is plain text and the record ends at its newline")
+    void givenBareQuoteInUnquotedField_whenTokenizing_thenRecordEndsAtNewline() throws IOException {
+        // GIVEN
+        String csv = "AAPL,12\" Vinyl Co,STOCK,1,2\n"
+                + "MSFT,Microsoft,STOCK,3,4\n"
+                + "X,\"Quoted\"trailing,STOCK,5,6\n"
+                + "Y,Y Co,STOCK,7,8\n";
+
+        // WHEN
+        List<List<String>> small = readAll(csv, 16);
+        List<List<String>> large = readAll(csv, 1024);
+
+        // THEN
+        assertEquals(List.of(
+                List.of("AAPL", "12\" Vinyl Co", "STOCK", "1", "2"),
+                List.of("MSFT", "Microsoft", "STOCK", "3", "4"),
+                List.of("X", "Quoted", "STOCK", "5", "6"),
+                List.of("Y", "Y Co", "STOCK", "7", "8")), large);
+        assertEquals(large, small);
+    }
+
+    @Test
+    @DisplayName("Given an unclosed quote when a record exceeds the maximum size then it is skipped to the next line and flagged")
+    void givenUnclosedQuote_whenRecordExceedsMaximum_thenSkippedAndFlagged() throws IOException {
+        // GIVEN
+        StringBuilder csv = new StringBuilder("A,\"never closed,STOCK,1,2\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("SYM").append(i).append(",Company,STOCK,1,2\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        // WHEN & THEN
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteArrayInputStream(bytes), 16, 256)) {
+            assertTrue(tokenizer.next());
+            assertTrue(tokenizer.isOversized());
+            assertEquals(0, tokenizer.fieldCount());
+            assertEquals(1, tokenizer.recordNumber());
+
+            assertTrue(tokenizer.next());
+            assertFalse(tokenizer.isOversized());
+            assertEquals("SYM0", tokenizer.text(0));
+            assertEquals(2, tokenizer.recordNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Given decimal fields when parsing from bytes then values and scales match BigDecimal")
+    void givenDecimals_whenParsing_thenMatchBigDecimal() throws IOException {
+        // GIVEN
+        String[] values = {"150.00", " 0.5 ", "-12.345", "+7", "42", "0.0001",
+                "123456789012345678901234.5", "1.5e3"};
+
+        try (CsvTokenizer tokenizer = tokenizer(String.join(",", values), 64)) {
+            // WHEN
+            assertTrue(tokenizer.next());
+
+            // THEN
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(new BigDecimal(values[i].trim()), tokenizer.decimal(i), values[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given malformed numbers when parsing then NumberFormatException is thrown")
+    void givenMalformedNumbers_whenParsing_thenRejected() throws IOException {
+        try (CsvTokenizer tokenizer = tokenizer("abc,1.2.3,,-,12x", 64)) {
+            assertTrue(tokenizer.next());
+            for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                int field = i;
+                assertThrows(NumberFormatException.class, () -> tokenizer.decimal(field), "field " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given ISO dates when parsing then valid dates parse and invalid ones are rejected")
+    void givenDates_whenParsing_thenIsoOnly() throws IOException {
+        try (CsvTokenizer tokenizer = tokenizer("2024-01-15,2024-02-30,15/01/2024,2024-1-5", 64)) {
+            assertTrue(tokenizer.next());
+            assertEquals(LocalDate.of(2024, 1, 15), tokenizer.date(0));
+            assertThrows(DateTimeException.class, () -> tokenizer.date(1));
+            assertThrows(DateTimeException.class, () -> tokenizer.date(2));
+            assertThrows(DateTimeException.class, () -> tokenizer.date(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Given a field when comparing ignoring case then it matches without decoding")
+    void givenField_whenEqualsIgnoreCase_thenMatches() throws IOException {
+        try (CsvTokenizer tokenizer = tokenizer(" Stock ,ETF", 64)) {
+            assertTrue(tokenizer.next());
+            assertTrue(tokenizer.equalsIgnoreCase(0, "STOCK"));
+            assertFalse(tokenizer.equalsIgnoreCase(1, "STOCK"));
+            assertEquals(5, tokenizer.length(0));
+        }
+    }
+}
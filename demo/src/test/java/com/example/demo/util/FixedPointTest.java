@@ -0,0 +1,156 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Properties checked on random operands of mixed magnitudes and scales: every
+ * result equals the BigDecimal result exactly (value and scale), and an
+ * ArithmeticException is thrown only when a number involved does not fit.
+ */
+class FixedPointTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private final Random random = new Random(20240101);
+
+    @Test
+    @DisplayName("Given random operands when adding and subtracting then results equal BigDecimal or overflow is reported")
+    void givenRandomOperands_whenAddingAndSubtracting_thenSameAsBigDecimal() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // GIVEN
+            BigDecimal a = randomDecimal(10);
+            BigDecimal b = randomDecimal(10);
+            int commonScale = Math.max(a.scale(), b.scale());
+            boolean operandsFit = fits(a.setScale(commonScale)) && fits(b.setScale(commonScale));
+
+            // WHEN & THEN
+            checkAgainstBigDecimal(a, b, BigDecimal::add, FixedPoint::add, operandsFit);
+            checkAgainstBigDecimal(a, b, BigDecimal::subtract, FixedPoint::subtract, operandsFit);
+        }
+    }
+
+    @Test
+    @DisplayName("Given random operands when multiplying then results equal BigDecimal or overflow is reported")
+    void givenRandomOperands_whenMultiplying_thenSameAsBigDecimal() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // GIVEN
+            BigDecimal a = randomDecimal(9);
+            BigDecimal b = randomDecimal(9);
+
+            // WHEN & THEN
+            checkAgainstBigDecimal(a, b, BigDecimal::multiply, FixedPoint::multiply, true);
+            long factor = random.nextInt(201) - 100;
+            BigDecimal expected = a.multiply(BigDecimal.valueOf(factor));
+            if (fits(expected)) {
+                assertEquals(expected, FixedPoint.of(a).multiply(factor).toBigDecimal(), a + " * " + factor);
+            } else {
+                assertThrows(ArithmeticException.class, () -> FixedPoint.of(a).multiply(factor));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given random operands when dividing half up then results equal BigDecimal, and small operands never overflow")
+    void givenRandomOperands_whenDividing_thenSameAsBigDecimal() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // GIVEN
+            boolean small = i % 2 == 0;
+            BigDecimal a = small ? BigDecimal.valueOf(random.nextInt(2_000_001) - 1_000_000, random.nextInt(7)) : randomDecimal(8);
+            BigDecimal b = small ? BigDecimal.valueOf(random.nextInt(2_000_001) - 1_000_000, random.nextInt(7)) : randomDecimal(8);
+            if (b.signum() == 0) {
+                assertThrows(ArithmeticException.class, () -> FixedPoint.of(a).divide(FixedPoint.of(b), 4));
+                continue;
+            }
+            int scale = random.nextInt(7);
+            BigDecimal expected = a.divide(b, scale, RoundingMode.HALF_UP);
+
+            // WHEN
+            FixedPoint result;
+            try {
+                result = FixedPoint.of(a).divide(FixedPoint.of(b), scale);
+            } catch (ArithmeticException ex) {
+                assertFalse(small, a + " / " + b + " overflowed");
+                continue;
+            }
+
+            // THEN
+            assertEquals(expected, result.toBigDecimal(), a + " / " + b + " at scale " + scale);
+        }
+    }
+
+    @Test
+    @DisplayName("Given ties when dividing then they round half away from zero")
+    void givenTies_whenDividing_thenRoundHalfUp() {
+        // GIVEN
+        FixedPoint one = FixedPoint.of(BigDecimal.ONE);
+        FixedPoint eight = FixedPoint.of(new BigDecimal("8"));
+
+        // WHEN & THEN
+        assertEquals(new BigDecimal("0.13"), one.divide(eight, 2).toBigDecimal());
+        assertEquals(new BigDecimal("-0.13"), one.multiply(-1).divide(eight, 2).toBigDecimal());
+        assertEquals(new BigDecimal("0.12"), FixedPoint.of(new BigDecimal("0.99")).divide(eight, 2).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Given random values when comparing then the order equals BigDecimal.compareTo")
+    void givenRandomValues_whenComparing_thenSameOrderAsBigDecimal() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // GIVEN
+            BigDecimal a = randomDecimal(18);
+            BigDecimal b = random.nextBoolean() ? randomDecimal(18) : a.setScale(Math.min(a.scale() + 1, 18), RoundingMode.UNNECESSARY);
+            if (!fits(a) || !fits(b)) {
+                continue;
+            }
+
+            // WHEN & THEN
+            assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(FixedPoint.of(a).compareTo(FixedPoint.of(b))), a + " vs " + b);
+            assertEquals(a.signum(), FixedPoint.of(a).signum());
+        }
+    }
+
+    @Test
+    @DisplayName("Given BigDecimals when converting then in-range values round-trip exactly and others are rejected")
+    void givenBigDecimals_whenConverting_thenExactOrRejected() {
+        // WHEN & THEN
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal value = randomDecimal(18);
+            assertEquals(value, FixedPoint.of(value).toBigDecimal());
+        }
+        assertEquals(new BigDecimal("1000"), FixedPoint.of(new BigDecimal("1E+3")).toBigDecimal());
+        assertEquals(new BigDecimal("12.3400"), FixedPoint.of(new BigDecimal("12.3400")).toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> FixedPoint.of(new BigDecimal("1E-19")));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.of(new BigDecimal("9223372036854775808")));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.of(new BigDecimal("0.1234567890")).multiply(FixedPoint.of(new BigDecimal("0.123456789"))));
+    }
+
+    private void checkAgainstBigDecimal(BigDecimal a, BigDecimal b, BinaryOperator<BigDecimal> exact,
+                                        BinaryOperator<FixedPoint> fixed, boolean operandsFit) {
+        BigDecimal expected = exact.apply(a, b);
+        if (operandsFit && fits(expected)) {
+            assertEquals(expected, fixed.apply(FixedPoint.of(a), FixedPoint.of(b)).toBigDecimal(), a + ", " + b);
+        } else {
+            assertThrows(ArithmeticException.class, () -> fixed.apply(FixedPoint.of(a), FixedPoint.of(b)), a + ", " + b);
+        }
+    }
+
+    /**
+     * Unscaled value of 1 to 63 random bits (so sums and products overflow regularly), random sign and scale.
+     */
+    private BigDecimal randomDecimal(int maxScale) {
+        int bits = 1 + random.nextInt(63);
+        long unscaled = random.nextLong() >>> (64 - bits);
+        return BigDecimal.valueOf(random.nextBoolean() ? unscaled : -unscaled, random.nextInt(maxScale + 1));
+    }
+
+    private static boolean fits(BigDecimal value) {
+        return value.scale() >= 0 && value.scale() <= FixedPoint.MAX_SCALE && value.unscaledValue().bitLength() < 64;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+
+    private static List<Long> keys(List<NgramIndex.Hit> hits) {
+        return hits.stream().map(NgramIndex.Hit::key).toList();
+    }
+
+    private static NgramIndex sampleIndex() {
+        NgramIndex index = new NgramIndex(2);
+        index.put(1, "AAPL", "Apple Inc");
+        index.put(2, "APP", "AppLovin Corp");
+        index.put(3, "MSFT", "Microsoft Corporation");
+        index.put(4, "PINE", "Pineapple Energy");
+        index.put(5, "UST10", "US Treasury 10Y");
+        return index;
+    }
+
+    @Test
+    @DisplayName("Given an exact symbol when searching then it ranks above prefix and substring matches")
+    void givenExactSymbol_whenSearching_thenRanksFirst() {
+        // GIVEN
+        NgramIndex index = sampleIndex();
+
+        // WHEN
+        List<Long> result = keys(index.search("app"));
+
+        // THEN
+        assertEquals(List.of(2L, 1L, 4L), result);
+    }
+
+    @Test
+    @DisplayName("Given one- and two-character queries when searching then only word prefixes match")
+    void givenShortQuery_whenSearching_thenWordPrefixesOnly() {
+        // GIVEN
+        NgramIndex index = sampleIndex();
+
+        // WHEN & THEN
+        assertEquals(List.of(3L), keys(index.search("mi")));
+        assertEquals(List.of(5L), keys(index.search("t")));
+        assertTrue(index.search("pl").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given several words when searching then every word must match")
+    void givenSeveralWords_whenSearching_thenAllMustMatch() {
+        // GIVEN
+        NgramIndex index = sampleIndex();
+
+        // WHEN & THEN
+        assertEquals(List.of(5L), keys(index.search("treasury us")));
+        assertEquals(List.of(3L), keys(index.search("micro corp")));
+        assertTrue(index.search("apple corp").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given a query whose trigrams all occur but not contiguously when searching then it does not match")
+    void givenScatteredTrigrams_whenSearching_thenNoFalsePositive() {
+        // GIVEN
+        NgramIndex index = new NgramIndex(1);
+        index.put(1, "abcd xbcdx");
+
+        // WHEN & THEN
+        assertTrue(index.search("abcdx").isEmpty());
+        assertEquals(List.of(1L), keys(index.search("bcdx")));
+    }
+
+    @Test
+    @DisplayName("Given a re-put and a removed key when searching then only current values match")
+    void givenUpdatedAndRemovedKeys_whenSearching_thenCurrentValuesOnly() {
+        // GIVEN
+        NgramIndex index = sampleIndex();
+
+        // WHEN
+        index.put(1, "AAPL", "Apple Computer");
+        index.remove(3);
+
+        // THEN
+        assertTrue(index.search("inc").isEmpty());
+        assertEquals(List.of(1L), keys(index.search("computer")));
+        assertTrue(index.search("msft").isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Given many updates when tombstones pile up then compaction keeps results intact")
+    void givenManyUpdates_whenCompacting_thenResultsIntact() {
+        // GIVEN
+        NgramIndex index = new NgramIndex(2);
+
+        // WHEN
+        for (int round = 0; round < 5; round++) {
+            for (long key = 0; key < 500; key++) {
+                index.put(key, "SYM" + key, "Company " + round);
+            }
+        }
+
+        // THEN
+        assertEquals(500, index.size());
+        assertEquals(500, index.search("company 4").size());
+        assertTrue(index.search("company 3").isEmpty());
+        assertEquals(List.of(499L), keys(index.search("sym499")));
+    }
+}
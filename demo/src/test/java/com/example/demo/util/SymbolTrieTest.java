@@ -0,0 +1,57 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTrieTest {
+
+    private final List<String> keys = List.of("A", "AAPL", "AMD", "AMZN", "BRK.B", "BTC-USD", "MSFT");
+    private final SymbolTrie trie = SymbolTrie.build(keys);
+
+    @Test
+    @DisplayName("Given built keys when looking up then each key maps to its sorted rank and others are absent")
+    void givenBuiltKeys_whenLookingUp_thenRanksReturned() {
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, trie.rankOf(keys.get(i)));
+        }
+        assertEquals(-1, trie.rankOf("AA"));
+        assertEquals(-1, trie.rankOf("AAPLX"));
+        assertEquals(-1, trie.rankOf("Z"));
+    }
+
+    @Test
+    @DisplayName("Given a prefix when enumerating then matching keys are returned in order up to the limit")
+    void givenPrefix_whenEnumerating_thenOrderedMatches() {
+        assertArrayEquals(new int[]{0, 1, 2, 3}, trie.prefixRanks("A", 10));
+        assertArrayEquals(new int[]{2, 3}, trie.prefixRanks("AM", 10));
+        assertArrayEquals(new int[]{4}, trie.prefixRanks("BR", 1));
+        assertEquals(0, trie.prefixRanks("X", 10).length);
+        assertEquals(keys.size(), trie.prefixRanks("", 100).length);
+    }
+
+    @Test
+    @DisplayName("Given added keys when checking the Bloom filter then no added key is a false negative")
+    void givenAddedKeys_whenCheckingBloomFilter_thenNoFalseNegatives() {
+        // GIVEN
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("SYM" + i);
+        }
+
+        // WHEN & THEN
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("SYM" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("OTHER" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positive rate too high: " + falsePositives);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickRingBufferTest {
+
+    @Test
+    @DisplayName("Given a full buffer when offering then the tick is dropped and earlier ticks drain in order")
+    void givenFullBuffer_whenOffering_thenDroppedAndDrainedInOrder() {
+        // GIVEN
+        TickRingBuffer buffer = new TickRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("S" + i, i, i));
+        }
+
+        // WHEN & THEN
+        assertFalse(buffer.offer("LATE", 9, 9));
+        assertEquals(1, buffer.droppedCount());
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, buffer.drain((symbol, price, ts) -> drained.add(symbol), 10));
+        assertEquals(List.of("S0", "S1", "S2", "S3"), drained);
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offer("NEXT", 1, 1));
+    }
+
+    @Test
+    @DisplayName("Given concurrent producers when draining then every accepted tick is delivered once")
+    void givenConcurrentProducers_whenDraining_thenEveryAcceptedTickDelivered() throws Exception {
+        // GIVEN
+        TickRingBuffer buffer = new TickRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicLong accepted = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer("S", i, i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+
+        // WHEN
+        long[] delivered = new long[1];
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            delivered[0] += buffer.drain((symbol, price, ts) -> assertEquals("S", symbol), 256);
+        }
+
+        // THEN
+        assertEquals(accepted.get(), delivered[0]);
+        assertEquals(producers * perProducer, accepted.get() + buffer.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Given a capacity that is not a power of two when creating then it is rejected")
+    void givenNonPowerOfTwoCapacity_whenCreating_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TickRingBuffer(1000));
+    }
+}
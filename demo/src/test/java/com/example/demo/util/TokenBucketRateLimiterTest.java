@@ -0,0 +1,38 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    @DisplayName("Given a full bucket when acquiring past capacity then further calls are refused")
+    void givenFullBucket_whenAcquiringPastCapacity_thenRefused() {
+        // GIVEN
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, TimeUnit.MINUTES);
+
+        // WHEN & THEN
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Given an empty bucket when waiting then a refilled token is acquired")
+    void givenEmptyBucket_whenWaiting_thenTokenAcquired() throws Exception {
+        // GIVEN
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, TimeUnit.SECONDS);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // WHEN & THEN
+        assertFalse(limiter.tryAcquire(1, TimeUnit.MILLISECONDS));
+        assertTrue(limiter.tryAcquire(500, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    // Ties on the score are frequent, so stability is exercised
+    private record Item(int score, int position) {
+    }
+
+    private static final Comparator<Item> BY_SCORE_DESC = Comparator.comparingInt(Item::score).reversed();
+
+    @Test
+    @DisplayName("Given random items with ties when offering then the result equals a stable sort limited to k")
+    void givenRandomItems_whenOffering_thenMatchesStableSortAndLimit() {
+        // GIVEN
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Item> items = items(random, random.nextInt(60));
+            int k = random.nextInt(8);
+            TopK<Item> top = new TopK<>(k, BY_SCORE_DESC);
+
+            // WHEN
+            items.forEach(top::offer);
+
+            // THEN
+            assertEquals(sortAndLimit(items, k), top.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Given items split into chunks when merging left to right then the result equals a single pass")
+    void givenChunks_whenMerging_thenMatchesSinglePass() {
+        // GIVEN
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<Item> items = items(random, random.nextInt(80));
+            int k = 1 + random.nextInt(6);
+            int cut1 = items.isEmpty() ? 0 : random.nextInt(items.size() + 1);
+            int cut2 = cut1 + (items.size() == cut1 ? 0 : random.nextInt(items.size() - cut1 + 1));
+
+            // WHEN
+            TopK<Item> left = chunk(items.subList(0, cut1), k);
+            TopK<Item> middle = chunk(items.subList(cut1, cut2), k);
+            TopK<Item> right = chunk(items.subList(cut2, items.size()), k);
+            List<Item> merged = left.merge(middle.merge(right)).toList();
+
+            // THEN
+            assertEquals(sortAndLimit(items, k), merged);
+        }
+    }
+
+    @Test
+    @DisplayName("Given k of zero when offering then nothing is kept")
+    void givenZeroK_whenOffering_thenNothingKept() {
+        // GIVEN
+        TopK<Item> top = new TopK<>(0, BY_SCORE_DESC);
+
+        // WHEN
+        top.offer(new Item(1, 0));
+
+        // THEN
+        assertTrue(top.toList().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(-1, BY_SCORE_DESC));
+    }
+
+    private static List<Item> items(Random random, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(random.nextInt(10), i));
+        }
+        return items;
+    }
+
+    private static TopK<Item> chunk(List<Item> items, int k) {
+        TopK<Item> top = new TopK<>(k, BY_SCORE_DESC);
+        items.forEach(top::offer);
+        return top;
+    }
+
+    private static List<Item> sortAndLimit(List<Item> items, int k) {
+        return items.stream().sorted(BY_SCORE_DESC).limit(k).collect(Collectors.toList());
+    }
+}